@@ -141,3 +141,107 @@ tasks.javadoc {
 		(options as StandardJavadocDocletOptions).addBooleanOption("html5", true)
 	}
 }
+
+/* ---------------------------------------------------------
+ *
+ * Menu compilation
+ *
+ * --------------------------------------------------------- */
+
+val menuSourceDir = file("src/main/menus")
+val menuOutputDir = file("$buildDir/generated/menus")
+
+/* Build time tools live in src/tools/java and are not part of the published library.
+ * Only main classes are used, main resources depend on the menu compiler output. */
+val tools: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output.classesDirs
+	runtimeClasspath += sourceSets.main.get().output.classesDirs
+}
+
+configurations[tools.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[tools.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+/* Menu compiler is tested with the test menus */
+sourceSets.test {
+	compileClasspath += tools.output
+	runtimeClasspath += tools.output
+}
+
+/* Compile xml menus to binary menu format (read with MenuTemplate.readBinary) */
+val compileMenus by tasks.registering(JavaExec::class) {
+	group = "build"
+	description = "Compiles xml menus from src/main/menus to the binary menu format."
+	dependsOn(tasks.named(tools.classesTaskName))
+	onlyIf { menuSourceDir.isDirectory }
+
+	inputs.files(fileTree(menuSourceDir))
+	outputs.dir(menuOutputDir)
+
+	classpath = tools.runtimeClasspath
+	mainClass.set("com.github.ushiosan23.javafx.xml.MenuCompiler")
+	args(menuSourceDir, menuOutputDir, "--rasterize", "--resources", file("src/main/resources"))
+}
+
+sourceSets.main {
+	resources.srcDir(menuOutputDir)
+}
+
+tasks.processResources {
+	dependsOn(compileMenus)
+}
+
+/* ---------------------------------------------------------
+ *
+ * Benchmarks
+ *
+ * --------------------------------------------------------- */
+
+val jmhVersion = "1.37"
+
+/* Monocle replaces JavaFX glass internals, so its build must match the JavaFX runtime.
+ * There is no Monocle build for JavaFX 15, benchmarks run on the matching JavaFX 17 release. */
+val monocleVersion = "17.0.10"
+
+/* JMH benchmarks live in src/jmh/java and are not part of the published library */
+val jmh: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+configurations[jmh.runtimeClasspathConfigurationName].resolutionStrategy.eachDependency {
+	if (requested.group == "org.openjfx") useVersion(monocleVersion)
+}
+
+dependencies {
+	"jmhImplementation"("org.openjdk.jmh:jmh-core:$jmhVersion")
+	"jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+	/* headless glass platform */
+	"jmhRuntimeOnly"("org.testfx:openjfx-monocle:$monocleVersion")
+}
+
+/* Run benchmarks headless with the JavaFX software pipeline.
+ * Use -PjmhInclude=<regex> to select benchmarks. */
+val jmhRun by tasks.registering(JavaExec::class) {
+	group = "verification"
+	description = "Runs JMH benchmarks headless with the JavaFX software pipeline."
+	dependsOn(tasks.named(jmh.classesTaskName))
+
+	val resultFile = file("$buildDir/reports/jmh/results.json")
+	val headlessArgs = listOf(
+		"-Djava.awt.headless=true",
+		"-Dglass.platform=Monocle",
+		"-Dmonocle.platform=Headless",
+		"-Dprism.order=sw"
+	)
+
+	classpath = jmh.runtimeClasspath
+	mainClass.set("org.openjdk.jmh.Main")
+	jvmArgs(headlessArgs)
+	args(project.findProperty("jmhInclude") as String? ?: ".*")
+	args("-jvmArgsAppend", headlessArgs.joinToString(" "))
+	args("-rf", "json", "-rff", resultFile)
+
+	doFirst { resultFile.parentFile.mkdirs() }
+}
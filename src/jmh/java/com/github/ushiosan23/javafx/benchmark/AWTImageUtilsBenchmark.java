@@ -0,0 +1,116 @@
+package com.github.ushiosan23.javafx.benchmark;
+
+import com.github.ushiosan23.javafx.utils.AWTImageUtils;
+import com.github.ushiosan23.javafx.utils.ImageScaler;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AWTImageUtils} and {@link ImageScaler} benchmarks. The source image is a 1024x1024
+ * translucent image scaled to common tray and notification sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AWTImageUtilsBenchmark {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Target image size
+	 */
+	@Param({"16", "64", "256"})
+	public int size;
+
+	/**
+	 * Source image
+	 */
+	private BufferedImage source;
+
+	/**
+	 * Loaded scaled image (not a {@link BufferedImage})
+	 */
+	private Image scaled;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Setup
+	 *
+	 * --------------------------------------------------------- */
+
+	@Setup(Level.Trial)
+	public void setup() {
+		source = new BufferedImage(1024, 1024, BufferedImage.TYPE_INT_ARGB);
+		Random random = new Random(42);
+		Graphics2D g2 = source.createGraphics();
+		for (int i = 0; i < 200; i++) {
+			g2.setColor(new Color(random.nextInt(), true));
+			g2.fillRect(random.nextInt(1024), random.nextInt(1024), random.nextInt(256), random.nextInt(256));
+		}
+		g2.dispose();
+
+		// ImageIcon waits until the image is produced
+		scaled = new ImageIcon(source.getScaledInstance(size, size, Image.SCALE_SMOOTH)).getImage();
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Benchmarks
+	 *
+	 * --------------------------------------------------------- */
+
+	@Benchmark
+	public BufferedImage scaleImage() {
+		return AWTImageUtils.getBufferedImage(AWTImageUtils.scaleImage(source, size, size));
+	}
+
+	@Benchmark
+	public BufferedImage scaleWithQuality(QualityState state) {
+		return ImageScaler.scale(source, size, size, state.quality);
+	}
+
+	@Benchmark
+	public BufferedImage getScaledInstance() {
+		// Scaled instances are produced lazily, so they are drawn to measure the real work
+		return AWTImageUtils.getBufferedImage(new ImageIcon(source.getScaledInstance(size, size, Image.SCALE_SMOOTH)).getImage());
+	}
+
+	@Benchmark
+	public BufferedImage getBufferedImage() {
+		return AWTImageUtils.getBufferedImage(scaled);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Scaling quality used by {@link #scaleWithQuality(QualityState)}. Kept in its own state,
+	 * so only that benchmark runs once per quality.
+	 */
+	@State(Scope.Benchmark)
+	public static class QualityState {
+
+		/**
+		 * Scaling quality
+		 */
+		@Param({"SPEED", "BALANCED", "QUALITY", "LANCZOS"})
+		public ImageScaler.Quality quality;
+
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.github.ushiosan23.javafx.benchmark;
+
+import com.github.ushiosan23.javafx.utils.ExceptionUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExceptionUtils#getStackTraceString(Throwable)} benchmarks with deep stack traces
+ * and cause chains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionUtilsBenchmark {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Stack depth of each exception
+	 */
+	@Param({"10", "100", "1000"})
+	public int depth;
+
+	/**
+	 * Number of exceptions in the cause chain
+	 */
+	@Param({"1", "3"})
+	public int causes;
+
+	/**
+	 * Target exception
+	 */
+	private Throwable throwable;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Setup
+	 *
+	 * --------------------------------------------------------- */
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Throwable cause = null;
+		for (int i = 0; i < causes; i++) cause = createAtDepth(depth, cause, "Error " + i);
+
+		throwable = cause;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Benchmarks
+	 *
+	 * --------------------------------------------------------- */
+
+	@Benchmark
+	public String getStackTraceString() {
+		return ExceptionUtils.getStackTraceString(throwable);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create exception with the given stack depth
+	 *
+	 * @param depth   Remaining stack depth
+	 * @param cause   Exception cause
+	 * @param message Exception message
+	 * @return Exception result
+	 */
+	private static Throwable createAtDepth(int depth, Throwable cause, String message) {
+		if (depth <= 0)
+			return new IllegalStateException(message, cause);
+
+		return createAtDepth(depth - 1, cause, message);
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.github.ushiosan23.javafx.benchmark;
+
+import javafx.application.Platform;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * JavaFX platform helpers for benchmarks.
+ * Benchmarks are started with the headless Monocle platform and the software pipeline
+ * (see {@code jmhRun} task).
+ */
+final class HeadlessFX {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * This class cannot be instantiated
+	 */
+	private HeadlessFX() {
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Start JavaFX platform if not started
+	 */
+	static synchronized void start() {
+		try {
+			Platform.startup(() -> {
+			});
+		} catch (IllegalStateException ignored) {
+			// Platform already started
+		}
+	}
+
+	/**
+	 * Run action in JavaFX Application Thread and wait for its result
+	 *
+	 * @param action Target action
+	 * @param <T>    Result type
+	 * @return Action result
+	 * @throws Exception Error thrown by action
+	 */
+	static <T> T runAndWait(@NotNull Callable<T> action) throws Exception {
+		if (Platform.isFxApplicationThread())
+			return action.call();
+
+		CompletableFuture<T> result = new CompletableFuture<>();
+		Platform.runLater(() -> {
+			try {
+				result.complete(action.call());
+			} catch (Throwable err) {
+				result.completeExceptionally(err);
+			}
+		});
+
+		try {
+			return result.get();
+		} catch (ExecutionException err) {
+			if (err.getCause() instanceof Exception)
+				throw (Exception) err.getCause();
+			throw err;
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.github.ushiosan23.javafx.benchmark;
+
+import com.github.ushiosan23.javafx.utils.ImageUtils;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.FlowPane;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ImageUtils#getSnapShot(javafx.scene.Node)} benchmarks with the software pipeline.
+ * Snapshots are taken in the JavaFX Application Thread, so results include the thread hand-off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageUtilsBenchmark {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Scene size (width x height)
+	 */
+	@Param({"200x150", "800x600"})
+	public String sceneSize;
+
+	/**
+	 * Number of controls in scene
+	 */
+	@Param({"10", "200"})
+	public int controls;
+
+	/**
+	 * Target scene
+	 */
+	private Scene scene;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Setup
+	 *
+	 * --------------------------------------------------------- */
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		HeadlessFX.start();
+		String[] dimensions = sceneSize.split("x");
+
+		scene = HeadlessFX.runAndWait(() -> {
+			FlowPane root = new FlowPane();
+			for (int i = 0; i < controls; i++) {
+				root.getChildren().add(i % 2 == 0 ? new Button("Button " + i) : new Label("Label " + i));
+			}
+
+			return new Scene(root, Double.parseDouble(dimensions[0]), Double.parseDouble(dimensions[1]));
+		});
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Benchmarks
+	 *
+	 * --------------------------------------------------------- */
+
+	@Benchmark
+	public WritableImage getSnapShot() throws Exception {
+		return HeadlessFX.runAndWait(() -> ImageUtils.getSnapShot(scene));
+	}
+
+}
@@ -0,0 +1,173 @@
+package com.github.ushiosan23.javafx.benchmark;
+
+import com.github.ushiosan23.javafx.xml.MenuLoader;
+import javafx.scene.control.MenuBar;
+import org.openjdk.jmh.annotations.*;
+import org.w3c.dom.Document;
+
+import javax.imageio.ImageIO;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MenuLoader} benchmarks with generated menu bars.
+ * Icons are decoded once and then served by the shared image cache, like in a running application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuLoaderBenchmark {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Number of distinct icon files
+	 */
+	private static final int ICON_COUNT = 8;
+
+	/**
+	 * Items per submenu
+	 */
+	private static final int ITEMS_PER_MENU = 20;
+
+	/**
+	 * Total number of menu nodes
+	 */
+	@Param({"10", "1000", "50000"})
+	public int nodes;
+
+	/**
+	 * Add icon to every item
+	 */
+	@Param({"false", "true"})
+	public boolean icons;
+
+	/**
+	 * Generated xml content
+	 */
+	private byte[] content;
+
+	/**
+	 * Document builder used by DOM benchmarks
+	 */
+	private DocumentBuilder documentBuilder;
+
+	/**
+	 * Generated icon directory
+	 */
+	private Path iconDir;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Setup
+	 *
+	 * --------------------------------------------------------- */
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		HeadlessFX.start();
+		iconDir = icons ? createIcons() : null;
+		content = createMenuBar(nodes, iconDir).getBytes(StandardCharsets.UTF_8);
+		documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		if (iconDir == null) return;
+
+		for (int i = 0; i < ICON_COUNT; i++) Files.deleteIfExists(iconDir.resolve("icon" + i + ".png"));
+		Files.deleteIfExists(iconDir);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Benchmarks
+	 *
+	 * --------------------------------------------------------- */
+
+	@Benchmark
+	public MenuBar loadMenuBarStream() throws Exception {
+		return MenuLoader.loadMenuBar(new ByteArrayInputStream(content));
+	}
+
+	@Benchmark
+	public MenuBar loadMenuBarDocument() throws Exception {
+		Document document = documentBuilder.parse(new ByteArrayInputStream(content));
+		return MenuLoader.loadMenuBar(document);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Generate menu bar xml with the given number of nodes
+	 *
+	 * @param nodes   Total number of nodes
+	 * @param iconDir Icon directory or {@code null} to generate items without icons
+	 * @return Xml content
+	 */
+	static String createMenuBar(int nodes, Path iconDir) {
+		StringBuilder builder = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n<menu-bar>\n");
+		int count = 0;
+		int menu = 0;
+
+		while (count < nodes) {
+			builder.append("\t<menu text=\"Menu ").append(menu).append("\" id=\"m").append(menu).append("\">\n");
+			count++;
+
+			for (int i = 0; i < ITEMS_PER_MENU && count < nodes; i++, count++) {
+				builder.append("\t\t<item text=\"Item ").append(menu).append('.').append(i)
+					.append("\" id=\"i").append(menu).append('_').append(i).append('"');
+				if (iconDir != null)
+					builder.append(" icon=\"").append(iconDir.resolve("icon" + (count % ICON_COUNT) + ".png").toUri()).append('"');
+				builder.append("/>\n");
+			}
+
+			builder.append("\t</menu>\n");
+			menu++;
+		}
+
+		return builder.append("</menu-bar>\n").toString();
+	}
+
+	/**
+	 * Create icon files
+	 *
+	 * @return Icon directory
+	 * @throws IOException Error if icons cannot be written
+	 */
+	private static Path createIcons() throws IOException {
+		Path directory = Files.createTempDirectory("menu-benchmark");
+
+		for (int i = 0; i < ICON_COUNT; i++) {
+			BufferedImage image = new BufferedImage(48, 48, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g2 = image.createGraphics();
+			g2.setColor(Color.getHSBColor(i / (float) ICON_COUNT, 0.7f, 0.9f));
+			g2.fillOval(4, 4, 40, 40);
+			g2.dispose();
+
+			ImageIO.write(image, "png", directory.resolve("icon" + i + ".png").toFile());
+		}
+
+		return directory;
+	}
+
+}
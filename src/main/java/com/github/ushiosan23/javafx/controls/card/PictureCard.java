@@ -1,11 +1,11 @@
 package com.github.ushiosan23.javafx.controls.card;
 
+import com.github.ushiosan23.javafx.theme.Theme;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ObservableMap;
 import javafx.scene.control.Tooltip;
-import javafx.scene.effect.DropShadow;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.shape.Circle;
@@ -162,8 +162,8 @@ public class PictureCard extends ImageView {
 		Circle localShape = new Circle();
 		setPictureShape(localShape);
 		setPreserveRatio(true);
-		// Set picture drop shadow
-		setEffect(new DropShadow());
+		// Set shared picture effect
+		setEffect(Theme.getCurrent().getCardEffect());
 	}
 
 	/**
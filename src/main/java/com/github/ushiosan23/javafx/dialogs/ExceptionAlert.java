@@ -1,5 +1,6 @@
 package com.github.ushiosan23.javafx.dialogs;
 
+import com.github.ushiosan23.javafx.theme.Theme;
 import com.github.ushiosan23.javafx.utils.ExceptionUtils;
 import javafx.scene.control.ButtonBar;
 import javafx.scene.control.ButtonType;
@@ -7,7 +8,6 @@ import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Priority;
-import javafx.scene.text.Font;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -93,11 +93,13 @@ public final class ExceptionAlert extends BaseAlert {
 		addAction(SEND);
 		addAction(CANCEL);
 
-		// Create fonts
-		Font messageFont = Font.font("Arial", 16);
+		// Shared theme resources
+		Theme theme = Theme.getCurrent();
+		theme.applyStylesheet(getDialogPane());
 
 		// Configure label info
-		labelInfo.setFont(messageFont);
+		labelInfo.setFont(theme.getDialogMessageFont());
+		labelInfo.getStyleClass().add(Theme.EXCEPTION_MESSAGE_CLASS);
 
 		// Text area configuration
 		textAreaInfo.setText(ExceptionUtils.getStackTraceString(exception));
@@ -1,9 +1,12 @@
 package com.github.ushiosan23.javafx.notifications;
 
+import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.layout.Pane;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 
 /**
  * Notification base structure
@@ -97,9 +100,64 @@ public interface INotification {
 	 */
 	void showNotify(Stage owner);
 
+	/**
+	 * Show popup window at custom screen position
+	 *
+	 * @param owner Target window owner
+	 * @param x     Screen x position
+	 * @param y     Screen y position
+	 */
+	default void showNotify(Stage owner, double x, double y) {
+		showNotify(owner);
+		setNotificationPosition(x, y);
+	}
+
 	/**
 	 * Hide popup window
 	 */
 	void hide();
 
+	/**
+	 * Move popup window
+	 *
+	 * @param x Screen x position
+	 * @param y Screen y position
+	 */
+	default void setNotificationPosition(double x, double y) {
+		Window window = getNotificationWindow();
+		window.setX(x);
+		window.setY(y);
+	}
+
+	/**
+	 * Change popup window opacity
+	 *
+	 * @param opacity Window opacity between {@code 0} and {@code 1}
+	 */
+	default void setNotificationOpacity(double opacity) {
+		getNotificationWindow().setOpacity(opacity);
+	}
+
+	/**
+	 * Get popup window showing property
+	 *
+	 * @return {@link ReadOnlyBooleanProperty} showing property
+	 */
+	default ReadOnlyBooleanProperty notificationShowingProperty() {
+		return getNotificationWindow().showingProperty();
+	}
+
+	/**
+	 * Get popup window of notification content
+	 *
+	 * @return {@link Window} popup window
+	 */
+	private Window getNotificationWindow() {
+		Scene scene = getNotificationContent().getScene();
+		if (scene == null || scene.getWindow() == null)
+			throw new IllegalStateException("Notification content is not attached to a window.");
+
+		return scene.getWindow();
+	}
+
 }
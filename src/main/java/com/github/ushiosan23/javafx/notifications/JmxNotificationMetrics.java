@@ -0,0 +1,271 @@
+package com.github.ushiosan23.javafx.notifications;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Notification metrics exposed as a JMX MBean.
+ * <pre>{@code
+ * JmxNotificationMetrics metrics = new JmxNotificationMetrics();
+ * metrics.register();
+ * NotificationMetrics.setListener(metrics);
+ * }</pre>
+ */
+public final class JmxNotificationMetrics implements NotificationMetricsListener, JmxNotificationMetricsMBean {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Default MBean name
+	 */
+	public static final String DEFAULT_NAME = "com.github.ushiosan23.javafx:type=NotificationMetrics";
+
+	/**
+	 * Created notifications
+	 */
+	private final AtomicLong createdCount = new AtomicLong();
+
+	/**
+	 * Posted notifications
+	 */
+	private final AtomicLong postedCount = new AtomicLong();
+
+	/**
+	 * Dropped notifications
+	 */
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	/**
+	 * Shown notifications
+	 */
+	private final AtomicLong shownCount = new AtomicLong();
+
+	/**
+	 * Hidden notifications
+	 */
+	private final AtomicLong hiddenCount = new AtomicLong();
+
+	/**
+	 * Component initialization time
+	 */
+	private final LatencyHistogram initializeTime = new LatencyHistogram();
+
+	/**
+	 * Time between post and show
+	 */
+	private final LatencyHistogram waitTime = new LatencyHistogram();
+
+	/**
+	 * Time spent showing notifications
+	 */
+	private final LatencyHistogram showTime = new LatencyHistogram();
+
+	/**
+	 * Time between show and hide
+	 */
+	private final LatencyHistogram visibleTime = new LatencyHistogram();
+
+	/**
+	 * Last visible notifications
+	 */
+	private volatile int visibleCount;
+
+	/**
+	 * Last queue depth
+	 */
+	private volatile int queueDepth;
+
+	/**
+	 * Registered name or {@code null} if MBean is not registered
+	 */
+	private ObjectName registeredName;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Register MBean in the platform MBean server with the default name
+	 *
+	 * @throws JMException Error if MBean cannot be registered
+	 */
+	public void register() throws JMException {
+		register(DEFAULT_NAME);
+	}
+
+	/**
+	 * Register MBean in the platform MBean server
+	 *
+	 * @param name MBean object name
+	 * @throws JMException Error if MBean cannot be registered
+	 */
+	public synchronized void register(@NotNull String name) throws JMException {
+		unregister();
+
+		ObjectName objectName = new ObjectName(name);
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		registeredName = objectName;
+	}
+
+	/**
+	 * Remove MBean from the platform MBean server
+	 *
+	 * @throws JMException Error if MBean cannot be unregistered
+	 */
+	public synchronized void unregister() throws JMException {
+		if (registeredName == null) return;
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		if (server.isRegistered(registeredName))
+			server.unregisterMBean(registeredName);
+		registeredName = null;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Implemented methods
+	 *
+	 * --------------------------------------------------------- */
+
+	@Override
+	public void notificationCreated(long initializeNanos) {
+		createdCount.incrementAndGet();
+		initializeTime.record(initializeNanos);
+	}
+
+	@Override
+	public void notificationPosted(NotificationManager.Priority priority, int queueDepth) {
+		postedCount.incrementAndGet();
+		this.queueDepth = queueDepth;
+	}
+
+	@Override
+	public void queueDepthChanged(int queueDepth) {
+		this.queueDepth = queueDepth;
+	}
+
+	@Override
+	public void notificationsDropped(int count) {
+		droppedCount.addAndGet(count);
+	}
+
+	@Override
+	public void notificationShown(long waitNanos, long showNanos, int visible) {
+		shownCount.incrementAndGet();
+		waitTime.record(waitNanos);
+		showTime.record(showNanos);
+		visibleCount = visible;
+	}
+
+	@Override
+	public void notificationHidden(long visibleNanos, int visible) {
+		hiddenCount.incrementAndGet();
+		visibleTime.record(visibleNanos);
+		visibleCount = visible;
+	}
+
+	@Override
+	public long getCreatedCount() {
+		return createdCount.get();
+	}
+
+	@Override
+	public long getPostedCount() {
+		return postedCount.get();
+	}
+
+	@Override
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	@Override
+	public long getShownCount() {
+		return shownCount.get();
+	}
+
+	@Override
+	public long getHiddenCount() {
+		return hiddenCount.get();
+	}
+
+	@Override
+	public int getVisibleCount() {
+		return visibleCount;
+	}
+
+	@Override
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	@Override
+	public double getInitializeMeanMillis() {
+		return initializeTime.getMeanMillis();
+	}
+
+	@Override
+	public double getInitializeMaxMillis() {
+		return initializeTime.getMaxMillis();
+	}
+
+	@Override
+	public double getWaitMeanMillis() {
+		return waitTime.getMeanMillis();
+	}
+
+	@Override
+	public double getWaitP95Millis() {
+		return waitTime.getPercentileMillis(0.95);
+	}
+
+	@Override
+	public double getWaitMaxMillis() {
+		return waitTime.getMaxMillis();
+	}
+
+	@Override
+	public double getShowMeanMillis() {
+		return showTime.getMeanMillis();
+	}
+
+	@Override
+	public double getShowMaxMillis() {
+		return showTime.getMaxMillis();
+	}
+
+	@Override
+	public double getVisibleMeanMillis() {
+		return visibleTime.getMeanMillis();
+	}
+
+	@Override
+	public double getVisibleP95Millis() {
+		return visibleTime.getPercentileMillis(0.95);
+	}
+
+	@Override
+	public void reset() {
+		createdCount.set(0);
+		postedCount.set(0);
+		droppedCount.set(0);
+		shownCount.set(0);
+		hiddenCount.set(0);
+		initializeTime.reset();
+		waitTime.reset();
+		showTime.reset();
+		visibleTime.reset();
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.github.ushiosan23.javafx.notifications;
+
+/**
+ * Management interface of {@link JmxNotificationMetrics}.
+ * Durations are reported in milliseconds.
+ */
+public interface JmxNotificationMetricsMBean {
+
+	/**
+	 * @return Number of created notifications
+	 */
+	long getCreatedCount();
+
+	/**
+	 * @return Number of posted notifications
+	 */
+	long getPostedCount();
+
+	/**
+	 * @return Number of dropped notifications
+	 */
+	long getDroppedCount();
+
+	/**
+	 * @return Number of shown notifications
+	 */
+	long getShownCount();
+
+	/**
+	 * @return Number of hidden notifications
+	 */
+	long getHiddenCount();
+
+	/**
+	 * @return Visible notifications reported by the last event
+	 */
+	int getVisibleCount();
+
+	/**
+	 * @return Waiting notifications after the last queue change
+	 */
+	int getQueueDepth();
+
+	/**
+	 * @return Mean component initialization time
+	 */
+	double getInitializeMeanMillis();
+
+	/**
+	 * @return Maximum component initialization time
+	 */
+	double getInitializeMaxMillis();
+
+	/**
+	 * @return Mean time between post and show
+	 */
+	double getWaitMeanMillis();
+
+	/**
+	 * @return 95th percentile of time between post and show
+	 */
+	double getWaitP95Millis();
+
+	/**
+	 * @return Maximum time between post and show
+	 */
+	double getWaitMaxMillis();
+
+	/**
+	 * @return Mean time spent showing a notification
+	 */
+	double getShowMeanMillis();
+
+	/**
+	 * @return Maximum time spent showing a notification
+	 */
+	double getShowMaxMillis();
+
+	/**
+	 * @return Mean time between show and hide
+	 */
+	double getVisibleMeanMillis();
+
+	/**
+	 * @return 95th percentile of time between show and hide
+	 */
+	double getVisibleP95Millis();
+
+	/**
+	 * Reset all counters and histograms
+	 */
+	void reset();
+
+}
@@ -0,0 +1,119 @@
+package com.github.ushiosan23.javafx.notifications;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with power of two buckets.
+ * Values are recorded in nanoseconds. Percentiles are approximated by the upper bound of
+ * the bucket that contains them, so they are at most two times the real value.
+ */
+final class LatencyHistogram {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Bucket {@code i} counts values in {@code [2^(i-1), 2^i)}
+	 */
+	private final AtomicLongArray buckets = new AtomicLongArray(64);
+
+	/**
+	 * Number of values
+	 */
+	private final AtomicLong count = new AtomicLong();
+
+	/**
+	 * Sum of all values
+	 */
+	private final AtomicLong sum = new AtomicLong();
+
+	/**
+	 * Maximum value
+	 */
+	private final AtomicLong max = new AtomicLong();
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Record value
+	 *
+	 * @param nanos Value in nanoseconds
+	 */
+	void record(long nanos) {
+		long value = Math.max(0, nanos);
+		buckets.incrementAndGet(Math.min(63, 64 - Long.numberOfLeadingZeros(value)));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	/**
+	 * Get number of values
+	 *
+	 * @return Recorded values
+	 */
+	long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Get mean value in milliseconds
+	 *
+	 * @return Mean value or {@code 0} if there are no values
+	 */
+	double getMeanMillis() {
+		long total = count.get();
+		return total == 0 ? 0 : sum.get() / (double) total / 1e6;
+	}
+
+	/**
+	 * Get maximum value in milliseconds
+	 *
+	 * @return Maximum value
+	 */
+	double getMaxMillis() {
+		return max.get() / 1e6;
+	}
+
+	/**
+	 * Get approximated percentile in milliseconds
+	 *
+	 * @param percentile Target percentile between {@code 0} and {@code 1}
+	 * @return Percentile value or {@code 0} if there are no values
+	 */
+	double getPercentileMillis(double percentile) {
+		long total = count.get();
+		if (total == 0) return 0;
+
+		long target = (long) Math.ceil(total * percentile);
+		long accumulated = 0;
+		for (int i = 0; i < buckets.length(); i++) {
+			accumulated += buckets.get(i);
+			if (accumulated >= target)
+				return Math.min((double) (1L << i), max.get()) / 1e6;
+		}
+
+		return getMaxMillis();
+	}
+
+	/**
+	 * Remove all values
+	 */
+	void reset() {
+		for (int i = 0; i < buckets.length(); i++) {
+			buckets.set(i, 0);
+		}
+		count.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+}
@@ -1,6 +1,10 @@
 package com.github.ushiosan23.javafx.notifications;
 
-import javafx.geometry.Insets;
+import com.github.ushiosan23.javafx.theme.Theme;
+import com.github.ushiosan23.javafx.utils.ImageUtils;
+import com.github.ushiosan23.javafx.utils.ScreenGeometry;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
@@ -11,13 +15,10 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
-import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
 import javafx.scene.text.TextAlignment;
 import javafx.stage.Popup;
-import javafx.stage.Screen;
 import javafx.stage.Stage;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -33,6 +34,11 @@ public class Notification extends Popup implements INotification {
 	 *
 	 * --------------------------------------------------------- */
 
+	/**
+	 * Icon display height
+	 */
+	public static final double ICON_SIZE = 80;
+
 	/**
 	 * Notification container
 	 */
@@ -53,6 +59,11 @@ public class Notification extends Popup implements INotification {
 	 */
 	protected Node notificationIcon = null;
 
+	/**
+	 * Image view reused by {@link #setIcon(Image)}
+	 */
+	private ImageView imageIcon = null;
+
 	/**
 	 * Notification title label
 	 */
@@ -63,6 +74,11 @@ public class Notification extends Popup implements INotification {
 	 */
 	protected Label descriptionLabel = new Label();
 
+	/**
+	 * Screen corner used by {@link #showNotify(Stage)}
+	 */
+	private ScreenGeometry.Corner corner = ScreenGeometry.Corner.BOTTOM_RIGHT;
+
 	/* ---------------------------------------------------------
 	 *
 	 * Constructors
@@ -84,7 +100,13 @@ public class Notification extends Popup implements INotification {
 		setNotificationTitle(title);
 		setDescription(description);
 		setIcon(icon);
+
+		long start = System.nanoTime();
 		initializeComponents();
+
+		NotificationMetricsListener metrics = NotificationMetrics.getListener();
+		if (metrics != null)
+			metrics.notificationCreated(System.nanoTime() - start);
 	}
 
 	/**
@@ -177,11 +199,17 @@ public class Notification extends Popup implements INotification {
 		// Check icon object
 		if (icon == null) return;
 
-		ImageView imageView = new ImageView(icon);
-		imageView.setFitHeight(80);
-		imageView.setPreserveRatio(true);
+		// Reuse image view
+		if (imageIcon == null) {
+			imageIcon = new ImageView();
+			imageIcon.setFitHeight(ICON_SIZE);
+			imageIcon.setPreserveRatio(true);
+		}
+		// Keep only a display size copy of large images
+		double scale = ScreenGeometry.getShared().getPrimary().getOutputScaleY();
+		imageIcon.setImage(ImageUtils.getCachedFitHeight(icon, ICON_SIZE * Math.max(1, scale)));
 
-		setIcon(imageView);
+		setIcon(imageIcon);
 	}
 
 	/**
@@ -192,7 +220,7 @@ public class Notification extends Popup implements INotification {
 	@Override
 	public void setIcon(@Nullable Node icon) {
 		// Check if node is not valid
-		if (icon == null) return;
+		if (icon == null || icon == notificationIcon) return;
 		// Remove left element
 		if (notificationIconContainer.getChildren().size() != 0)
 			notificationIconContainer.getChildren().clear();
@@ -201,6 +229,15 @@ public class Notification extends Popup implements INotification {
 		notificationIconContainer.getChildren().add(notificationIcon);
 	}
 
+	/**
+	 * Remove notification icon
+	 */
+	public void clearIcon() {
+		notificationIconContainer.getChildren().clear();
+		notificationIcon = null;
+		if (imageIcon != null) imageIcon.setImage(null);
+	}
+
 	/**
 	 * Get notification node icon
 	 *
@@ -223,21 +260,83 @@ public class Notification extends Popup implements INotification {
 	}
 
 	/**
-	 * Display notification in screen.
+	 * Set screen corner used by {@link #showNotify(Stage)}
+	 *
+	 * @param corner Target screen corner
+	 */
+	public void setCorner(@NotNull ScreenGeometry.Corner corner) {
+		this.corner = corner;
+	}
+
+	/**
+	 * Get screen corner used by {@link #showNotify(Stage)}
+	 *
+	 * @return {@link ScreenGeometry.Corner} notification corner
+	 */
+	public ScreenGeometry.Corner getCorner() {
+		return corner;
+	}
+
+	/**
+	 * Display notification in a corner of the owner screen.
 	 * You only can show this window if application is already started.
 	 */
 	@Override
 	public void showNotify(Stage owner) {
-		Screen current = Screen.getPrimary();
-		Rectangle2D bounds = current.getVisualBounds();
+		ScreenGeometry geometry = ScreenGeometry.getShared();
+		Rectangle2D bounds = geometry.getVisualBounds(owner);
+
+		// Show out of screen first to compute window size
+		super.show(owner, bounds.getMaxX(), bounds.getMaxY());
+
+		Point2D position = geometry.getCornerPosition(owner, corner, getWidth(), getHeight(), 10);
+		setX(position.getX());
+		setY(position.getY());
+	}
 
-		super.show(owner, bounds.getWidth(), bounds.getHeight());
+	/**
+	 * Display notification in a custom screen position.
+	 * You only can show this window if application is already started.
+	 *
+	 * @param owner Target window owner
+	 * @param x     Screen x position
+	 * @param y     Screen y position
+	 */
+	@Override
+	public void showNotify(Stage owner, double x, double y) {
+		super.show(owner, x, y);
+	}
+
+	/**
+	 * Move notification window
+	 *
+	 * @param x Screen x position
+	 * @param y Screen y position
+	 */
+	@Override
+	public void setNotificationPosition(double x, double y) {
+		setX(x);
+		setY(y);
+	}
 
-		double width = (bounds.getWidth() - getWidth()) - 10;
-		double height = (bounds.getHeight() - getHeight()) - 10;
+	/**
+	 * Change notification window opacity
+	 *
+	 * @param opacity Window opacity between {@code 0} and {@code 1}
+	 */
+	@Override
+	public void setNotificationOpacity(double opacity) {
+		setOpacity(opacity);
+	}
 
-		setX(width);
-		setY(height);
+	/**
+	 * Get notification showing property
+	 *
+	 * @return {@link ReadOnlyBooleanProperty} showing property
+	 */
+	@Override
+	public ReadOnlyBooleanProperty notificationShowingProperty() {
+		return showingProperty();
 	}
 
 	/* ---------------------------------------------------------
@@ -250,13 +349,12 @@ public class Notification extends Popup implements INotification {
 	 * Configure all nodes
 	 */
 	protected void initializeComponents() {
-		/* Create fonts for information nodes */
-		Font titleFont = Font.font("Arial", FontWeight.BOLD, 18);
-		Font descriptionFont = Font.font("Arial", 14);
+		/* Shared theme resources */
+		Theme theme = Theme.getCurrent();
 		/* Configure information nodes */
-		configureTitle(titleFont);
-		configureDescription(descriptionFont);
-		configureIconContainer();
+		configureTitle(theme);
+		configureDescription(theme);
+		configureIconContainer(theme);
 		configureWindow();
 		/* set scene */
 
@@ -267,8 +365,11 @@ public class Notification extends Popup implements INotification {
 	 * Configure popup window
 	 */
 	protected void configureWindow() {
+		Theme theme = Theme.getCurrent();
 		/* set styles */
-		getScene().setFill(Color.WHITE);
+		getScene().setFill(theme.getNotificationFill());
+		notificationContainer.getStyleClass().add(Theme.NOTIFICATION_CLASS);
+		theme.applyStylesheet(notificationContainer);
 		setAutoHide(false);
 		/* set notification nodes */
 		notificationContainer.setLeft(notificationIconContainer);
@@ -280,12 +381,13 @@ public class Notification extends Popup implements INotification {
 	/**
 	 * Configure notification title
 	 *
-	 * @param font Target font
+	 * @param theme Current theme
 	 */
-	private void configureTitle(Font font) {
-		titleLabel.setFont(font);
+	private void configureTitle(Theme theme) {
+		titleLabel.setFont(theme.getNotificationTitleFont());
 		titleLabel.setTextAlignment(TextAlignment.LEFT);
-		titleLabel.setPadding(new Insets(10, 10, 5, 20));
+		titleLabel.setPadding(theme.getNotificationTitlePadding());
+		titleLabel.getStyleClass().add(Theme.NOTIFICATION_TITLE_CLASS);
 		titleLabel.setMinWidth(250);
 		titleLabel.setMaxWidth(250);
 
@@ -295,22 +397,25 @@ public class Notification extends Popup implements INotification {
 	/**
 	 * Configure notification description
 	 *
-	 * @param font Target font
+	 * @param theme Current theme
 	 */
-	private void configureDescription(Font font) {
-		descriptionLabel.setFont(font);
+	private void configureDescription(Theme theme) {
+		descriptionLabel.setFont(theme.getNotificationDescriptionFont());
 		descriptionLabel.setTextAlignment(TextAlignment.JUSTIFY);
-		descriptionLabel.setPadding(new Insets(5, 10, 10, 20));
+		descriptionLabel.setPadding(theme.getNotificationDescriptionPadding());
+		descriptionLabel.getStyleClass().add(Theme.NOTIFICATION_DESCRIPTION_CLASS);
 
 		informationContainer.getChildren().add(descriptionLabel);
 	}
 
 	/**
 	 * Configure icon container
+	 *
+	 * @param theme Current theme
 	 */
-	private void configureIconContainer() {
+	private void configureIconContainer(Theme theme) {
 		notificationIconContainer.setAlignment(Pos.CENTER);
-		notificationIconContainer.setPadding(new Insets(5));
+		notificationIconContainer.setPadding(theme.getNotificationIconPadding());
 	}
 
 	/* ---------------------------------------------------------
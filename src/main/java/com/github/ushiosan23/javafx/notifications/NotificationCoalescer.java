@@ -0,0 +1,388 @@
+package com.github.ushiosan23.javafx.notifications;
+
+import javafx.beans.value.ChangeListener;
+import javafx.scene.image.Image;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keyed notification updates.
+ * Updates can be posted from any thread. Updates with the same key that arrive before the
+ * JavaFX Application Thread handles them are merged (the latest one wins) and all pending
+ * updates are delivered in a single batch. When a notification with the same key is still
+ * visible or waiting in the {@link NotificationManager}, its title, description and icon are
+ * updated in place instead of creating a new popup. Titles and descriptions are copied when
+ * the update is posted, so callers can reuse mutable text.
+ */
+public final class NotificationCoalescer {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Target manager
+	 */
+	private final NotificationManager manager;
+
+	/**
+	 * Optional notification pool
+	 */
+	private final NotificationPool pool;
+
+	/**
+	 * Pending updates lock
+	 */
+	private final Object lock = new Object();
+
+	/**
+	 * Pending updates in arrival order
+	 */
+	private Map<Object, Update> pending = new LinkedHashMap<>();
+
+	/**
+	 * Live notifications by key. Only used in the JavaFX Application Thread.
+	 */
+	private final Map<Object, Live> live = new HashMap<>();
+
+	/**
+	 * Batch delivery
+	 */
+	private final PulseDrain drain = new PulseDrain(this::deliver);
+
+	/**
+	 * Number of posted updates
+	 */
+	private long postedCount;
+
+	/**
+	 * Number of updates merged before delivery
+	 */
+	private long mergedCount;
+
+	/**
+	 * Number of delivered batches
+	 */
+	private long batchCount;
+
+	/**
+	 * Number of updates applied to a live notification
+	 */
+	private long updatedCount;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create coalescer
+	 *
+	 * @param manager Manager used to show notifications
+	 * @param pool    Pool used to create notifications or {@code null} to create new ones
+	 */
+	public NotificationCoalescer(@NotNull NotificationManager manager, @Nullable NotificationPool pool) {
+		this.manager = manager;
+		this.pool = pool;
+	}
+
+	/**
+	 * Create coalescer
+	 *
+	 * @param manager Manager used to show notifications
+	 */
+	public NotificationCoalescer(@NotNull NotificationManager manager) {
+		this(manager, null);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Post notification update. Can be called from any thread.
+	 *
+	 * @param key         Notification key
+	 * @param priority    Priority used when a new notification is created
+	 * @param title       Notification title
+	 * @param description Notification description
+	 * @param icon        Notification icon
+	 */
+	public void post(
+		@NotNull Object key,
+		@NotNull NotificationManager.Priority priority,
+		@Nullable CharSequence title,
+		@Nullable CharSequence description,
+		@Nullable Image icon) {
+		Update update = new Update(priority, toText(title), toText(description), icon);
+		synchronized (lock) {
+			postedCount++;
+			if (pending.put(key, update) != null)
+				mergedCount++;
+		}
+
+		drain.request();
+	}
+
+	/**
+	 * Post notification update. Can be called from any thread.
+	 *
+	 * @param key         Notification key
+	 * @param title       Notification title
+	 * @param description Notification description
+	 * @param icon        Notification icon
+	 */
+	public void post(
+		@NotNull Object key,
+		@Nullable CharSequence title,
+		@Nullable CharSequence description,
+		@Nullable Image icon) {
+		post(key, NotificationManager.Priority.NORMAL, title, description, icon);
+	}
+
+	/**
+	 * Post notification update. Can be called from any thread.
+	 *
+	 * @param key         Notification key
+	 * @param title       Notification title
+	 * @param description Notification description
+	 */
+	public void post(@NotNull Object key, @Nullable CharSequence title, @Nullable CharSequence description) {
+		post(key, title, description, null);
+	}
+
+	/**
+	 * Get number of posted updates
+	 *
+	 * @return Posted updates
+	 */
+	public long getPostedCount() {
+		synchronized (lock) {
+			return postedCount;
+		}
+	}
+
+	/**
+	 * Get number of updates replaced by a newer update before delivery
+	 *
+	 * @return Merged updates
+	 */
+	public long getMergedCount() {
+		synchronized (lock) {
+			return mergedCount;
+		}
+	}
+
+	/**
+	 * Get number of batches delivered to the JavaFX Application Thread
+	 *
+	 * @return Delivered batches
+	 */
+	public long getBatchCount() {
+		return batchCount;
+	}
+
+	/**
+	 * Get number of updates applied to an existing notification
+	 *
+	 * @return Updates applied in place
+	 */
+	public long getUpdatedCount() {
+		return updatedCount;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Deliver all pending updates. Called in the JavaFX Application Thread.
+	 */
+	private void deliver() {
+		Map<Object, Update> batch;
+		synchronized (lock) {
+			if (pending.isEmpty()) return;
+
+			batch = pending;
+			pending = new LinkedHashMap<>();
+		}
+
+		batchCount++;
+		boolean changed = false;
+		for (Map.Entry<Object, Update> entry : batch.entrySet()) {
+			changed |= apply(entry.getKey(), entry.getValue());
+		}
+
+		// Updated notifications may have a new size
+		if (changed) manager.refresh();
+	}
+
+	/**
+	 * Apply update to live notification or show a new one
+	 *
+	 * @param key    Notification key
+	 * @param update Latest update
+	 * @return {@code true} if a live notification was updated or {@code false} otherwise
+	 */
+	private boolean apply(@NotNull Object key, @NotNull Update update) {
+		Live current = live.get(key);
+		if (current != null) {
+			if (manager.contains(current.notification)) {
+				update.applyTo(current.notification);
+				manager.touch(current.notification);
+				updatedCount++;
+				return true;
+			}
+
+			// Notification was dropped before it was shown
+			release(key, current);
+			if (pool != null) pool.release(current.notification);
+		}
+
+		Notification notification = pool == null ?
+			new Notification(null, null) :
+			pool.acquire(null, null);
+		update.applyTo(notification);
+
+		Live created = new Live(notification);
+		created.showingListener = (observable, oldValue, showing) -> {
+			if (!showing) release(key, created);
+		};
+		notification.notificationShowingProperty().addListener(created.showingListener);
+		live.put(key, created);
+
+		// Forget notifications dropped by the manager before they were shown
+		manager.post(notification, update.priority, dropped -> {
+			release(key, created);
+			if (pool != null) pool.release(notification);
+		});
+
+		return false;
+	}
+
+	/**
+	 * Copy update text
+	 *
+	 * @param text Target text
+	 * @return {@link String} text copy or {@code null} if text is {@code null}
+	 */
+	@Nullable
+	private static String toText(@Nullable CharSequence text) {
+		return text == null ? null : text.toString();
+	}
+
+	/**
+	 * Forget live notification
+	 *
+	 * @param key     Notification key
+	 * @param current Live notification
+	 */
+	private void release(@NotNull Object key, @NotNull Live current) {
+		current.notification.notificationShowingProperty().removeListener(current.showingListener);
+		live.remove(key, current);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Notification content update
+	 */
+	private static final class Update {
+
+		/**
+		 * Priority used for new notifications
+		 */
+		final NotificationManager.Priority priority;
+
+		/**
+		 * Notification title
+		 */
+		final String title;
+
+		/**
+		 * Notification description
+		 */
+		final String description;
+
+		/**
+		 * Notification icon
+		 */
+		final Image icon;
+
+		/**
+		 * Create update
+		 *
+		 * @param priority    Priority used for new notifications
+		 * @param title       Notification title
+		 * @param description Notification description
+		 * @param icon        Notification icon
+		 */
+		Update(
+			@NotNull NotificationManager.Priority priority,
+			@Nullable String title,
+			@Nullable String description,
+			@Nullable Image icon) {
+			this.priority = priority;
+			this.title = title;
+			this.description = description;
+			this.icon = icon;
+		}
+
+		/**
+		 * Apply content to notification
+		 *
+		 * @param notification Target notification
+		 */
+		void applyTo(@NotNull Notification notification) {
+			notification.setNotificationTitle(title);
+			notification.setDescription(description);
+			if (icon == null)
+				notification.clearIcon();
+			else
+				notification.setIcon(icon);
+		}
+
+	}
+
+	/**
+	 * Notification posted by this coalescer
+	 */
+	private static final class Live {
+
+		/**
+		 * Target notification
+		 */
+		final Notification notification;
+
+		/**
+		 * Forget notification when it is hidden
+		 */
+		ChangeListener<Boolean> showingListener;
+
+		/**
+		 * Create live notification
+		 *
+		 * @param notification Target notification
+		 */
+		Live(@NotNull Notification notification) {
+			this.notification = notification;
+		}
+
+	}
+
+}
@@ -0,0 +1,392 @@
+package com.github.ushiosan23.javafx.notifications;
+
+import javafx.scene.image.Image;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe entry point for {@link NotificationManager}.
+ * Requests can be offered from any thread. They are stored in a bounded lock-free queue and
+ * a single drain task in the JavaFX Application Thread creates and posts the notifications.
+ * When the queue is full, {@code offer} methods return {@code false} so producers can slow
+ * down, drop the request or retry later. Titles and descriptions are copied when the request
+ * is offered, so mutable text such as a {@link StringBuilder} can be reused by the producer.
+ */
+public final class NotificationDispatcher {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Default queue capacity
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * Default number of requests handled per drain
+	 */
+	public static final int DEFAULT_DRAIN_LIMIT = 64;
+
+	/**
+	 * Target manager
+	 */
+	private final NotificationManager manager;
+
+	/**
+	 * Optional notification pool
+	 */
+	private final NotificationPool pool;
+
+	/**
+	 * Waiting requests
+	 */
+	private final ConcurrentLinkedQueue<Request> queue = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Number of waiting requests. Reserved before a request is added to the queue.
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Number of rejected requests
+	 */
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+	/**
+	 * Batch delivery
+	 */
+	private final PulseDrain drain = new PulseDrain(this::deliver);
+
+	/**
+	 * Maximum number of waiting requests
+	 */
+	private final int capacity;
+
+	/**
+	 * Maximum number of requests handled per drain
+	 */
+	private volatile int drainLimit = DEFAULT_DRAIN_LIMIT;
+
+	/**
+	 * Notification factory error handler
+	 */
+	private volatile Consumer<Exception> errorHandler;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create dispatcher
+	 *
+	 * @param manager  Manager used to show notifications
+	 * @param pool     Pool used to create notifications or {@code null} to create new ones
+	 * @param capacity Maximum number of waiting requests
+	 */
+	public NotificationDispatcher(
+		@NotNull NotificationManager manager,
+		@Nullable NotificationPool pool,
+		int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be greater than zero.");
+
+		this.manager = manager;
+		this.pool = pool;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Create dispatcher with default capacity
+	 *
+	 * @param manager Manager used to show notifications
+	 */
+	public NotificationDispatcher(@NotNull NotificationManager manager) {
+		this(manager, null, DEFAULT_CAPACITY);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Offer notification request. Can be called from any thread.
+	 *
+	 * @param priority    Notification priority
+	 * @param title       Notification title
+	 * @param description Notification description
+	 * @param icon        Notification icon
+	 * @return {@code true} if request was accepted or {@code false} if the queue is full
+	 */
+	public boolean offer(
+		@NotNull NotificationManager.Priority priority,
+		@Nullable CharSequence title,
+		@Nullable CharSequence description,
+		@Nullable Image icon) {
+		return enqueue(new Request(priority, null, toText(title), toText(description), icon));
+	}
+
+	/**
+	 * Offer notification request. Can be called from any thread.
+	 *
+	 * @param title       Notification title
+	 * @param description Notification description
+	 * @return {@code true} if request was accepted or {@code false} if the queue is full
+	 */
+	public boolean offer(@Nullable CharSequence title, @Nullable CharSequence description) {
+		return offer(NotificationManager.Priority.NORMAL, title, description, null);
+	}
+
+	/**
+	 * Offer custom notification. Can be called from any thread.
+	 * The factory is called in the JavaFX Application Thread.
+	 *
+	 * @param priority Notification priority
+	 * @param factory  Notification factory
+	 * @return {@code true} if request was accepted or {@code false} if the queue is full
+	 */
+	public boolean offer(
+		@NotNull NotificationManager.Priority priority,
+		@NotNull Supplier<? extends INotification> factory) {
+		return enqueue(new Request(priority, factory, null, null, null));
+	}
+
+	/**
+	 * Set notification error handler. Called in the JavaFX Application Thread when a
+	 * notification cannot be created or posted; the request is skipped. By default, errors are
+	 * written to the {@link System.Logger} of this class.
+	 *
+	 * @param errorHandler Target handler or {@code null} to use default handler
+	 */
+	public void setOnError(@Nullable Consumer<Exception> errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Get number of waiting requests
+	 *
+	 * @return Waiting requests
+	 */
+	public int getPendingCount() {
+		return size.get();
+	}
+
+	/**
+	 * Get number of requests rejected because the queue was full
+	 *
+	 * @return Rejected requests
+	 */
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+
+	/**
+	 * Get maximum number of waiting requests
+	 *
+	 * @return Queue capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Set maximum number of requests handled per drain. Remaining requests are handled
+	 * in the next drain, so the JavaFX Application Thread is not blocked by large bursts.
+	 *
+	 * @param drainLimit Requests per drain
+	 */
+	public void setDrainLimit(int drainLimit) {
+		if (drainLimit < 1)
+			throw new IllegalArgumentException("Drain limit must be greater than zero.");
+
+		this.drainLimit = drainLimit;
+	}
+
+	/**
+	 * Get maximum number of requests handled per drain
+	 *
+	 * @return Requests per drain
+	 */
+	public int getDrainLimit() {
+		return drainLimit;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Add request to queue
+	 *
+	 * @param request Target request
+	 * @return {@code true} if request was accepted or {@code false} if the queue is full
+	 */
+	private boolean enqueue(@NotNull Request request) {
+		if (size.incrementAndGet() > capacity) {
+			size.decrementAndGet();
+			rejectedCount.incrementAndGet();
+			return false;
+		}
+
+		queue.offer(request);
+		drain.request();
+		return true;
+	}
+
+	/**
+	 * Post waiting requests. Called in the JavaFX Application Thread.
+	 */
+	private void deliver() {
+		try {
+			int limit = drainLimit;
+			Request request;
+			while (limit-- > 0 && (request = queue.poll()) != null) {
+				size.decrementAndGet();
+				post(request);
+			}
+		} finally {
+			// Remaining requests are never stranded, even if an error escapes
+			if (!queue.isEmpty())
+				drain.request();
+		}
+	}
+
+	/**
+	 * Create and post request notification
+	 *
+	 * @param request Target request
+	 */
+	private void post(@NotNull Request request) {
+		try {
+			INotification notification = request.create(pool);
+			if (notification == null)
+				throw new IllegalStateException("Notification factory returned null.");
+
+			manager.post(notification, request.priority, this::dropped);
+		} catch (Exception err) {
+			reportError(err);
+		}
+	}
+
+	/**
+	 * Report notification error
+	 *
+	 * @param err Target error
+	 */
+	private void reportError(@NotNull Exception err) {
+		Consumer<Exception> handler = errorHandler;
+		if (handler != null)
+			handler.accept(err);
+		else
+			System.getLogger(NotificationDispatcher.class.getName()).log(System.Logger.Level.WARNING, "Notification cannot be posted.", err);
+	}
+
+	/**
+	 * Copy request text
+	 *
+	 * @param text Target text
+	 * @return {@link String} text copy or {@code null} if text is {@code null}
+	 */
+	@Nullable
+	private static String toText(@Nullable CharSequence text) {
+		return text == null ? null : text.toString();
+	}
+
+	/**
+	 * Return notification dropped by the manager to the pool
+	 *
+	 * @param notification Dropped notification
+	 */
+	private void dropped(@NotNull INotification notification) {
+		if (pool != null && notification instanceof Notification)
+			pool.release((Notification) notification);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Notification request
+	 */
+	private static final class Request {
+
+		/**
+		 * Notification priority
+		 */
+		final NotificationManager.Priority priority;
+
+		/**
+		 * Custom notification factory or {@code null} to create a {@link Notification}
+		 */
+		final Supplier<? extends INotification> factory;
+
+		/**
+		 * Notification title
+		 */
+		final String title;
+
+		/**
+		 * Notification description
+		 */
+		final String description;
+
+		/**
+		 * Notification icon
+		 */
+		final Image icon;
+
+		/**
+		 * Create request
+		 *
+		 * @param priority    Notification priority
+		 * @param factory     Custom notification factory
+		 * @param title       Notification title
+		 * @param description Notification description
+		 * @param icon        Notification icon
+		 */
+		Request(
+			@NotNull NotificationManager.Priority priority,
+			@Nullable Supplier<? extends INotification> factory,
+			@Nullable String title,
+			@Nullable String description,
+			@Nullable Image icon) {
+			this.priority = priority;
+			this.factory = factory;
+			this.title = title;
+			this.description = description;
+			this.icon = icon;
+		}
+
+		/**
+		 * Create notification
+		 *
+		 * @param pool Pool used to create notifications or {@code null} to create new ones
+		 * @return {@link INotification} request notification
+		 */
+		INotification create(@Nullable NotificationPool pool) {
+			if (factory != null) return factory.get();
+			if (pool != null) return pool.acquire(title, description, icon);
+
+			return new Notification(title, description, icon);
+		}
+
+	}
+
+}
@@ -0,0 +1,187 @@
+package com.github.ushiosan23.javafx.notifications;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded notification history.
+ * Records are stored in a fixed size ring buffer, when the history is full the oldest record
+ * is discarded, so memory usage does not grow with the number of posted notifications.
+ * The history is an observable list ordered from the newest record to the oldest one and can
+ * be used directly as {@link javafx.scene.control.ListView} items.
+ * <p>
+ * The history must be modified in the JavaFX Application Thread.
+ */
+public final class NotificationHistory extends ObservableListBase<NotificationRecord> {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Default history capacity
+	 */
+	public static final int DEFAULT_CAPACITY = 5000;
+
+	/**
+	 * Ring buffer
+	 */
+	private final NotificationRecord[] records;
+
+	/**
+	 * Index of the newest record
+	 */
+	private int head = -1;
+
+	/**
+	 * Number of stored records
+	 */
+	private int size;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create history with custom capacity
+	 *
+	 * @param capacity Maximum number of records
+	 */
+	public NotificationHistory(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be greater than zero.");
+
+		records = new NotificationRecord[capacity];
+	}
+
+	/**
+	 * Create history with default capacity
+	 */
+	public NotificationHistory() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Add record to history
+	 *
+	 * @param record Target record
+	 */
+	public void record(@NotNull NotificationRecord record) {
+		checkThread();
+
+		beginChange();
+		if (size == records.length) {
+			// Oldest record is overwritten
+			nextRemove(size - 1, get(size - 1));
+			size--;
+		}
+
+		head = (head + 1) % records.length;
+		records[head] = record;
+		size++;
+		nextAdd(0, 1);
+		endChange();
+	}
+
+	/**
+	 * Add notification information to history
+	 *
+	 * @param title       Notification title
+	 * @param description Notification description
+	 * @param priority    Notification priority
+	 */
+	public void record(
+		@Nullable CharSequence title,
+		@Nullable CharSequence description,
+		@NotNull NotificationManager.Priority priority) {
+		record(new NotificationRecord(
+			title == null ? null : title.toString(),
+			description == null ? null : description.toString(),
+			priority,
+			System.currentTimeMillis()
+		));
+	}
+
+	/**
+	 * Remove all records
+	 */
+	@Override
+	public void clear() {
+		checkThread();
+		if (size == 0) return;
+
+		List<NotificationRecord> removed = new ArrayList<>(this);
+		for (int i = 0; i < records.length; i++) {
+			records[i] = null;
+		}
+		head = -1;
+		size = 0;
+
+		beginChange();
+		nextRemove(0, removed);
+		endChange();
+	}
+
+	/**
+	 * Get record
+	 *
+	 * @param index Record index. {@code 0} is the newest record.
+	 * @return {@link NotificationRecord} target record
+	 */
+	@Override
+	public NotificationRecord get(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+		return records[Math.floorMod(head - index, records.length)];
+	}
+
+	/**
+	 * Get number of stored records
+	 *
+	 * @return Stored records
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Get maximum number of records
+	 *
+	 * @return History capacity
+	 */
+	public int getCapacity() {
+		return records.length;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Check current thread
+	 */
+	private static void checkThread() {
+		if (!Platform.isFxApplicationThread())
+			throw new IllegalStateException("Notification history must be modified in the JavaFX Application Thread.");
+	}
+
+}
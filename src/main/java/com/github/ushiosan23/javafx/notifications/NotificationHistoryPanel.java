@@ -0,0 +1,210 @@
+package com.github.ushiosan23.javafx.notifications;
+
+import com.github.ushiosan23.javafx.popup.AbstractPopupPanel;
+import com.github.ushiosan23.javafx.theme.Theme;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Panel that displays a {@link NotificationHistory}.
+ * The history is displayed in a {@link ListView}, so only visible rows have nodes no matter
+ * how many records the history contains.
+ */
+public class NotificationHistoryPanel extends AbstractPopupPanel {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Record time format
+	 */
+	private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss")
+		.withZone(ZoneId.systemDefault());
+
+	/**
+	 * Panel title label. Initialized by {@link #initializeContent(BorderPane)}.
+	 */
+	protected Label titleLabel;
+
+	/**
+	 * Record list. Initialized by {@link #initializeContent(BorderPane)}.
+	 */
+	protected ListView<NotificationRecord> recordList;
+
+	/**
+	 * Displayed history
+	 */
+	private final NotificationHistory history;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create history panel
+	 *
+	 * @param history Displayed history
+	 */
+	public NotificationHistoryPanel(@NotNull NotificationHistory history) {
+		super();
+		this.history = history;
+		recordList.setItems(history);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Get displayed history
+	 *
+	 * @return {@link NotificationHistory} panel history
+	 */
+	public NotificationHistory getHistory() {
+		return history;
+	}
+
+	/**
+	 * Remove panel from scene
+	 */
+	public void close() {
+		Parent parent = getParent();
+		if (parent instanceof Pane)
+			((Pane) parent).getChildren().remove(this);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Initialize panel content
+	 *
+	 * @param container Target container panel
+	 */
+	@Override
+	protected void initializeContent(BorderPane container) {
+		Theme theme = Theme.getCurrent();
+
+		titleLabel = new Label("Notifications");
+		titleLabel.setFont(theme.getNotificationTitleFont());
+		titleLabel.setMaxWidth(Double.MAX_VALUE);
+		HBox.setHgrow(titleLabel, Priority.ALWAYS);
+
+		Button clearButton = new Button("Clear");
+		clearButton.setOnAction(event -> history.clear());
+		Button closeButton = new Button("Close");
+		closeButton.setOnAction(event -> close());
+
+		HBox header = new HBox(5, titleLabel, clearButton, closeButton);
+		header.setAlignment(Pos.CENTER_LEFT);
+		header.setPadding(new Insets(5));
+
+		recordList = new ListView<>();
+		recordList.setCellFactory(list -> new RecordCell());
+		recordList.setPlaceholder(new Label("No notifications"));
+
+		container.setTop(header);
+		container.setCenter(recordList);
+		container.setBackground(null);
+		container.prefWidthProperty().bind(widthProperty());
+		container.prefHeightProperty().bind(heightProperty());
+		theme.applyStylesheet(container);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Reusable record row
+	 */
+	private static final class RecordCell extends ListCell<NotificationRecord> {
+
+		/**
+		 * Title label
+		 */
+		private final Label title = new Label();
+
+		/**
+		 * Description label
+		 */
+		private final Label description = new Label();
+
+		/**
+		 * Time label
+		 */
+		private final Label time = new Label();
+
+		/**
+		 * Row layout
+		 */
+		private final VBox content = new VBox(title, description, time);
+
+		/**
+		 * Create row
+		 */
+		RecordCell() {
+			Theme theme = Theme.getCurrent();
+			title.setFont(theme.getNotificationTitleFont());
+			title.getStyleClass().add(Theme.NOTIFICATION_TITLE_CLASS);
+			description.setFont(theme.getNotificationDescriptionFont());
+			description.getStyleClass().add(Theme.NOTIFICATION_DESCRIPTION_CLASS);
+			description.setWrapText(true);
+
+			setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+		}
+
+		/**
+		 * Update row content
+		 *
+		 * @param item  Target record
+		 * @param empty Empty row state
+		 */
+		@Override
+		protected void updateItem(NotificationRecord item, boolean empty) {
+			super.updateItem(item, empty);
+
+			if (empty || item == null) {
+				setGraphic(null);
+				return;
+			}
+
+			title.setText(item.getTitle());
+			description.setText(item.getDescription());
+			description.setManaged(item.getDescription() != null);
+			description.setVisible(item.getDescription() != null);
+			time.setText(TIME_FORMAT.format(Instant.ofEpochMilli(item.getTimestamp())) + " - " + item.getPriority());
+			setGraphic(content);
+		}
+
+	}
+
+}
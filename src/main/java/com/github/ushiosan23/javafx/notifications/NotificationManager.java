@@ -0,0 +1,782 @@
+package com.github.ushiosan23.javafx.notifications;
+
+import com.github.ushiosan23.javafx.utils.ScreenGeometry;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Notification display service.
+ * Notifications are queued by priority and only a limited number of them is visible at the same
+ * time, stacked from a corner of the owner screen (bottom-right by default). When the queue is
+ * full, the notification with the lowest priority (the newest one on ties) is dropped. An optional
+ * token bucket limits how many notifications are shown per second and a summary notification
+ * ("N more...") is displayed while notifications are waiting. Clicking the summary drops all waiting notifications.
+ * Owners of pooled or tracked notifications can pass a drop callback to {@code post} to know when
+ * a notification was dropped without being shown.
+ * <p>
+ * All methods must be called in the JavaFX Application Thread.
+ */
+public final class NotificationManager {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Default queue capacity
+	 */
+	public static final int DEFAULT_CAPACITY = 100;
+
+	/**
+	 * Default number of visible notifications
+	 */
+	public static final int DEFAULT_MAX_VISIBLE = 4;
+
+	/**
+	 * Waiting notifications. First element is the next notification to show.
+	 */
+	private final TreeSet<Entry> queue = new TreeSet<>(
+		Comparator.comparing((Entry entry) -> entry.priority).reversed()
+			.thenComparingLong(entry -> entry.sequence)
+	);
+
+	/**
+	 * Visible notifications from bottom to top
+	 */
+	private final List<Entry> visible = new ArrayList<>();
+
+	/**
+	 * Notification owner
+	 */
+	private final Stage owner;
+
+	/**
+	 * Maximum number of waiting notifications
+	 */
+	private final int capacity;
+
+	/**
+	 * Maximum number of visible notifications
+	 */
+	private int maxVisible = DEFAULT_MAX_VISIBLE;
+
+	/**
+	 * Space between notifications
+	 */
+	private double gap = 10;
+
+	/**
+	 * Space between notifications and screen border
+	 */
+	private double margin = 10;
+
+	/**
+	 * Screen corner where notifications are stacked
+	 */
+	private ScreenGeometry.Corner corner = ScreenGeometry.Corner.BOTTOM_RIGHT;
+
+	/**
+	 * Token bucket refill rate (tokens per second). Zero disables rate limit.
+	 */
+	private double rate;
+
+	/**
+	 * Token bucket capacity
+	 */
+	private double burst;
+
+	/**
+	 * Available tokens
+	 */
+	private double tokens;
+
+	/**
+	 * Last token refill time
+	 */
+	private long lastRefill = System.nanoTime();
+
+	/**
+	 * Time before visible notifications are hidden or {@code null} to keep them visible
+	 */
+	private Duration timeToLive;
+
+	/**
+	 * History where posted notifications are recorded or {@code null} to disable history
+	 */
+	private NotificationHistory history;
+
+	/**
+	 * Timer used to wait for rate limit tokens
+	 */
+	private final PauseTransition rateTimer = new PauseTransition();
+
+	/**
+	 * Summary notification
+	 */
+	private final Notification summary = new Notification(null, null);
+
+	/**
+	 * Summary showing listener
+	 */
+	private final ChangeListener<Boolean> summaryListener = (observable, oldValue, showing) -> onSummaryHidden(showing);
+
+	/**
+	 * Next entry sequence number
+	 */
+	private long sequence;
+
+	/**
+	 * Number of shown notifications
+	 */
+	private long shownCount;
+
+	/**
+	 * Number of dropped notifications
+	 */
+	private long droppedCount;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create manager with custom queue capacity
+	 *
+	 * @param owner    Notification owner
+	 * @param capacity Maximum number of waiting notifications
+	 */
+	public NotificationManager(@NotNull Stage owner, int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be greater than zero.");
+
+		this.owner = owner;
+		this.capacity = capacity;
+		rateTimer.setOnFinished(event -> pump());
+	}
+
+	/**
+	 * Create manager with default queue capacity
+	 *
+	 * @param owner Notification owner
+	 */
+	public NotificationManager(@NotNull Stage owner) {
+		this(owner, DEFAULT_CAPACITY);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Add notification with normal priority
+	 *
+	 * @param notification Target notification
+	 * @return {@code true} if notification was accepted or {@code false} if it was dropped
+	 */
+	public boolean post(@NotNull INotification notification) {
+		return post(notification, Priority.NORMAL);
+	}
+
+	/**
+	 * Add notification
+	 *
+	 * @param notification Target notification
+	 * @param priority     Notification priority
+	 * @return {@code true} if notification was accepted or {@code false} if it was dropped
+	 */
+	public boolean post(@NotNull INotification notification, @NotNull Priority priority) {
+		return post(notification, priority, null);
+	}
+
+	/**
+	 * Add notification. The drop callback is called when the notification is dropped without
+	 * being shown: rejected because the queue is full, replaced by a notification with higher
+	 * priority or removed by {@link #clearPending()}.
+	 *
+	 * @param notification Target notification
+	 * @param priority     Notification priority
+	 * @param onDropped    Drop callback or {@code null} to ignore dropped notifications
+	 * @return {@code true} if notification was accepted or {@code false} if it was dropped
+	 */
+	public boolean post(
+		@NotNull INotification notification,
+		@NotNull Priority priority,
+		@Nullable Consumer<? super INotification> onDropped) {
+		checkThread();
+
+		if (history != null && notification instanceof Notification) {
+			Notification target = (Notification) notification;
+			history.record(target.getNotificationTitle(), target.getDescription(), priority);
+		}
+
+		Entry entry = new Entry(notification, priority, sequence++, onDropped);
+		if (queue.size() >= capacity) {
+			Entry lowest = queue.last();
+			if (lowest.priority.compareTo(priority) >= 0) {
+				droppedCount++;
+				reportDropped(1);
+				updateSummary();
+				layout();
+				entry.dropped();
+				return false;
+			}
+
+			queue.pollLast();
+			droppedCount++;
+			reportDropped(1);
+			lowest.dropped();
+		}
+
+		queue.add(entry);
+		pump();
+
+		NotificationMetricsListener metrics = NotificationMetrics.getListener();
+		if (metrics != null)
+			metrics.notificationPosted(priority, queue.size());
+
+		return true;
+	}
+
+	/**
+	 * Drop all waiting notifications. Visible notifications are not hidden.
+	 */
+	public void clearPending() {
+		checkThread();
+
+		List<Entry> dropped = new ArrayList<>(queue);
+		droppedCount += dropped.size();
+		reportDropped(dropped.size());
+		queue.clear();
+		reportQueueDepth();
+		updateSummary();
+		layout();
+
+		for (Entry entry : dropped) {
+			entry.dropped();
+		}
+	}
+
+	/**
+	 * Set maximum number of visible notifications
+	 *
+	 * @param maxVisible Maximum number of visible notifications
+	 */
+	public void setMaxVisible(int maxVisible) {
+		if (maxVisible < 1)
+			throw new IllegalArgumentException("Visible notifications must be greater than zero.");
+
+		this.maxVisible = maxVisible;
+		pump();
+	}
+
+	/**
+	 * Get maximum number of visible notifications
+	 *
+	 * @return Maximum number of visible notifications
+	 */
+	public int getMaxVisible() {
+		return maxVisible;
+	}
+
+	/**
+	 * Set space between notifications
+	 *
+	 * @param gap Space in pixels
+	 */
+	public void setGap(double gap) {
+		this.gap = gap;
+		layout();
+	}
+
+	/**
+	 * Get space between notifications
+	 *
+	 * @return Space in pixels
+	 */
+	public double getGap() {
+		return gap;
+	}
+
+	/**
+	 * Set space between notifications and screen border
+	 *
+	 * @param margin Space in pixels
+	 */
+	public void setMargin(double margin) {
+		this.margin = margin;
+		layout();
+	}
+
+	/**
+	 * Get space between notifications and screen border
+	 *
+	 * @return Space in pixels
+	 */
+	public double getMargin() {
+		return margin;
+	}
+
+	/**
+	 * Set screen corner where notifications are stacked.
+	 * Notifications are placed in the screen that contains the owner window.
+	 *
+	 * @param corner Target screen corner
+	 */
+	public void setCorner(@NotNull ScreenGeometry.Corner corner) {
+		this.corner = corner;
+		layout();
+	}
+
+	/**
+	 * Get screen corner where notifications are stacked
+	 *
+	 * @return {@link ScreenGeometry.Corner} notifications corner
+	 */
+	public ScreenGeometry.Corner getCorner() {
+		return corner;
+	}
+
+	/**
+	 * Limit the number of notifications shown per second
+	 *
+	 * @param perSecond Notifications per second or {@code 0} to disable the limit
+	 * @param burst     Number of notifications that can be shown at once
+	 */
+	public void setRateLimit(double perSecond, int burst) {
+		if (perSecond < 0 || burst < 1)
+			throw new IllegalArgumentException("Invalid rate limit.");
+
+		rate = perSecond;
+		this.burst = burst;
+		tokens = burst;
+		lastRefill = System.nanoTime();
+		pump();
+	}
+
+	/**
+	 * Hide visible notifications after a time. Notifications are hidden by the shared
+	 * {@link NotificationScheduler}.
+	 *
+	 * @param timeToLive Time before hide or {@code null} to keep notifications until clicked
+	 */
+	public void setTimeToLive(@Nullable Duration timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Get time before visible notifications are hidden
+	 *
+	 * @return {@link Duration} time to live or {@code null} if notifications are kept until clicked
+	 */
+	@Nullable
+	public Duration getTimeToLive() {
+		return timeToLive;
+	}
+
+	/**
+	 * Record posted notifications in a history. Only {@link Notification} instances
+	 * are recorded, dropped notifications included.
+	 *
+	 * @param history Target history or {@code null} to disable history
+	 */
+	public void setHistory(@Nullable NotificationHistory history) {
+		this.history = history;
+	}
+
+	/**
+	 * Get history where posted notifications are recorded
+	 *
+	 * @return {@link NotificationHistory} current history or {@code null} if history is disabled
+	 */
+	@Nullable
+	public NotificationHistory getHistory() {
+		return history;
+	}
+
+	/**
+	 * Get number of waiting notifications
+	 *
+	 * @return Queue depth
+	 */
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * Get number of visible notifications. Summary notification is not included.
+	 *
+	 * @return Visible notifications
+	 */
+	public int getVisibleCount() {
+		return visible.size();
+	}
+
+	/**
+	 * Get number of shown notifications
+	 *
+	 * @return Shown notifications since manager creation
+	 */
+	public long getShownCount() {
+		return shownCount;
+	}
+
+	/**
+	 * Get number of dropped notifications
+	 *
+	 * @return Dropped notifications since manager creation
+	 */
+	public long getDroppedCount() {
+		return droppedCount;
+	}
+
+	/**
+	 * Check if notification is visible or waiting in this manager
+	 *
+	 * @param notification Target notification
+	 * @return {@code true} if notification is managed or {@code false} otherwise
+	 */
+	boolean contains(@NotNull INotification notification) {
+		for (Entry entry : visible) {
+			if (entry.notification == notification) return true;
+		}
+		for (Entry entry : queue) {
+			if (entry.notification == notification) return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Called after notification content changed. Restarts the time to live of the
+	 * notification if it is visible.
+	 *
+	 * @param notification Updated notification
+	 */
+	void touch(@NotNull INotification notification) {
+		if (timeToLive == null) return;
+
+		NotificationScheduler scheduler = NotificationScheduler.getShared();
+		if (scheduler.isScheduled(notification))
+			scheduler.schedule(notification, timeToLive);
+	}
+
+	/**
+	 * Place notifications again after their size changed
+	 */
+	void refresh() {
+		layout();
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Show waiting notifications while there is space and tokens
+	 */
+	private void pump() {
+		while (!queue.isEmpty() && visible.size() < maxVisible) {
+			if (!takeToken()) {
+				scheduleRefill();
+				break;
+			}
+
+			show(queue.pollFirst());
+		}
+
+		reportQueueDepth();
+		updateSummary();
+		layout();
+	}
+
+	/**
+	 * Show notification entry
+	 *
+	 * @param entry Target entry
+	 */
+	private void show(@NotNull Entry entry) {
+		Rectangle2D bounds = ScreenGeometry.getShared().getVisualBounds(owner);
+
+		long start = System.nanoTime();
+		entry.notification.showNotify(owner, bounds.getMaxX(), bounds.getMaxY());
+		entry.shownAt = System.nanoTime();
+		entry.showingListener = (observable, oldValue, showing) -> {
+			if (!showing) onHidden(entry);
+		};
+		entry.notification.notificationShowingProperty().addListener(entry.showingListener);
+
+		visible.add(entry);
+		shownCount++;
+
+		NotificationMetricsListener metrics = NotificationMetrics.getListener();
+		if (metrics != null)
+			metrics.notificationShown(start - entry.postedAt, entry.shownAt - start, visible.size());
+
+		if (timeToLive != null)
+			NotificationScheduler.getShared().schedule(entry.notification, timeToLive);
+	}
+
+	/**
+	 * Called when a visible notification is hidden
+	 *
+	 * @param entry Hidden entry
+	 */
+	private void onHidden(@NotNull Entry entry) {
+		entry.notification.notificationShowingProperty().removeListener(entry.showingListener);
+		entry.showingListener = null;
+
+		visible.remove(entry);
+
+		NotificationMetricsListener metrics = NotificationMetrics.getListener();
+		if (metrics != null)
+			metrics.notificationHidden(System.nanoTime() - entry.shownAt, visible.size());
+
+		pump();
+	}
+
+	/**
+	 * Report dropped notifications to metrics listener
+	 *
+	 * @param count Number of dropped notifications
+	 */
+	private static void reportDropped(int count) {
+		NotificationMetricsListener metrics = NotificationMetrics.getListener();
+		if (metrics != null && count > 0)
+			metrics.notificationsDropped(count);
+	}
+
+	/**
+	 * Report current queue depth to metrics listener
+	 */
+	private void reportQueueDepth() {
+		NotificationMetricsListener metrics = NotificationMetrics.getListener();
+		if (metrics != null)
+			metrics.queueDepthChanged(queue.size());
+	}
+
+	/**
+	 * Place visible notifications from the screen corner to the screen center
+	 */
+	private void layout() {
+		Rectangle2D bounds = ScreenGeometry.getShared().getVisualBounds(owner);
+		double edge = corner.isTop() ? bounds.getMinY() + margin : bounds.getMaxY() - margin;
+
+		for (Entry entry : visible) {
+			edge = place(entry.notification, bounds, edge);
+		}
+
+		if (summary.isShowing())
+			place(summary, bounds, edge);
+	}
+
+	/**
+	 * Place notification next to the given edge position.
+	 * Top corners use the edge as notification top, bottom corners as notification bottom.
+	 *
+	 * @param notification Target notification
+	 * @param bounds       Screen bounds
+	 * @param edge         Vertical edge position
+	 * @return Edge position of the next notification
+	 */
+	private double place(@NotNull INotification notification, @NotNull Rectangle2D bounds, double edge) {
+		double width = notification.getNotificationContent().getWidth();
+		double height = notification.getNotificationContent().getHeight();
+		double x = corner.isLeft() ? bounds.getMinX() + margin : bounds.getMaxX() - width - margin;
+
+		if (corner.isTop()) {
+			notification.setNotificationPosition(x, edge);
+			return edge + height + gap;
+		}
+
+		double top = edge - height;
+		notification.setNotificationPosition(x, top);
+		return top - gap;
+	}
+
+	/**
+	 * Show, update or hide summary notification
+	 */
+	private void updateSummary() {
+		if (queue.isEmpty()) {
+			if (summary.isShowing()) {
+				summary.notificationShowingProperty().removeListener(summaryListener);
+				summary.hide();
+			}
+			return;
+		}
+
+		summary.setNotificationTitle(queue.size() + " more\u2026");
+		summary.setDescription(droppedCount > 0 ? droppedCount + " dropped" : null);
+		if (!summary.isShowing()) {
+			Rectangle2D bounds = ScreenGeometry.getShared().getVisualBounds(owner);
+			summary.showNotify(owner, bounds.getMaxX(), bounds.getMaxY());
+			summary.notificationShowingProperty().addListener(summaryListener);
+		}
+	}
+
+	/**
+	 * Called when summary visibility changes
+	 *
+	 * @param showing Summary showing state
+	 */
+	private void onSummaryHidden(boolean showing) {
+		if (showing) return;
+
+		// Summary was closed by the user
+		summary.notificationShowingProperty().removeListener(summaryListener);
+		clearPending();
+	}
+
+	/**
+	 * Take rate limit token
+	 *
+	 * @return {@code true} if notification can be shown or {@code false} otherwise
+	 */
+	private boolean takeToken() {
+		if (rate <= 0) return true;
+
+		long now = System.nanoTime();
+		tokens = Math.min(burst, tokens + (now - lastRefill) / 1e9 * rate);
+		lastRefill = now;
+
+		if (tokens < 1) return false;
+		tokens--;
+
+		return true;
+	}
+
+	/**
+	 * Wait until next token is available
+	 */
+	private void scheduleRefill() {
+		rateTimer.stop();
+		rateTimer.setDuration(Duration.seconds((1 - tokens) / rate));
+		rateTimer.playFromStart();
+	}
+
+	/**
+	 * Check current thread
+	 */
+	private static void checkThread() {
+		if (!Platform.isFxApplicationThread())
+			throw new IllegalStateException("Notifications must be posted in the JavaFX Application Thread.");
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Notification priority
+	 */
+	public enum Priority {
+		/**
+		 * Low priority. First notifications to be dropped.
+		 */
+		LOW,
+		/**
+		 * Default priority
+		 */
+		NORMAL,
+		/**
+		 * High priority
+		 */
+		HIGH,
+		/**
+		 * Critical priority. Shown before any other notification.
+		 */
+		CRITICAL
+	}
+
+	/**
+	 * Queued notification
+	 */
+	private static final class Entry {
+
+		/**
+		 * Target notification
+		 */
+		final INotification notification;
+
+		/**
+		 * Notification priority
+		 */
+		final Priority priority;
+
+		/**
+		 * Post order
+		 */
+		final long sequence;
+
+		/**
+		 * Post time in nanoseconds
+		 */
+		final long postedAt = System.nanoTime();
+
+		/**
+		 * Show time in nanoseconds
+		 */
+		long shownAt;
+
+		/**
+		 * Drop callback or {@code null}
+		 */
+		final Consumer<? super INotification> onDropped;
+
+		/**
+		 * Showing listener while notification is visible
+		 */
+		ChangeListener<Boolean> showingListener;
+
+		/**
+		 * Create entry
+		 *
+		 * @param notification Target notification
+		 * @param priority     Notification priority
+		 * @param sequence     Post order
+		 * @param onDropped    Drop callback
+		 */
+		Entry(
+			@NotNull INotification notification,
+			@NotNull Priority priority,
+			long sequence,
+			@Nullable Consumer<? super INotification> onDropped) {
+			this.notification = notification;
+			this.priority = priority;
+			this.sequence = sequence;
+			this.onDropped = onDropped;
+		}
+
+		/**
+		 * Notify owner that notification was dropped without being shown
+		 */
+		void dropped() {
+			if (onDropped != null)
+				onDropped.accept(notification);
+		}
+
+	}
+
+}
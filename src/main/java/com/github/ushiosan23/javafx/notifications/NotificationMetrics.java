@@ -0,0 +1,56 @@
+package com.github.ushiosan23.javafx.notifications;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Optional metrics hook of the notifications package.
+ * No metrics are collected while no listener is registered.
+ *
+ * @see NotificationMetricsListener
+ * @see JmxNotificationMetrics
+ */
+public final class NotificationMetrics {
+
+	/**
+	 * This class cannot be instantiated
+	 */
+	private NotificationMetrics() {
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Current listener
+	 */
+	private static volatile NotificationMetricsListener listener;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Set metrics listener
+	 *
+	 * @param listener Target listener or {@code null} to disable metrics
+	 */
+	public static void setListener(@Nullable NotificationMetricsListener listener) {
+		NotificationMetrics.listener = listener;
+	}
+
+	/**
+	 * Get metrics listener
+	 *
+	 * @return {@link NotificationMetricsListener} current listener or {@code null} if metrics are disabled
+	 */
+	@Nullable
+	public static NotificationMetricsListener getListener() {
+		return listener;
+	}
+
+}
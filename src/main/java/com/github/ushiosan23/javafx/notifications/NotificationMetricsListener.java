@@ -0,0 +1,63 @@
+package com.github.ushiosan23.javafx.notifications;
+
+/**
+ * Receives notification metrics.
+ * Register a listener with {@link NotificationMetrics#setListener(NotificationMetricsListener)}.
+ * All methods are called in the JavaFX Application Thread and must return quickly.
+ * Durations are reported in nanoseconds.
+ */
+public interface NotificationMetricsListener {
+
+	/**
+	 * Called after a {@link Notification} initialized its components
+	 *
+	 * @param initializeNanos Time spent initializing components
+	 */
+	default void notificationCreated(long initializeNanos) {
+	}
+
+	/**
+	 * Called when a notification is accepted by a {@link NotificationManager}
+	 *
+	 * @param priority   Notification priority
+	 * @param queueDepth Waiting notifications after post
+	 */
+	default void notificationPosted(NotificationManager.Priority priority, int queueDepth) {
+	}
+
+	/**
+	 * Called when the number of waiting notifications of a {@link NotificationManager} changes
+	 *
+	 * @param queueDepth Waiting notifications
+	 */
+	default void queueDepthChanged(int queueDepth) {
+	}
+
+	/**
+	 * Called when notifications are dropped by a {@link NotificationManager}
+	 *
+	 * @param count Number of dropped notifications
+	 */
+	default void notificationsDropped(int count) {
+	}
+
+	/**
+	 * Called when a managed notification is shown
+	 *
+	 * @param waitNanos Time between post and show
+	 * @param showNanos Time spent in {@link INotification#showNotify(javafx.stage.Stage, double, double)}
+	 * @param visible   Visible notifications after show
+	 */
+	default void notificationShown(long waitNanos, long showNanos, int visible) {
+	}
+
+	/**
+	 * Called when a managed notification is hidden
+	 *
+	 * @param visibleNanos Time between show and hide
+	 * @param visible      Visible notifications after hide
+	 */
+	default void notificationHidden(long visibleNanos, int visible) {
+	}
+
+}
@@ -0,0 +1,226 @@
+package com.github.ushiosan23.javafx.notifications;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.stage.WindowEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Pool of reusable {@link Notification} popups.
+ * Notifications are acquired from the pool, configured with new information and returned
+ * automatically when they are hidden. A notification must not be used after it was hidden,
+ * because the pool can give it to other caller.
+ * <p>
+ * All methods must be called in the JavaFX Application Thread.
+ */
+public final class NotificationPool {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Default pool size
+	 */
+	public static final int DEFAULT_MAX_SIZE = 16;
+
+	/**
+	 * Available notifications
+	 */
+	private final ArrayDeque<Notification> available = new ArrayDeque<>();
+
+	/**
+	 * Notifications created by this pool and currently in use
+	 */
+	private final Set<Notification> acquired = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * Maximum number of available notifications
+	 */
+	private final int maxSize;
+
+	/**
+	 * Number of created notifications
+	 */
+	private long createdCount;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create pool with custom size
+	 *
+	 * @param maxSize Maximum number of available notifications
+	 */
+	public NotificationPool(int maxSize) {
+		if (maxSize < 1)
+			throw new IllegalArgumentException("Pool size must be greater than zero.");
+
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Create pool with default size
+	 */
+	public NotificationPool() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create notifications before they are needed
+	 *
+	 * @param count Number of notifications to create. Limited by pool size.
+	 */
+	public void warmUp(int count) {
+		checkThread();
+
+		while (available.size() < Math.min(count, maxSize)) {
+			available.push(create());
+		}
+	}
+
+	/**
+	 * Get notification from pool
+	 *
+	 * @param title       Notification title
+	 * @param description Notification description
+	 * @param icon        Notification icon
+	 * @return {@link Notification} configured notification
+	 */
+	public Notification acquire(
+		@Nullable CharSequence title,
+		@Nullable CharSequence description,
+		@Nullable Image icon) {
+		checkThread();
+
+		Notification notification = available.poll();
+		if (notification == null)
+			notification = create();
+
+		notification.setNotificationTitle(title);
+		notification.setDescription(description);
+		if (icon == null)
+			notification.clearIcon();
+		else
+			notification.setIcon(icon);
+
+		acquired.add(notification);
+		return notification;
+	}
+
+	/**
+	 * Get notification from pool
+	 *
+	 * @param title       Notification title
+	 * @param description Notification description
+	 * @return {@link Notification} configured notification
+	 */
+	public Notification acquire(@Nullable CharSequence title, @Nullable CharSequence description) {
+		return acquire(title, description, null);
+	}
+
+	/**
+	 * Return notification to pool. Only needed for notifications that were never shown,
+	 * shown notifications are returned when hidden. Notifications posted to a
+	 * {@link NotificationManager} can be returned with the drop callback of
+	 * {@link NotificationManager#post(INotification, NotificationManager.Priority, java.util.function.Consumer)}.
+	 *
+	 * @param notification Target notification
+	 */
+	public void release(@NotNull Notification notification) {
+		checkThread();
+
+		if (notification.isShowing()) {
+			// Returned by hidden event
+			notification.hide();
+			return;
+		}
+		if (!acquired.remove(notification)) return;
+
+		// Release resources held by content
+		notification.clearIcon();
+		if (available.size() < maxSize)
+			available.push(notification);
+	}
+
+	/**
+	 * Get number of available notifications
+	 *
+	 * @return Available notifications
+	 */
+	public int getAvailableCount() {
+		return available.size();
+	}
+
+	/**
+	 * Get number of notifications in use
+	 *
+	 * @return Acquired notifications
+	 */
+	public int getAcquiredCount() {
+		return acquired.size();
+	}
+
+	/**
+	 * Get number of notifications created by this pool
+	 *
+	 * @return Created notifications
+	 */
+	public long getCreatedCount() {
+		return createdCount;
+	}
+
+	/**
+	 * Get maximum number of available notifications
+	 *
+	 * @return Pool size
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create pooled notification
+	 *
+	 * @return {@link Notification} new notification
+	 */
+	private Notification create() {
+		Notification notification = new Notification(null, null);
+		notification.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> release(notification));
+
+		createdCount++;
+		return notification;
+	}
+
+	/**
+	 * Check current thread
+	 */
+	private static void checkThread() {
+		if (!Platform.isFxApplicationThread())
+			throw new IllegalStateException("Notification pool must be used in the JavaFX Application Thread.");
+	}
+
+}
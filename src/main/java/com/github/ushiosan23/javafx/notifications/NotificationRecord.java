@@ -0,0 +1,121 @@
+package com.github.ushiosan23.javafx.notifications;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable information of a posted notification stored in {@link NotificationHistory}
+ */
+public final class NotificationRecord {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Notification title
+	 */
+	private final String title;
+
+	/**
+	 * Notification description
+	 */
+	private final String description;
+
+	/**
+	 * Notification priority
+	 */
+	private final NotificationManager.Priority priority;
+
+	/**
+	 * Post time in milliseconds since epoch
+	 */
+	private final long timestamp;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create record
+	 *
+	 * @param title       Notification title
+	 * @param description Notification description
+	 * @param priority    Notification priority
+	 * @param timestamp   Post time in milliseconds since epoch
+	 */
+	public NotificationRecord(
+		@Nullable String title,
+		@Nullable String description,
+		@NotNull NotificationManager.Priority priority,
+		long timestamp) {
+		this.title = title;
+		this.description = description;
+		this.priority = priority;
+		this.timestamp = timestamp;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Get notification title
+	 *
+	 * @return {@link String} title or {@code null}
+	 */
+	@Nullable
+	public String getTitle() {
+		return title;
+	}
+
+	/**
+	 * Get notification description
+	 *
+	 * @return {@link String} description or {@code null}
+	 */
+	@Nullable
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * Get notification priority
+	 *
+	 * @return {@link NotificationManager.Priority} priority
+	 */
+	public NotificationManager.Priority getPriority() {
+		return priority;
+	}
+
+	/**
+	 * Get post time
+	 *
+	 * @return Milliseconds since epoch
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Get string representation
+	 *
+	 * @return {@link String} record information
+	 */
+	@Override
+	public String toString() {
+		return "NotificationRecord{" +
+			"title='" + title + '\'' +
+			", description='" + description + '\'' +
+			", priority=" + priority +
+			", timestamp=" + timestamp +
+			'}';
+	}
+
+}
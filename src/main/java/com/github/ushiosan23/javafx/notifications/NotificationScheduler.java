@@ -0,0 +1,541 @@
+package com.github.ushiosan23.javafx.notifications;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.event.EventHandler;
+import javafx.scene.input.MouseEvent;
+import javafx.util.Duration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timed notification dismissal.
+ * Countdowns of all scheduled notifications share a single timed wake-up for the earliest
+ * expiry, so nothing runs while notifications wait. When the time to live expires, the
+ * notification fades out and is hidden. A single {@link AnimationTimer} animates the fades and
+ * only runs while a notification is fading. The countdown is paused while the mouse is over the
+ * notification.
+ * <p>
+ * All methods must be called in the JavaFX Application Thread.
+ */
+public final class NotificationScheduler {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Default time to live
+	 */
+	public static final Duration DEFAULT_TIME_TO_LIVE = Duration.seconds(5);
+
+	/**
+	 * Default fade duration
+	 */
+	public static final Duration DEFAULT_FADE_DURATION = Duration.millis(300);
+
+	/**
+	 * Shared scheduler
+	 */
+	private static NotificationScheduler shared;
+
+	/**
+	 * Scheduled notifications
+	 */
+	private final Map<INotification, Entry> entries = new IdentityHashMap<>();
+
+	/**
+	 * Fade timer
+	 */
+	private final AnimationTimer fadeTimer = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			fade();
+		}
+	};
+
+	/**
+	 * Expiry delivery
+	 */
+	private final PulseDrain expiry = new PulseDrain(this::expire);
+
+	/**
+	 * Wake-up executor. Created when the first notification is scheduled.
+	 */
+	private ScheduledExecutorService executor;
+
+	/**
+	 * Pending wake-up or {@code null}
+	 */
+	private ScheduledFuture<?> wakeUp;
+
+	/**
+	 * Pending wake-up time in nanoseconds
+	 */
+	private long wakeUpAt = Long.MAX_VALUE;
+
+	/**
+	 * Fade duration in nanoseconds
+	 */
+	private long fadeNanos = toNanos(DEFAULT_FADE_DURATION);
+
+	/**
+	 * Pause countdown while mouse is over notification
+	 */
+	private boolean pauseOnHover = true;
+
+	/**
+	 * Fade timer running state
+	 */
+	private boolean fading;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create scheduler
+	 */
+	public NotificationScheduler() {
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Get shared scheduler
+	 *
+	 * @return {@link NotificationScheduler} shared instance
+	 */
+	public static NotificationScheduler getShared() {
+		checkThread();
+		if (shared == null)
+			shared = new NotificationScheduler();
+
+		return shared;
+	}
+
+	/**
+	 * Hide notification after the default time to live
+	 *
+	 * @param notification Target notification. Must be already shown.
+	 */
+	public void schedule(@NotNull INotification notification) {
+		schedule(notification, DEFAULT_TIME_TO_LIVE);
+	}
+
+	/**
+	 * Hide notification after a custom time to live.
+	 * If notification is already scheduled, the countdown starts again.
+	 *
+	 * @param notification Target notification. Must be already shown.
+	 * @param timeToLive   Time before the fade starts
+	 */
+	public void schedule(@NotNull INotification notification, @NotNull Duration timeToLive) {
+		checkThread();
+		cancel(notification);
+
+		Entry entry = new Entry(notification);
+		entries.put(notification, entry);
+		entry.attach();
+
+		long now = System.nanoTime();
+		entry.deadline = now + toNanos(timeToLive);
+		if (pauseOnHover && entry.hovered)
+			entry.pause(now);
+
+		update();
+	}
+
+	/**
+	 * Cancel notification dismissal. The notification stays visible.
+	 *
+	 * @param notification Target notification
+	 */
+	public void cancel(@NotNull INotification notification) {
+		checkThread();
+
+		Entry entry = entries.remove(notification);
+		if (entry == null) return;
+
+		entry.detach();
+		notification.setNotificationOpacity(1);
+		update();
+	}
+
+	/**
+	 * Check if notification is scheduled
+	 *
+	 * @param notification Target notification
+	 * @return {@code true} if notification is scheduled or {@code false} otherwise
+	 */
+	public boolean isScheduled(@NotNull INotification notification) {
+		return entries.containsKey(notification);
+	}
+
+	/**
+	 * Get number of scheduled notifications
+	 *
+	 * @return Scheduled notifications
+	 */
+	public int getScheduledCount() {
+		return entries.size();
+	}
+
+	/**
+	 * Check if a notification is fading. The fade timer only runs while this is {@code true}.
+	 *
+	 * @return {@code true} if fade timer is running or {@code false} otherwise
+	 */
+	public boolean isFading() {
+		return fading;
+	}
+
+	/**
+	 * Set fade duration
+	 *
+	 * @param fadeDuration Fade duration or {@link Duration#ZERO} to hide without animation
+	 */
+	public void setFadeDuration(@NotNull Duration fadeDuration) {
+		fadeNanos = toNanos(fadeDuration);
+	}
+
+	/**
+	 * Get fade duration
+	 *
+	 * @return {@link Duration} fade duration
+	 */
+	public Duration getFadeDuration() {
+		return Duration.millis(fadeNanos / 1e6);
+	}
+
+	/**
+	 * Set pause on hover state
+	 *
+	 * @param pauseOnHover Pause countdown while mouse is over notification
+	 */
+	public void setPauseOnHover(boolean pauseOnHover) {
+		checkThread();
+		if (this.pauseOnHover == pauseOnHover) return;
+		this.pauseOnHover = pauseOnHover;
+
+		long now = System.nanoTime();
+		for (Entry entry : entries.values()) {
+			if (!entry.hovered) continue;
+
+			if (pauseOnHover)
+				entry.pause(now);
+			else
+				entry.resume(now);
+		}
+		update();
+	}
+
+	/**
+	 * Get pause on hover state
+	 *
+	 * @return {@code true} if countdown is paused on hover or {@code false} otherwise
+	 */
+	public boolean isPauseOnHover() {
+		return pauseOnHover;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Called when mouse enters or exits a notification
+	 *
+	 * @param entry   Target entry
+	 * @param hovered Mouse over notification state
+	 */
+	private void hover(@NotNull Entry entry, boolean hovered) {
+		entry.hovered = hovered;
+		if (!pauseOnHover) return;
+
+		long now = System.nanoTime();
+		if (hovered)
+			entry.pause(now);
+		else
+			entry.resume(now);
+		update();
+	}
+
+	/**
+	 * Start fade of expired notifications. Called in the JavaFX Application Thread
+	 * when the wake-up time is reached.
+	 */
+	private void expire() {
+		wakeUp = null;
+		wakeUpAt = Long.MAX_VALUE;
+
+		long now = System.nanoTime();
+		List<Entry> expired = null;
+		for (Entry entry : entries.values()) {
+			if (entry.paused || entry.fadeStart >= 0 || entry.deadline > now) continue;
+
+			if (fadeNanos > 0) {
+				entry.fadeStart = now;
+				continue;
+			}
+
+			if (expired == null) expired = new ArrayList<>();
+			expired.add(entry);
+		}
+
+		hideAll(expired);
+		update();
+	}
+
+	/**
+	 * Update fading notifications. Called on every frame while the fade timer runs.
+	 */
+	private void fade() {
+		long now = System.nanoTime();
+		List<Entry> expired = null;
+		for (Entry entry : entries.values()) {
+			if (entry.paused || entry.fadeStart < 0) continue;
+
+			long elapsed = now - entry.fadeStart;
+			if (elapsed < fadeNanos) {
+				entry.notification.setNotificationOpacity(1 - elapsed / (double) fadeNanos);
+				continue;
+			}
+
+			if (expired == null) expired = new ArrayList<>();
+			expired.add(entry);
+		}
+
+		hideAll(expired);
+		if (expired != null) update();
+	}
+
+	/**
+	 * Hide expired notifications
+	 *
+	 * @param expired Expired entries or {@code null}
+	 */
+	private void hideAll(@Nullable List<Entry> expired) {
+		if (expired == null) return;
+
+		for (Entry entry : expired) {
+			entries.remove(entry.notification);
+			entry.detach();
+			entry.notification.hide();
+			entry.notification.setNotificationOpacity(1);
+		}
+	}
+
+	/**
+	 * Run the fade timer only while a notification is fading and move the wake-up
+	 * to the earliest countdown expiry
+	 */
+	private void update() {
+		long next = Long.MAX_VALUE;
+		boolean fade = false;
+		for (Entry entry : entries.values()) {
+			if (entry.paused) continue;
+
+			if (entry.fadeStart >= 0)
+				fade = true;
+			else
+				next = Math.min(next, entry.deadline);
+		}
+
+		if (fade != fading) {
+			fading = fade;
+			if (fade)
+				fadeTimer.start();
+			else
+				fadeTimer.stop();
+		}
+
+		if (next == wakeUpAt) return;
+		if (wakeUp != null)
+			wakeUp.cancel(false);
+
+		wakeUp = null;
+		wakeUpAt = next;
+		if (next == Long.MAX_VALUE) return;
+
+		if (executor == null)
+			executor = createExecutor();
+		wakeUp = executor.schedule(expiry::request, Math.max(0, next - System.nanoTime()), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Convert duration to nanoseconds
+	 *
+	 * @param duration Target duration
+	 * @return Duration in nanoseconds
+	 */
+	private static long toNanos(@NotNull Duration duration) {
+		return Math.max(0, (long) (duration.toMillis() * 1e6));
+	}
+
+	/**
+	 * Create wake-up executor with a daemon thread
+	 *
+	 * @return {@link ScheduledExecutorService} executor result
+	 */
+	private static ScheduledExecutorService createExecutor() {
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "notification-scheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.setRemoveOnCancelPolicy(true);
+		executor.setKeepAliveTime(30, TimeUnit.SECONDS);
+		executor.allowCoreThreadTimeOut(true);
+
+		return executor;
+	}
+
+	/**
+	 * Check current thread
+	 */
+	private static void checkThread() {
+		if (!Platform.isFxApplicationThread())
+			throw new IllegalStateException("Notifications must be scheduled in the JavaFX Application Thread.");
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Scheduled notification
+	 */
+	private final class Entry {
+
+		/**
+		 * Target notification
+		 */
+		final INotification notification;
+
+		/**
+		 * Fade start time in nanoseconds while counting down
+		 */
+		long deadline;
+
+		/**
+		 * Remaining time before fade in nanoseconds while paused
+		 */
+		long remaining;
+
+		/**
+		 * Fade start time in nanoseconds or {@code -1} if notification is not fading
+		 */
+		long fadeStart = -1;
+
+		/**
+		 * Countdown paused state
+		 */
+		boolean paused;
+
+		/**
+		 * Mouse over notification state
+		 */
+		boolean hovered;
+
+		/**
+		 * Mouse entered handler
+		 */
+		private final EventHandler<MouseEvent> enteredHandler = event -> hover(this, true);
+
+		/**
+		 * Mouse exited handler
+		 */
+		private final EventHandler<MouseEvent> exitedHandler = event -> hover(this, false);
+
+		/**
+		 * Cancel schedule when notification is hidden by other source
+		 */
+		private final ChangeListener<Boolean> showingListener;
+
+		/**
+		 * Create entry
+		 *
+		 * @param notification Target notification
+		 */
+		Entry(@NotNull INotification notification) {
+			this.notification = notification;
+			showingListener = (observable, oldValue, showing) -> {
+				if (!showing) cancel(notification);
+			};
+		}
+
+		/**
+		 * Pause countdown. A running fade is stopped and starts again when the countdown resumes.
+		 *
+		 * @param now Current time in nanoseconds
+		 */
+		void pause(long now) {
+			if (paused) return;
+
+			paused = true;
+			if (fadeStart >= 0) {
+				fadeStart = -1;
+				remaining = 0;
+				notification.setNotificationOpacity(1);
+			} else {
+				remaining = Math.max(0, deadline - now);
+			}
+		}
+
+		/**
+		 * Resume countdown
+		 *
+		 * @param now Current time in nanoseconds
+		 */
+		void resume(long now) {
+			if (!paused) return;
+
+			paused = false;
+			deadline = now + remaining;
+		}
+
+		/**
+		 * Attach notification listeners
+		 */
+		void attach() {
+			notification.getNotificationContent().addEventHandler(MouseEvent.MOUSE_ENTERED, enteredHandler);
+			notification.getNotificationContent().addEventHandler(MouseEvent.MOUSE_EXITED, exitedHandler);
+			notification.notificationShowingProperty().addListener(showingListener);
+			hovered = notification.getNotificationContent().isHover();
+		}
+
+		/**
+		 * Detach notification listeners
+		 */
+		void detach() {
+			notification.getNotificationContent().removeEventHandler(MouseEvent.MOUSE_ENTERED, enteredHandler);
+			notification.getNotificationContent().removeEventHandler(MouseEvent.MOUSE_EXITED, exitedHandler);
+			notification.notificationShowingProperty().removeListener(showingListener);
+		}
+
+	}
+
+}
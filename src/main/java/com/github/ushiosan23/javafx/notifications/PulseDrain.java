@@ -0,0 +1,69 @@
+package com.github.ushiosan23.javafx.notifications;
+
+import javafx.application.Platform;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a drain task in the JavaFX Application Thread at most once per pending request.
+ * Any number of {@link #request()} calls from any thread before the task runs are merged
+ * into a single {@link Platform#runLater(Runnable)} call.
+ */
+final class PulseDrain {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Drain requested state
+	 */
+	private final AtomicBoolean requested = new AtomicBoolean();
+
+	/**
+	 * Task executed in the JavaFX Application Thread
+	 */
+	private final Runnable task;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create drain
+	 *
+	 * @param task Task executed in the JavaFX Application Thread
+	 */
+	PulseDrain(@NotNull Runnable task) {
+		this.task = task;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Request task execution. Can be called from any thread.
+	 */
+	void request() {
+		if (requested.compareAndSet(false, true))
+			Platform.runLater(this::run);
+	}
+
+	/**
+	 * Run task. The flag is cleared before the task starts, so items added while the
+	 * task runs request a new execution.
+	 */
+	private void run() {
+		requested.set(false);
+		task.run();
+	}
+
+}
@@ -1,18 +1,33 @@
 package com.github.ushiosan23.javafx.system;
 
 import com.github.ushiosan23.javafx.utils.AWTImageUtils;
+import com.github.ushiosan23.javafx.utils.ImageConverter;
 import javafx.application.Platform;
-import javafx.embed.swing.SwingFXUtils;
 import javafx.scene.image.Image;
+import javafx.util.Duration;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * System tray icon used to display icon in system bar.
@@ -26,11 +41,101 @@ public class TrayIconFX {
 	 *
 	 * --------------------------------------------------------- */
 
+	/**
+	 * Maximum number of converted images kept in cache
+	 */
+	public static final int IMAGE_CACHE_SIZE = 16;
+
+	/**
+	 * Converted tray images. Shared by all tray icons.
+	 */
+	private static final Map<ImageKey, java.awt.Image> imageCache = new LinkedHashMap<>(IMAGE_CACHE_SIZE, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ImageKey, java.awt.Image> eldest) {
+			return size() > IMAGE_CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * Maximum number of rendered badges kept in cache
+	 */
+	public static final int BADGE_CACHE_SIZE = 8;
+
+	/**
+	 * Minimum time between animation frames in milliseconds
+	 */
+	public static final int MIN_FRAME_DELAY = 50;
+
+	/**
+	 * Frame delay used when a GIF frame has no delay
+	 */
+	private static final int DEFAULT_GIF_DELAY = 100;
+
+	/**
+	 * Rendered badges by count and tray size. Shared by all tray icons.
+	 */
+	private static final Map<BadgeKey, BufferedImage> badgeCache = new LinkedHashMap<>(BADGE_CACHE_SIZE, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<BadgeKey, BufferedImage> eldest) {
+			return size() > BADGE_CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * Static tray images with badge by image and badge number. Shared by all tray icons.
+	 */
+	private static final Map<ComposedKey, java.awt.Image> composedCache = new LinkedHashMap<>(IMAGE_CACHE_SIZE, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ComposedKey, java.awt.Image> eldest) {
+			return size() > IMAGE_CACHE_SIZE;
+		}
+	};
+
 	/**
 	 * Native system tray icon
 	 */
 	private TrayIcon nativeTray;
 
+	/**
+	 * Static tray image without badge
+	 */
+	private java.awt.Image baseImage;
+
+	/**
+	 * Current animation or {@code null} if icon is static
+	 */
+	private Animation animation;
+
+	/**
+	 * Animation frames with badge applied
+	 */
+	private java.awt.Image[] renderedFrames;
+
+	/**
+	 * Current animation frame
+	 */
+	private int frameIndex;
+
+	/**
+	 * Animation timer. Runs in the AWT event dispatching thread.
+	 */
+	private final Timer animationTimer = new Timer(DEFAULT_GIF_DELAY, event -> nextFrame());
+
+	/**
+	 * Badge count or {@code 0} if badge is hidden
+	 */
+	private int badgeCount;
+
+	/**
+	 * Tray attached state
+	 */
+	private boolean attached;
+
+	/**
+	 * Changes waiting to be applied in the AWT event dispatching thread or {@code null}
+	 */
+	private Update pendingUpdate;
+
 	/**
 	 * Default system tray instance
 	 */
@@ -56,11 +161,10 @@ public class TrayIconFX {
 		// Don't close application if last window is closed
 		Platform.setImplicitExit(false);
 		// Configure tray image
-		java.awt.Image trayImg = convertImage(image);
-		trayImg = AWTImageUtils.scaleImageToTray(trayImg);
+		baseImage = getTrayImage(image);
 		// Configure properties
 		defaultSystemTray = SystemTray.getSystemTray();
-		nativeTray = new TrayIcon(trayImg);
+		nativeTray = new TrayIcon(baseImage);
 		// Configure tray icon
 		if (tooltip != null)
 			nativeTray.setToolTip(tooltip);
@@ -119,9 +223,97 @@ public class TrayIconFX {
 	 * @param image Javafx image
 	 */
 	public void setImage(Image image) {
-		java.awt.Image awtImg = convertImage(image);
-		awtImg = AWTImageUtils.scaleImageToTray(awtImg);
-		nativeTray.setImage(awtImg);
+		applyImage(getTrayImage(image));
+	}
+
+	/**
+	 * Create batched update. All changes are applied together in a single task in the
+	 * AWT event dispatching thread, changes of several updates applied before that task
+	 * runs are merged.
+	 *
+	 * @return {@link Update} new empty update
+	 */
+	public Update update() {
+		return new Update();
+	}
+
+	/**
+	 * Animate tray icon. All frames are converted and scaled to tray size once.
+	 *
+	 * @param frames        Animation frames
+	 * @param frameDuration Time each frame is displayed
+	 */
+	public void setAnimation(@NotNull List<Image> frames, @NotNull Duration frameDuration) {
+		if (frames.isEmpty())
+			throw new IllegalArgumentException("Animation must have at least one frame.");
+
+		java.awt.Image[] trayFrames = new java.awt.Image[frames.size()];
+		int[] delays = new int[frames.size()];
+		for (int i = 0; i < trayFrames.length; i++) {
+			trayFrames[i] = AWTImageUtils.scaleImageToTray(convertImage(frames.get(i)));
+			delays[i] = (int) frameDuration.toMillis();
+		}
+
+		setAnimation(new Animation(trayFrames, delays));
+	}
+
+	/**
+	 * Animate tray icon with a GIF image. All frames are composed and scaled to tray size once.
+	 *
+	 * @param gif GIF image stream. The stream is not closed.
+	 * @throws IOException Error if image cannot be read
+	 */
+	public void setAnimation(@NotNull InputStream gif) throws IOException {
+		setAnimation(readGif(gif, SystemTray.getSystemTray().getTrayIconSize()));
+	}
+
+	/**
+	 * Stop animation and display the last static image
+	 */
+	public synchronized void stopAnimation() {
+		if (animation == null) return;
+
+		stopAnimationTimer();
+		animation = null;
+		renderedFrames = null;
+		nativeTray.setImage(render(baseImage));
+	}
+
+	/**
+	 * Check if tray icon is animated
+	 *
+	 * @return {@code true} if an animation is set or {@code false} otherwise
+	 */
+	public synchronized boolean isAnimated() {
+		return animation != null;
+	}
+
+	/**
+	 * Display a numeric badge over the tray icon
+	 *
+	 * @param count Badge number or {@code 0} to hide the badge
+	 */
+	public synchronized void setBadge(int count) {
+		int value = Math.max(0, count);
+		if (value == badgeCount) return;
+
+		badgeCount = value;
+		if (animation == null) {
+			nativeTray.setImage(render(baseImage));
+			return;
+		}
+
+		renderFrames();
+		nativeTray.setImage(renderedFrames[frameIndex]);
+	}
+
+	/**
+	 * Get badge number
+	 *
+	 * @return Badge number or {@code 0} if badge is hidden
+	 */
+	public synchronized int getBadge() {
+		return badgeCount;
 	}
 
 	/**
@@ -132,7 +324,7 @@ public class TrayIconFX {
 	public Image getImage() {
 		java.awt.Image awtImg = nativeTray.getImage();
 
-		return SwingFXUtils.toFXImage(AWTImageUtils.getBufferedImage(awtImg), null);
+		return ImageConverter.toFXImage(AWTImageUtils.getBufferedImage(awtImg));
 	}
 
 	/**
@@ -237,22 +429,51 @@ public class TrayIconFX {
 
 	/**
 	 * Attach tray icon to system
+	 *
+	 * @return {@link CompletableFuture} completed when the icon is visible or completed
+	 * exceptionally with the error if the icon cannot be added
 	 */
-	public void attachToSystem() {
+	public CompletableFuture<Void> attachToSystem() {
+		CompletableFuture<Void> result = new CompletableFuture<>();
 		// Attach tray to system tray (In Java Swing Thread)
 		runLater(() -> {
 			try {
 				defaultSystemTray.add(nativeTray);
-			} catch (AWTException ignored) {
+			} catch (AWTException | RuntimeException e) {
+				result.completeExceptionally(e);
+				return;
 			}
+			synchronized (this) {
+				attached = true;
+				startAnimationTimer();
+			}
+			result.complete(null);
 		});
+
+		return result;
 	}
 
 	/**
 	 * Remove tray icon from system
+	 *
+	 * @return {@link CompletableFuture} completed when the icon is removed
 	 */
-	public void detachToSystem() {
-		runLater(() -> defaultSystemTray.remove(nativeTray));
+	public CompletableFuture<Void> detachToSystem() {
+		CompletableFuture<Void> result = new CompletableFuture<>();
+		runLater(() -> {
+			try {
+				synchronized (this) {
+					attached = false;
+					stopAnimationTimer();
+				}
+				defaultSystemTray.remove(nativeTray);
+				result.complete(null);
+			} catch (RuntimeException e) {
+				result.completeExceptionally(e);
+			}
+		});
+
+		return result;
 	}
 
 	/* ---------------------------------------------------------
@@ -270,12 +491,375 @@ public class TrayIconFX {
 		return SystemTray.isSupported();
 	}
 
+	/**
+	 * Remove all converted tray images and images with badge from cache
+	 */
+	public static void clearImageCache() {
+		synchronized (imageCache) {
+			imageCache.clear();
+		}
+		synchronized (composedCache) {
+			composedCache.clear();
+		}
+	}
+
 	/* ---------------------------------------------------------
 	 *
 	 * Internal methods
 	 *
 	 * --------------------------------------------------------- */
 
+	/**
+	 * Get converted and scaled tray image. Images are cached by instance and tray size,
+	 * so switching between the same icons does not convert them again.
+	 *
+	 * @param image Target image to convert
+	 * @return {@link java.awt.Image} Tray image
+	 */
+	private static java.awt.Image getTrayImage(@NotNull Image image) {
+		return getTrayImage(image, SystemTray.getSystemTray().getTrayIconSize());
+	}
+
+	/**
+	 * Get converted image scaled to target size. Images are cached by instance and size.
+	 *
+	 * @param image Target image to convert
+	 * @param size  Target size
+	 * @return {@link java.awt.Image} Scaled image
+	 */
+	static java.awt.Image getTrayImage(@NotNull Image image, @NotNull Dimension size) {
+		ImageKey key = new ImageKey(image, size);
+		synchronized (imageCache) {
+			java.awt.Image cached = imageCache.get(key);
+			if (cached != null) return cached;
+		}
+
+		java.awt.Image trayImg = AWTImageUtils.scaleImage(convertImage(image), size.width, size.height);
+		synchronized (imageCache) {
+			imageCache.put(key, trayImg);
+		}
+
+		return trayImg;
+	}
+
+	/**
+	 * Display static tray image
+	 *
+	 * @param trayImg Tray size image
+	 */
+	private synchronized void applyImage(@NotNull java.awt.Image trayImg) {
+		stopAnimationTimer();
+		animation = null;
+		renderedFrames = null;
+		baseImage = trayImg;
+		nativeTray.setImage(render(baseImage));
+	}
+
+	/**
+	 * Merge update with pending changes and schedule a task if there is no pending task
+	 *
+	 * @param update Target update
+	 */
+	private void enqueue(@NotNull Update update) {
+		synchronized (this) {
+			if (pendingUpdate != null) {
+				pendingUpdate.merge(update);
+				return;
+			}
+			pendingUpdate = update;
+		}
+
+		runLater(this::flushUpdate);
+	}
+
+	/**
+	 * Apply pending changes. Called in the AWT event dispatching thread.
+	 */
+	private void flushUpdate() {
+		Update update;
+		synchronized (this) {
+			update = pendingUpdate;
+			pendingUpdate = null;
+		}
+		if (update == null) return;
+
+		try {
+			if (update.hasImage)
+				applyImage(update.image);
+			if (update.hasToolTip)
+				nativeTray.setToolTip(update.toolTip);
+			if (update.hasPopupMenu)
+				nativeTray.setPopupMenu(update.popupMenu);
+		} catch (RuntimeException e) {
+			update.complete(e);
+			return;
+		}
+
+		update.complete(null);
+	}
+
+	/**
+	 * Set current animation
+	 *
+	 * @param animation Target animation
+	 */
+	private synchronized void setAnimation(@NotNull Animation animation) {
+		stopAnimationTimer();
+		this.animation = animation;
+		frameIndex = 0;
+		renderFrames();
+		nativeTray.setImage(renderedFrames[0]);
+		startAnimationTimer();
+	}
+
+	/**
+	 * Display next animation frame. Called by animation timer.
+	 */
+	private synchronized void nextFrame() {
+		if (animation == null) return;
+
+		frameIndex = (frameIndex + 1) % renderedFrames.length;
+		nativeTray.setImage(renderedFrames[frameIndex]);
+		animationTimer.setDelay(animation.delays[frameIndex]);
+	}
+
+	/**
+	 * Start animation timer if tray is attached and animated
+	 */
+	private void startAnimationTimer() {
+		if (!attached || animation == null || animation.frames.length < 2) return;
+
+		animationTimer.setInitialDelay(animation.delays[frameIndex]);
+		animationTimer.setDelay(animation.delays[frameIndex]);
+		animationTimer.restart();
+	}
+
+	/**
+	 * Stop animation timer
+	 */
+	private void stopAnimationTimer() {
+		animationTimer.stop();
+	}
+
+	/**
+	 * Apply badge to all animation frames. Frames are rendered once per badge change and
+	 * are not cached, so they do not evict static images.
+	 */
+	private void renderFrames() {
+		renderedFrames = new java.awt.Image[animation.frames.length];
+		for (int i = 0; i < renderedFrames.length; i++) {
+			renderedFrames[i] = compose(animation.frames[i], badgeCount);
+		}
+	}
+
+	/**
+	 * Apply current badge to static image
+	 *
+	 * @param image Tray image
+	 * @return {@link java.awt.Image} Image with badge or the same image if badge is hidden
+	 */
+	private java.awt.Image render(@NotNull java.awt.Image image) {
+		return getComposed(image, badgeCount);
+	}
+
+	/**
+	 * Get image with badge. Images are cached by instance and badge text, so displaying
+	 * the same image and badge again does not compose a new image.
+	 *
+	 * @param image Tray image
+	 * @param count Badge number or {@code 0} if badge is hidden
+	 * @return {@link java.awt.Image} Image with badge or the same image if badge is hidden
+	 */
+	static java.awt.Image getComposed(@NotNull java.awt.Image image, int count) {
+		if (count <= 0) return image;
+
+		ComposedKey key = new ComposedKey(image, count);
+		synchronized (composedCache) {
+			java.awt.Image cached = composedCache.get(key);
+			if (cached != null) return cached;
+		}
+
+		java.awt.Image result = compose(image, count);
+		if (result == image) return image;
+
+		synchronized (composedCache) {
+			composedCache.put(key, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Draw badge over image
+	 *
+	 * @param image Tray image
+	 * @param count Badge number or {@code 0} if badge is hidden
+	 * @return {@link java.awt.Image} New image with badge or the same image if badge is hidden
+	 */
+	static java.awt.Image compose(@NotNull java.awt.Image image, int count) {
+		if (count <= 0) return image;
+
+		int width = image.getWidth(null);
+		int height = image.getHeight(null);
+		if (width <= 0 || height <= 0) return image;
+
+		BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+		Graphics2D g2 = result.createGraphics();
+		g2.drawImage(image, 0, 0, null);
+		g2.drawImage(getBadge(count, width, height), 0, 0, null);
+		g2.dispose();
+
+		return result;
+	}
+
+	/**
+	 * Get rendered badge
+	 *
+	 * @param count  Badge number
+	 * @param width  Tray icon width
+	 * @param height Tray icon height
+	 * @return {@link BufferedImage} transparent image with the badge in the bottom-right corner
+	 */
+	private static BufferedImage getBadge(int count, int width, int height) {
+		BadgeKey key = new BadgeKey(count, width, height);
+		synchronized (badgeCache) {
+			BufferedImage cached = badgeCache.get(key);
+			if (cached != null) return cached;
+		}
+
+		String text = count > 99 ? "99+" : String.valueOf(count);
+		BufferedImage badge = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+		Graphics2D g2 = badge.createGraphics();
+		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+		int badgeHeight = Math.max(8, Math.round(height * 0.6f));
+		g2.setFont(new Font(Font.SANS_SERIF, Font.BOLD, Math.max(6, Math.round(badgeHeight * 0.75f))));
+		FontMetrics metrics = g2.getFontMetrics();
+		int badgeWidth = Math.min(width, Math.max(badgeHeight, metrics.stringWidth(text) + badgeHeight / 2));
+		int x = width - badgeWidth;
+		int y = height - badgeHeight;
+
+		g2.setColor(new Color(0xE53935));
+		g2.fillRoundRect(x, y, badgeWidth, badgeHeight, badgeHeight, badgeHeight);
+		g2.setColor(Color.WHITE);
+		g2.drawString(
+			text,
+			x + (badgeWidth - metrics.stringWidth(text)) / 2,
+			y + (badgeHeight - metrics.getHeight()) / 2 + metrics.getAscent()
+		);
+		g2.dispose();
+
+		synchronized (badgeCache) {
+			badgeCache.put(key, badge);
+		}
+
+		return badge;
+	}
+
+	/**
+	 * Read GIF frames. Partial frames are composed over the previous frames as described
+	 * by their disposal method.
+	 *
+	 * @param gif  GIF image stream
+	 * @param size Frame size
+	 * @return {@link Animation} scaled frames
+	 * @throws IOException Error if image cannot be read
+	 */
+	static Animation readGif(@NotNull InputStream gif, @NotNull Dimension size) throws IOException {
+		Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("gif");
+		if (!readers.hasNext())
+			throw new IOException("GIF images are not supported.");
+
+		ImageReader reader = readers.next();
+		try (ImageInputStream input = ImageIO.createImageInputStream(gif)) {
+			reader.setInput(input, false);
+
+			int count = reader.getNumImages(true);
+			if (count < 1)
+				throw new IOException("GIF image has no frames.");
+
+			java.awt.Image[] frames = new java.awt.Image[count];
+			int[] delays = new int[count];
+			BufferedImage canvas = createCanvas(reader);
+
+			for (int i = 0; i < count; i++) {
+				BufferedImage frame = reader.read(i);
+				IIOMetadataNode root = (IIOMetadataNode) reader.getImageMetadata(i)
+					.getAsTree("javax_imageio_gif_image_1.0");
+				IIOMetadataNode descriptor = (IIOMetadataNode) root.getElementsByTagName("ImageDescriptor").item(0);
+				IIOMetadataNode control = (IIOMetadataNode) root.getElementsByTagName("GraphicControlExtension").item(0);
+				int left = descriptor == null ? 0 : Integer.parseInt(descriptor.getAttribute("imageLeftPosition"));
+				int top = descriptor == null ? 0 : Integer.parseInt(descriptor.getAttribute("imageTopPosition"));
+				String disposal = control == null ? "none" : control.getAttribute("disposalMethod");
+				int delay = control == null ? 0 : Integer.parseInt(control.getAttribute("delayTime")) * 10;
+
+				if (canvas == null)
+					canvas = new BufferedImage(frame.getWidth() + left, frame.getHeight() + top, BufferedImage.TYPE_INT_ARGB_PRE);
+
+				BufferedImage previous = "restoreToPrevious".equals(disposal) ? copy(canvas) : null;
+				Graphics2D g2 = canvas.createGraphics();
+				g2.drawImage(frame, left, top, null);
+				g2.dispose();
+
+				frames[i] = AWTImageUtils.scaleImage(canvas, size.width, size.height);
+				delays[i] = delay <= 10 ? DEFAULT_GIF_DELAY : Math.max(MIN_FRAME_DELAY, delay);
+
+				if (previous != null) {
+					canvas = previous;
+				} else if ("restoreToBackgroundColor".equals(disposal)) {
+					Graphics2D clear = canvas.createGraphics();
+					clear.setComposite(AlphaComposite.Clear);
+					clear.fillRect(left, top, frame.getWidth(), frame.getHeight());
+					clear.dispose();
+				}
+			}
+
+			return new Animation(frames, delays);
+		} finally {
+			reader.dispose();
+		}
+	}
+
+	/**
+	 * Create GIF canvas with the logical screen size
+	 *
+	 * @param reader GIF reader
+	 * @return {@link BufferedImage} transparent canvas or {@code null} if size is not defined
+	 * @throws IOException Error if metadata cannot be read
+	 */
+	@Nullable
+	private static BufferedImage createCanvas(@NotNull ImageReader reader) throws IOException {
+		IIOMetadata metadata = reader.getStreamMetadata();
+		if (metadata == null) return null;
+
+		IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree("javax_imageio_gif_stream_1.0");
+		IIOMetadataNode screen = (IIOMetadataNode) root.getElementsByTagName("LogicalScreenDescriptor").item(0);
+		if (screen == null) return null;
+
+		int width = Integer.parseInt(screen.getAttribute("logicalScreenWidth"));
+		int height = Integer.parseInt(screen.getAttribute("logicalScreenHeight"));
+		if (width < 1 || height < 1) return null;
+
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+	}
+
+	/**
+	 * Copy image
+	 *
+	 * @param image Source image
+	 * @return {@link BufferedImage} image copy
+	 */
+	private static BufferedImage copy(@NotNull BufferedImage image) {
+		BufferedImage result = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
+		Graphics2D g2 = result.createGraphics();
+		g2.setComposite(AlphaComposite.Src);
+		g2.drawImage(image, 0, 0, null);
+		g2.dispose();
+
+		return result;
+	}
+
 	/**
 	 * Convert javafx image to awt image
 	 *
@@ -283,7 +867,7 @@ public class TrayIconFX {
 	 * @return {@link java.awt.Image} Converted image
 	 */
 	private static java.awt.Image convertImage(Image image) {
-		return SwingFXUtils.fromFXImage(image, null);
+		return ImageConverter.toBufferedImage(image);
 	}
 
 	/**
@@ -295,4 +879,337 @@ public class TrayIconFX {
 		SwingUtilities.invokeLater(runnable);
 	}
 
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Batched tray icon changes.
+	 * Changes are applied in the AWT event dispatching thread when {@link #apply()} is called.
+	 */
+	public final class Update {
+
+		/**
+		 * Futures completed when changes are applied. Merged updates share the same task.
+		 */
+		private final List<CompletableFuture<Void>> results = new ArrayList<>(1);
+
+		/**
+		 * Image changed state
+		 */
+		private boolean hasImage;
+
+		/**
+		 * Tray size image
+		 */
+		private java.awt.Image image;
+
+		/**
+		 * Tooltip changed state
+		 */
+		private boolean hasToolTip;
+
+		/**
+		 * Tooltip message
+		 */
+		private String toolTip;
+
+		/**
+		 * Popup menu changed state
+		 */
+		private boolean hasPopupMenu;
+
+		/**
+		 * Popup menu
+		 */
+		private PopupMenu popupMenu;
+
+		/**
+		 * Applied state
+		 */
+		private boolean applied;
+
+		/**
+		 * Create empty update
+		 */
+		private Update() {
+		}
+
+		/**
+		 * Change tray image. The image is converted and scaled in the calling thread.
+		 *
+		 * @param image Javafx image
+		 * @return {@link Update} this update
+		 */
+		public Update image(@NotNull Image image) {
+			checkNotApplied();
+			this.image = getTrayImage(image);
+			hasImage = true;
+			return this;
+		}
+
+		/**
+		 * Change tray tooltip
+		 *
+		 * @param toolTip Target message tooltip or {@code null} to remove it
+		 * @return {@link Update} this update
+		 */
+		public Update toolTip(@Nullable String toolTip) {
+			checkNotApplied();
+			this.toolTip = toolTip;
+			hasToolTip = true;
+			return this;
+		}
+
+		/**
+		 * Change tray popup menu
+		 *
+		 * @param popupMenu Target popup menu or {@code null} to remove it
+		 * @return {@link Update} this update
+		 */
+		public Update popupMenu(@Nullable PopupMenu popupMenu) {
+			checkNotApplied();
+			this.popupMenu = popupMenu;
+			hasPopupMenu = true;
+			return this;
+		}
+
+		/**
+		 * Apply changes. Can be called from any thread.
+		 *
+		 * @return {@link CompletableFuture} completed when changes are visible or completed
+		 * exceptionally with the error if changes cannot be applied
+		 */
+		public CompletableFuture<Void> apply() {
+			checkNotApplied();
+			applied = true;
+
+			CompletableFuture<Void> result = new CompletableFuture<>();
+			results.add(result);
+			enqueue(this);
+			return result;
+		}
+
+		/**
+		 * Merge newer changes into this update. Called with tray lock.
+		 *
+		 * @param other Newer update
+		 */
+		private void merge(@NotNull Update other) {
+			if (other.hasImage) {
+				image = other.image;
+				hasImage = true;
+			}
+			if (other.hasToolTip) {
+				toolTip = other.toolTip;
+				hasToolTip = true;
+			}
+			if (other.hasPopupMenu) {
+				popupMenu = other.popupMenu;
+				hasPopupMenu = true;
+			}
+			results.addAll(other.results);
+		}
+
+		/**
+		 * Complete all futures of this update
+		 *
+		 * @param error Error or {@code null} if changes were applied
+		 */
+		private void complete(@Nullable Throwable error) {
+			for (CompletableFuture<Void> result : results) {
+				if (error == null)
+					result.complete(null);
+				else
+					result.completeExceptionally(error);
+			}
+		}
+
+		/**
+		 * Check update state
+		 */
+		private void checkNotApplied() {
+			if (applied)
+				throw new IllegalStateException("Update was already applied.");
+		}
+
+	}
+
+	/**
+	 * Tray size animation frames
+	 */
+	static final class Animation {
+
+		/**
+		 * Frames without badge
+		 */
+		final java.awt.Image[] frames;
+
+		/**
+		 * Frame delays in milliseconds
+		 */
+		final int[] delays;
+
+		/**
+		 * Create animation
+		 *
+		 * @param frames Frames without badge
+		 * @param delays Frame delays in milliseconds
+		 */
+		Animation(java.awt.Image[] frames, int[] delays) {
+			this.frames = frames;
+			this.delays = delays;
+			for (int i = 0; i < delays.length; i++) {
+				this.delays[i] = Math.max(MIN_FRAME_DELAY, delays[i]);
+			}
+		}
+
+	}
+
+	/**
+	 * Rendered badge cache key
+	 */
+	private static final class BadgeKey {
+
+		/**
+		 * Badge number
+		 */
+		private final int count;
+
+		/**
+		 * Tray icon width
+		 */
+		private final int width;
+
+		/**
+		 * Tray icon height
+		 */
+		private final int height;
+
+		/**
+		 * Create key
+		 *
+		 * @param count  Badge number
+		 * @param width  Tray icon width
+		 * @param height Tray icon height
+		 */
+		BadgeKey(int count, int width, int height) {
+			// Badges over 99 are rendered with the same text
+			this.count = Math.min(count, 100);
+			this.width = width;
+			this.height = height;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof BadgeKey)) return false;
+
+			BadgeKey other = (BadgeKey) obj;
+			return count == other.count && width == other.width && height == other.height;
+		}
+
+		@Override
+		public int hashCode() {
+			return (count * 31 + width) * 31 + height;
+		}
+
+	}
+
+	/**
+	 * Tray image cache key. Images are compared by identity and only weakly referenced, so
+	 * cached tray images do not keep their sources reachable. Keys of collected images match
+	 * nothing and are evicted by newer images.
+	 */
+	private static final class ImageKey {
+
+		/**
+		 * Source image
+		 */
+		private final WeakReference<Image> image;
+
+		/**
+		 * Identity hash of source image
+		 */
+		private final int hash;
+
+		/**
+		 * Tray icon size
+		 */
+		private final Dimension size;
+
+		/**
+		 * Create key
+		 *
+		 * @param image Source image
+		 * @param size  Tray icon size
+		 */
+		ImageKey(@NotNull Image image, @NotNull Dimension size) {
+			this.image = new WeakReference<>(image);
+			this.size = size;
+			hash = System.identityHashCode(image);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof ImageKey)) return false;
+
+			ImageKey other = (ImageKey) obj;
+			Image current = image.get();
+			return current != null && current == other.image.get() && size.equals(other.size);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * hash + size.hashCode();
+		}
+
+	}
+
+	/**
+	 * Image with badge cache key. Images are compared by identity.
+	 */
+	private static final class ComposedKey {
+
+		/**
+		 * Image without badge
+		 */
+		private final java.awt.Image image;
+
+		/**
+		 * Badge number
+		 */
+		private final int count;
+
+		/**
+		 * Create key
+		 *
+		 * @param image Image without badge
+		 * @param count Badge number
+		 */
+		ComposedKey(@NotNull java.awt.Image image, int count) {
+			this.image = image;
+			// Badges over 99 are rendered with the same text
+			this.count = Math.min(count, 100);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof ComposedKey)) return false;
+
+			ComposedKey other = (ComposedKey) obj;
+			return image == other.image && count == other.count;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(image) + count;
+		}
+
+	}
+
 }
@@ -0,0 +1,331 @@
+package com.github.ushiosan23.javafx.theme;
+
+import javafx.geometry.Insets;
+import javafx.scene.Parent;
+import javafx.scene.effect.Effect;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Shared style resources used by library controls.
+ * Fonts, insets and effects are created once and reused by every control, so creating
+ * many controls does not look up fonts again. A theme can also have a stylesheet that is
+ * added to the controls created with it; stylesheet rules override the theme resources.
+ * <p>
+ * Theme changes only apply to controls created after the change.
+ */
+public final class Theme {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constants
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Notification container style class
+	 */
+	public static final String NOTIFICATION_CLASS = "notification";
+
+	/**
+	 * Notification title style class
+	 */
+	public static final String NOTIFICATION_TITLE_CLASS = "notification-title";
+
+	/**
+	 * Notification description style class
+	 */
+	public static final String NOTIFICATION_DESCRIPTION_CLASS = "notification-description";
+
+	/**
+	 * Exception dialog message style class
+	 */
+	public static final String EXCEPTION_MESSAGE_CLASS = "exception-message";
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Current theme
+	 */
+	private static volatile Theme current;
+
+	/**
+	 * Theme stylesheet or {@code null} if not exists
+	 */
+	private final String stylesheet;
+
+	/**
+	 * Notification title font
+	 */
+	private Font notificationTitleFont = Font.font("Arial", FontWeight.BOLD, 18);
+
+	/**
+	 * Notification description font
+	 */
+	private Font notificationDescriptionFont = Font.font("Arial", 14);
+
+	/**
+	 * Notification title padding
+	 */
+	private Insets notificationTitlePadding = new Insets(10, 10, 5, 20);
+
+	/**
+	 * Notification description padding
+	 */
+	private Insets notificationDescriptionPadding = new Insets(5, 10, 10, 20);
+
+	/**
+	 * Notification icon padding
+	 */
+	private Insets notificationIconPadding = new Insets(5);
+
+	/**
+	 * Notification window background
+	 */
+	private Paint notificationFill = Color.WHITE;
+
+	/**
+	 * Exception dialog message font
+	 */
+	private Font dialogMessageFont = Font.font("Arial", 16);
+
+	/**
+	 * Picture card effect
+	 */
+	private Effect cardEffect = new DropShadow();
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create theme with stylesheet
+	 *
+	 * @param stylesheet Stylesheet url or {@code null} to use only theme resources
+	 */
+	public Theme(@Nullable String stylesheet) {
+		this.stylesheet = stylesheet;
+	}
+
+	/**
+	 * Create theme with default resources
+	 */
+	public Theme() {
+		this(null);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Static methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Get current theme. A default theme is created the first time.
+	 *
+	 * @return {@link Theme} current theme
+	 */
+	public static Theme getCurrent() {
+		Theme theme = current;
+		if (theme == null) {
+			synchronized (Theme.class) {
+				if (current == null) current = new Theme();
+				theme = current;
+			}
+		}
+
+		return theme;
+	}
+
+	/**
+	 * Change current theme
+	 *
+	 * @param theme Target theme or {@code null} to use default theme
+	 */
+	public static void setCurrent(@Nullable Theme theme) {
+		current = theme;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Add theme stylesheet to node
+	 *
+	 * @param node Target node
+	 */
+	public void applyStylesheet(@NotNull Parent node) {
+		if (stylesheet != null && !node.getStylesheets().contains(stylesheet))
+			node.getStylesheets().add(stylesheet);
+	}
+
+	/**
+	 * Get theme stylesheet
+	 *
+	 * @return Stylesheet url or {@code null} if not exists
+	 */
+	@Nullable
+	public String getStylesheet() {
+		return stylesheet;
+	}
+
+	/**
+	 * Get notification title font
+	 *
+	 * @return {@link Font} title font
+	 */
+	public Font getNotificationTitleFont() {
+		return notificationTitleFont;
+	}
+
+	/**
+	 * Set notification title font
+	 *
+	 * @param font Target font
+	 */
+	public void setNotificationTitleFont(@NotNull Font font) {
+		notificationTitleFont = font;
+	}
+
+	/**
+	 * Get notification description font
+	 *
+	 * @return {@link Font} description font
+	 */
+	public Font getNotificationDescriptionFont() {
+		return notificationDescriptionFont;
+	}
+
+	/**
+	 * Set notification description font
+	 *
+	 * @param font Target font
+	 */
+	public void setNotificationDescriptionFont(@NotNull Font font) {
+		notificationDescriptionFont = font;
+	}
+
+	/**
+	 * Get notification title padding
+	 *
+	 * @return {@link Insets} title padding
+	 */
+	public Insets getNotificationTitlePadding() {
+		return notificationTitlePadding;
+	}
+
+	/**
+	 * Set notification title padding
+	 *
+	 * @param padding Target padding
+	 */
+	public void setNotificationTitlePadding(@NotNull Insets padding) {
+		notificationTitlePadding = padding;
+	}
+
+	/**
+	 * Get notification description padding
+	 *
+	 * @return {@link Insets} description padding
+	 */
+	public Insets getNotificationDescriptionPadding() {
+		return notificationDescriptionPadding;
+	}
+
+	/**
+	 * Set notification description padding
+	 *
+	 * @param padding Target padding
+	 */
+	public void setNotificationDescriptionPadding(@NotNull Insets padding) {
+		notificationDescriptionPadding = padding;
+	}
+
+	/**
+	 * Get notification icon padding
+	 *
+	 * @return {@link Insets} icon padding
+	 */
+	public Insets getNotificationIconPadding() {
+		return notificationIconPadding;
+	}
+
+	/**
+	 * Set notification icon padding
+	 *
+	 * @param padding Target padding
+	 */
+	public void setNotificationIconPadding(@NotNull Insets padding) {
+		notificationIconPadding = padding;
+	}
+
+	/**
+	 * Get notification window background
+	 *
+	 * @return {@link Paint} window background
+	 */
+	public Paint getNotificationFill() {
+		return notificationFill;
+	}
+
+	/**
+	 * Set notification window background
+	 *
+	 * @param fill Target background
+	 */
+	public void setNotificationFill(@NotNull Paint fill) {
+		notificationFill = fill;
+	}
+
+	/**
+	 * Get exception dialog message font
+	 *
+	 * @return {@link Font} message font
+	 */
+	public Font getDialogMessageFont() {
+		return dialogMessageFont;
+	}
+
+	/**
+	 * Set exception dialog message font
+	 *
+	 * @param font Target font
+	 */
+	public void setDialogMessageFont(@NotNull Font font) {
+		dialogMessageFont = font;
+	}
+
+	/**
+	 * Get picture card effect. The same effect instance is shared by all cards.
+	 *
+	 * @return {@link Effect} card effect or {@code null} if cards have no effect
+	 */
+	@Nullable
+	public Effect getCardEffect() {
+		return cardEffect;
+	}
+
+	/**
+	 * Set picture card effect
+	 *
+	 * @param effect Target effect or {@code null} to create cards without effect
+	 */
+	public void setCardEffect(@Nullable Effect effect) {
+		cardEffect = effect;
+	}
+
+}
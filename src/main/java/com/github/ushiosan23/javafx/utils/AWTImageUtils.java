@@ -30,6 +30,7 @@ public final class AWTImageUtils {
 
 	/**
 	 * Scales the given image to a custom resolution.
+	 * AWT filter hints are mapped to {@link ImageScaler.Quality} presets.
 	 *
 	 * @param image     Target image to transform
 	 * @param newWidth  New image width
@@ -38,7 +39,24 @@ public final class AWTImageUtils {
 	 * @return {@link Image} Image with changes applied
 	 */
 	public static Image scaleImage(Image image, int newWidth, int newHeight, int filter) {
-		return image.getScaledInstance(newWidth, newHeight, filter);
+		return scaleImage(image, newWidth, newHeight, qualityOf(filter));
+	}
+
+	/**
+	 * Scales the given image to a custom resolution.
+	 *
+	 * @param image     Target image to transform
+	 * @param newWidth  New image width
+	 * @param newHeight New image height
+	 * @param quality   Scaling quality
+	 * @return {@link Image} Image with changes applied. A {@link BufferedImage} if the source image is loaded.
+	 */
+	public static Image scaleImage(Image image, int newWidth, int newHeight, ImageScaler.Quality quality) {
+		// Images still loading have no size, let AWT scale them when they are ready
+		if (!(image instanceof BufferedImage) && (image.getWidth(null) < 0 || image.getHeight(null) < 0))
+			return image.getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
+
+		return ImageScaler.scale(getBufferedImage(image), newWidth, newHeight, quality);
 	}
 
 	/**
@@ -94,4 +112,25 @@ public final class AWTImageUtils {
 		return resultImage;
 	}
 
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Get scaling quality of an AWT filter hint
+	 *
+	 * @param filter AWT filter hint
+	 * @return {@link ImageScaler.Quality} equivalent quality
+	 */
+	private static ImageScaler.Quality qualityOf(int filter) {
+		if ((filter & (Image.SCALE_SMOOTH | Image.SCALE_AREA_AVERAGING)) != 0)
+			return ImageScaler.Quality.QUALITY;
+		if ((filter & (Image.SCALE_FAST | Image.SCALE_REPLICATE)) != 0)
+			return ImageScaler.Quality.SPEED;
+
+		return ImageScaler.Quality.BALANCED;
+	}
+
 }
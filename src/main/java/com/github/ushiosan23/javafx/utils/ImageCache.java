@@ -0,0 +1,526 @@
+package com.github.ushiosan23.javafx.utils;
+
+import javafx.scene.image.Image;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * Decoded image cache.
+ * Images are kept in a bounded LRU map. When an image is evicted it is kept only by soft reference,
+ * so it can be reused until the garbage collector needs the memory.
+ * All methods are thread safe.
+ */
+public final class ImageCache {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Default maximum number of strong entries
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 512;
+
+	/**
+	 * Default maximum weight in bytes (32 MB of decoded pixels)
+	 */
+	public static final long DEFAULT_MAX_WEIGHT = 32L * 1024L * 1024L;
+
+	/**
+	 * Process shared cache
+	 */
+	private static final ImageCache SHARED = new ImageCache(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_WEIGHT);
+
+	/**
+	 * Strong entries in access order
+	 */
+	private final LinkedHashMap<Key, Image> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Evicted entries
+	 */
+	private final Map<Key, SoftEntry> softEntries = new HashMap<>();
+
+	/**
+	 * Queue with soft entries collected by the garbage collector
+	 */
+	private final ReferenceQueue<Image> collectedQueue = new ReferenceQueue<>();
+
+	/**
+	 * Maximum number of strong entries
+	 */
+	private final int maxEntries;
+
+	/**
+	 * Maximum weight of strong entries
+	 */
+	private final long maxWeight;
+
+	/**
+	 * Current weight of strong entries
+	 */
+	private long weight;
+
+	/**
+	 * Hit counter
+	 */
+	private long hitCount;
+
+	/**
+	 * Soft reference hit counter
+	 */
+	private long softHitCount;
+
+	/**
+	 * Miss counter
+	 */
+	private long missCount;
+
+	/**
+	 * Eviction counter
+	 */
+	private long evictionCount;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create cache with custom limits
+	 *
+	 * @param maxEntries Maximum number of strong entries
+	 * @param maxWeight  Maximum weight in bytes of strong entries
+	 */
+	public ImageCache(int maxEntries, long maxWeight) {
+		if (maxEntries <= 0 || maxWeight <= 0)
+			throw new IllegalArgumentException("Cache limits must be greater than zero.");
+
+		this.maxEntries = maxEntries;
+		this.maxWeight = maxWeight;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Get cached image
+	 *
+	 * @param key Target image key
+	 * @return {@link Image} cached image or {@code null} if image is not cached
+	 */
+	@Nullable
+	public synchronized Image get(@NotNull Key key) {
+		Image image = entries.get(key);
+		if (image != null) {
+			hitCount++;
+			return image;
+		}
+
+		expungeCollected();
+		SoftEntry softEntry = softEntries.remove(key);
+		image = softEntry == null ? null : softEntry.get();
+		if (image != null) {
+			hitCount++;
+			softHitCount++;
+			store(key, image);
+			return image;
+		}
+
+		missCount++;
+		return null;
+	}
+
+	/**
+	 * Get cached image or load it if not exists
+	 *
+	 * @param key    Target image key
+	 * @param loader Image loader. Only called if image is not cached.
+	 * @return {@link Image} cached image
+	 * @throws Exception Error if image loader fails
+	 */
+	public Image get(@NotNull Key key, @NotNull Callable<Image> loader) throws Exception {
+		Image image = get(key);
+		if (image != null) return image;
+
+		// Load image without lock. Decoding can be slow.
+		image = Objects.requireNonNull(loader.call(), "Image loader returns null.");
+		return putIfAbsent(key, image);
+	}
+
+	/**
+	 * Save image in cache
+	 *
+	 * @param key   Target image key
+	 * @param image Image to save
+	 */
+	public synchronized void put(@NotNull Key key, @NotNull Image image) {
+		Image last = entries.remove(key);
+		if (last != null) weight -= weightOf(last);
+		softEntries.remove(key);
+		store(key, image);
+	}
+
+	/**
+	 * Save image only if key is not cached
+	 *
+	 * @param key   Target image key
+	 * @param image Image to save
+	 * @return {@link Image} current cached image
+	 */
+	public synchronized Image putIfAbsent(@NotNull Key key, @NotNull Image image) {
+		Image current = entries.get(key);
+		if (current != null) return current;
+
+		put(key, image);
+		return image;
+	}
+
+	/**
+	 * Remove image from cache
+	 *
+	 * @param key Target image key
+	 */
+	public synchronized void invalidate(@NotNull Key key) {
+		Image image = entries.remove(key);
+		if (image != null) weight -= weightOf(image);
+		softEntries.remove(key);
+	}
+
+	/**
+	 * Remove all images from cache. Statistics are not reset.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		softEntries.clear();
+		weight = 0;
+		expungeCollected();
+	}
+
+	/**
+	 * Get number of strong entries
+	 *
+	 * @return Entries count
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Get current weight of strong entries
+	 *
+	 * @return Weight in bytes
+	 */
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Get cache statistics
+	 *
+	 * @return {@link Statistics} statistics snapshot
+	 */
+	public synchronized Statistics getStatistics() {
+		return new Statistics(hitCount, softHitCount, missCount, evictionCount);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Static methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Get process shared cache
+	 *
+	 * @return {@link ImageCache} shared cache
+	 */
+	public static ImageCache getShared() {
+		return SHARED;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Save strong entry and evict the oldest entries if limits are exceeded.
+	 * Must be called with lock.
+	 *
+	 * @param key   Target image key
+	 * @param image Image to save
+	 */
+	private void store(@NotNull Key key, @NotNull Image image) {
+		entries.put(key, image);
+		weight += weightOf(image);
+
+		Iterator<Map.Entry<Key, Image>> iterator = entries.entrySet().iterator();
+		while ((entries.size() > maxEntries || weight > maxWeight) && entries.size() > 1) {
+			Map.Entry<Key, Image> eldest = iterator.next();
+			iterator.remove();
+
+			weight -= weightOf(eldest.getValue());
+			softEntries.put(eldest.getKey(), new SoftEntry(eldest.getKey(), eldest.getValue(), collectedQueue));
+			evictionCount++;
+		}
+	}
+
+	/**
+	 * Remove soft entries collected by the garbage collector.
+	 * Must be called with lock.
+	 */
+	private void expungeCollected() {
+		SoftEntry collected;
+		while ((collected = (SoftEntry) collectedQueue.poll()) != null) {
+			if (softEntries.get(collected.key) == collected)
+				softEntries.remove(collected.key);
+		}
+	}
+
+	/**
+	 * Calculate image weight
+	 *
+	 * @param image Target image
+	 * @return Image weight in bytes
+	 */
+	private static long weightOf(@NotNull Image image) {
+		long pixels = (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight());
+		return Math.max(1L, pixels * 4L);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Cache key. Images are identified by source and requested size.
+	 */
+	public static final class Key {
+
+		/**
+		 * Image source
+		 */
+		private final Object source;
+
+		/**
+		 * Requested width or {@code 0} for native size
+		 */
+		private final double width;
+
+		/**
+		 * Requested height or {@code 0} for native size
+		 */
+		private final double height;
+
+		/**
+		 * Create image key
+		 *
+		 * @param source Image source (resolved location or any object with valid {@code equals})
+		 * @param width  Requested width or {@code 0} for native size
+		 * @param height Requested height or {@code 0} for native size
+		 */
+		public Key(@NotNull Object source, double width, double height) {
+			this.source = source;
+			this.width = width;
+			this.height = height;
+		}
+
+		/**
+		 * Create native size image key
+		 *
+		 * @param source Image source
+		 */
+		public Key(@NotNull Object source) {
+			this(source, 0, 0);
+		}
+
+		/**
+		 * Get image source
+		 *
+		 * @return Image source
+		 */
+		public Object getSource() {
+			return source;
+		}
+
+		/**
+		 * Get requested width
+		 *
+		 * @return Requested width or {@code 0} for native size
+		 */
+		public double getWidth() {
+			return width;
+		}
+
+		/**
+		 * Get requested height
+		 *
+		 * @return Requested height or {@code 0} for native size
+		 */
+		public double getHeight() {
+			return height;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof Key)) return false;
+
+			Key other = (Key) obj;
+			return Double.compare(width, other.width) == 0 &&
+				Double.compare(height, other.height) == 0 &&
+				source.equals(other.source);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(source, width, height);
+		}
+
+		@Override
+		public String toString() {
+			return "Key[" + source + ", " + width + "x" + height + "]";
+		}
+
+	}
+
+	/**
+	 * Cache statistics snapshot
+	 */
+	public static final class Statistics {
+
+		/**
+		 * Hit counter
+		 */
+		private final long hitCount;
+
+		/**
+		 * Soft reference hit counter
+		 */
+		private final long softHitCount;
+
+		/**
+		 * Miss counter
+		 */
+		private final long missCount;
+
+		/**
+		 * Eviction counter
+		 */
+		private final long evictionCount;
+
+		/**
+		 * Create statistics snapshot
+		 *
+		 * @param hitCount      Hit counter
+		 * @param softHitCount  Soft reference hit counter
+		 * @param missCount     Miss counter
+		 * @param evictionCount Eviction counter
+		 */
+		private Statistics(long hitCount, long softHitCount, long missCount, long evictionCount) {
+			this.hitCount = hitCount;
+			this.softHitCount = softHitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+		}
+
+		/**
+		 * Get number of hits (including soft reference hits)
+		 *
+		 * @return Hit counter
+		 */
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		/**
+		 * Get number of hits recovered from soft references
+		 *
+		 * @return Soft hit counter
+		 */
+		public long getSoftHitCount() {
+			return softHitCount;
+		}
+
+		/**
+		 * Get number of misses
+		 *
+		 * @return Miss counter
+		 */
+		public long getMissCount() {
+			return missCount;
+		}
+
+		/**
+		 * Get number of evicted entries
+		 *
+		 * @return Eviction counter
+		 */
+		public long getEvictionCount() {
+			return evictionCount;
+		}
+
+		/**
+		 * Get hit rate
+		 *
+		 * @return Hit rate between {@code 0} and {@code 1}
+		 */
+		public double getHitRate() {
+			long total = hitCount + missCount;
+			return total == 0 ? 0 : (double) hitCount / total;
+		}
+
+		@Override
+		public String toString() {
+			return "Statistics[hits=" + hitCount +
+				", softHits=" + softHitCount +
+				", misses=" + missCount +
+				", evictions=" + evictionCount + "]";
+		}
+
+	}
+
+	/**
+	 * Soft reference with cache key
+	 */
+	private static final class SoftEntry extends SoftReference<Image> {
+
+		/**
+		 * Entry key
+		 */
+		private final Key key;
+
+		/**
+		 * Create soft entry
+		 *
+		 * @param key   Entry key
+		 * @param image Referenced image
+		 * @param queue Collected queue
+		 */
+		SoftEntry(Key key, Image image, ReferenceQueue<Image> queue) {
+			super(image, queue);
+			this.key = key;
+		}
+
+	}
+
+}
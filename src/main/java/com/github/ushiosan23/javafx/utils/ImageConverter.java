@@ -0,0 +1,173 @@
+package com.github.ushiosan23.javafx.utils;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.nio.IntBuffer;
+
+/**
+ * Pixel conversion between JavaFX and AWT images.
+ * Pixels are copied in a single bulk pass between the JavaFX pixel buffers and the
+ * {@link DataBufferInt} of integer AWT images. Destination images can be reused to
+ * avoid allocations.
+ */
+public final class ImageConverter {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * This class cannot be instantiated
+	 */
+	private ImageConverter() {
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Convert JavaFX image to AWT image
+	 *
+	 * @param image       Source image
+	 * @param destination Image reused if it has the same size and an integer ARGB type or {@code null}
+	 * @return {@link BufferedImage} destination image or a new {@link BufferedImage#TYPE_INT_ARGB_PRE} image
+	 * @throws IllegalArgumentException Error if image pixels cannot be read
+	 */
+	public static BufferedImage toBufferedImage(@NotNull Image image, @Nullable BufferedImage destination) {
+		PixelReader reader = image.getPixelReader();
+		if (reader == null)
+			throw new IllegalArgumentException("Image pixels cannot be read.");
+
+		int width = (int) image.getWidth();
+		int height = (int) image.getHeight();
+		BufferedImage result = isReusable(destination, width, height) ?
+			destination :
+			new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+
+		Raster raster = result.getRaster();
+		DataBufferInt buffer = (DataBufferInt) raster.getDataBuffer();
+		int scanline = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+		reader.getPixels(0, 0, width, height, formatOf(result), buffer.getData(), buffer.getOffset(), scanline);
+
+		return result;
+	}
+
+	/**
+	 * Convert JavaFX image to a new AWT image
+	 *
+	 * @param image Source image
+	 * @return {@link BufferedImage} new {@link BufferedImage#TYPE_INT_ARGB_PRE} image
+	 */
+	public static BufferedImage toBufferedImage(@NotNull Image image) {
+		return toBufferedImage(image, null);
+	}
+
+	/**
+	 * Convert AWT image to JavaFX image
+	 *
+	 * @param image       Source image
+	 * @param destination Image reused if it has the same size or {@code null}
+	 * @return {@link WritableImage} destination image or a new image
+	 */
+	public static WritableImage toFXImage(@NotNull BufferedImage image, @Nullable WritableImage destination) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		WritableImage result = destination != null &&
+			(int) destination.getWidth() == width &&
+			(int) destination.getHeight() == height ?
+			destination :
+			new WritableImage(width, height);
+
+		// Other image types are converted once to a known layout
+		BufferedImage source = isReusable(image, width, height) ? image : redraw(image);
+
+		Raster raster = source.getRaster();
+		DataBufferInt buffer = (DataBufferInt) raster.getDataBuffer();
+		int scanline = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+		result.getPixelWriter().setPixels(0, 0, width, height, formatOf(source), buffer.getData(), buffer.getOffset(), scanline);
+
+		return result;
+	}
+
+	/**
+	 * Convert AWT image to a new JavaFX image
+	 *
+	 * @param image Source image
+	 * @return {@link WritableImage} new image
+	 */
+	public static WritableImage toFXImage(@NotNull BufferedImage image) {
+		return toFXImage(image, null);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Check if pixels can be copied directly to or from image
+	 *
+	 * @param image  Target image
+	 * @param width  Expected width
+	 * @param height Expected height
+	 * @return {@code true} if image has the expected size and a plain integer ARGB raster
+	 */
+	private static boolean isReusable(@Nullable BufferedImage image, int width, int height) {
+		if (image == null || image.getWidth() != width || image.getHeight() != height) return false;
+		if (image.getType() != BufferedImage.TYPE_INT_ARGB && image.getType() != BufferedImage.TYPE_INT_ARGB_PRE)
+			return false;
+
+		// Sub images have a parent raster with a different layout
+		Raster raster = image.getRaster();
+		return raster.getParent() == null &&
+			raster.getSampleModelTranslateX() == 0 &&
+			raster.getSampleModelTranslateY() == 0;
+	}
+
+	/**
+	 * Get JavaFX pixel format of an integer ARGB image
+	 *
+	 * @param image Target image
+	 * @return {@link WritablePixelFormat} equivalent format
+	 */
+	private static WritablePixelFormat<IntBuffer> formatOf(@NotNull BufferedImage image) {
+		return image.getType() == BufferedImage.TYPE_INT_ARGB_PRE ?
+			PixelFormat.getIntArgbPreInstance() :
+			PixelFormat.getIntArgbInstance();
+	}
+
+	/**
+	 * Draw image in a new {@link BufferedImage#TYPE_INT_ARGB_PRE} image
+	 *
+	 * @param image Source image
+	 * @return {@link BufferedImage} converted image
+	 */
+	private static BufferedImage redraw(@NotNull BufferedImage image) {
+		BufferedImage result = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+		Graphics2D g2 = result.createGraphics();
+		g2.setComposite(AlphaComposite.Src);
+		g2.drawImage(image, 0, 0, null);
+		g2.dispose();
+
+		return result;
+	}
+
+}
@@ -0,0 +1,332 @@
+package com.github.ushiosan23.javafx.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * AWT image scaling engine.
+ * Images are scaled directly on {@link BufferedImage} rasters and the result is always a
+ * ready to use {@link BufferedImage#TYPE_INT_ARGB_PRE} image.
+ */
+public final class ImageScaler {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * This class cannot be instantiated
+	 */
+	private ImageScaler() {
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Lanczos filter lobes
+	 */
+	private static final int LANCZOS_LOBES = 3;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Scale image to a custom resolution
+	 *
+	 * @param image     Target image to transform
+	 * @param newWidth  New image width
+	 * @param newHeight New image height
+	 * @param quality   Scaling quality
+	 * @return {@link BufferedImage} scaled image of type {@link BufferedImage#TYPE_INT_ARGB_PRE}
+	 */
+	public static BufferedImage scale(@NotNull BufferedImage image, int newWidth, int newHeight, @NotNull Quality quality) {
+		if (newWidth < 1 || newHeight < 1)
+			throw new IllegalArgumentException("Image size must be greater than zero.");
+
+		switch (quality) {
+			case SPEED:
+				return draw(image, newWidth, newHeight, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			case BALANCED:
+				return scaleInSteps(image, newWidth, newHeight, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			case QUALITY:
+				return scaleInSteps(image, newWidth, newHeight, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+			default:
+				return lanczos(image, newWidth, newHeight);
+		}
+	}
+
+	/**
+	 * Scale image to a custom resolution with {@link Quality#BALANCED} quality
+	 *
+	 * @param image     Target image to transform
+	 * @param newWidth  New image width
+	 * @param newHeight New image height
+	 * @return {@link BufferedImage} scaled image of type {@link BufferedImage#TYPE_INT_ARGB_PRE}
+	 */
+	public static BufferedImage scale(@NotNull BufferedImage image, int newWidth, int newHeight) {
+		return scale(image, newWidth, newHeight, Quality.BALANCED);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Draw image in a new image with the given interpolation
+	 *
+	 * @param image         Source image
+	 * @param width         Target width
+	 * @param height        Target height
+	 * @param interpolation Interpolation hint
+	 * @return {@link BufferedImage} scaled image
+	 */
+	private static BufferedImage draw(@NotNull BufferedImage image, int width, int height, @NotNull Object interpolation) {
+		BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+		Graphics2D g2 = result.createGraphics();
+		g2.setComposite(AlphaComposite.Src);
+		g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+		g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		g2.drawImage(image, 0, 0, width, height, null);
+		g2.dispose();
+
+		return result;
+	}
+
+	/**
+	 * Downscale image halving its size on each step. Bilinear and bicubic filters only
+	 * sample a few source pixels, halving the size avoids skipping pixels on big reductions.
+	 *
+	 * @param image         Source image
+	 * @param width         Target width
+	 * @param height        Target height
+	 * @param interpolation Interpolation hint
+	 * @return {@link BufferedImage} scaled image
+	 */
+	private static BufferedImage scaleInSteps(@NotNull BufferedImage image, int width, int height, @NotNull Object interpolation) {
+		BufferedImage current = image;
+		int currentWidth = image.getWidth();
+		int currentHeight = image.getHeight();
+
+		do {
+			if (currentWidth > width) currentWidth = Math.max(width, currentWidth / 2);
+			else currentWidth = width;
+			if (currentHeight > height) currentHeight = Math.max(height, currentHeight / 2);
+			else currentHeight = height;
+
+			current = draw(current, currentWidth, currentHeight, interpolation);
+		} while (currentWidth != width || currentHeight != height);
+
+		return current;
+	}
+
+	/**
+	 * Scale image with a separable Lanczos filter
+	 *
+	 * @param image  Source image
+	 * @param width  Target width
+	 * @param height Target height
+	 * @return {@link BufferedImage} scaled image
+	 */
+	private static BufferedImage lanczos(@NotNull BufferedImage image, int width, int height) {
+		int sourceWidth = image.getWidth();
+		int sourceHeight = image.getHeight();
+		int[] source = (int[]) toArgbPre(image).getRaster().getDataElements(0, 0, sourceWidth, sourceHeight, null);
+
+		// Horizontal pass: sourceHeight rows of width pixels
+		float[] horizontal = new float[width * sourceHeight * 4];
+		Kernel columns = new Kernel(sourceWidth, width);
+		for (int y = 0; y < sourceHeight; y++) {
+			int row = y * sourceWidth;
+			for (int x = 0; x < width; x++) {
+				float a = 0, r = 0, g = 0, b = 0;
+				int start = columns.start[x];
+				int offset = x * columns.size;
+				for (int i = 0; i < columns.size; i++) {
+					float weight = columns.weights[offset + i];
+					if (weight == 0) continue;
+
+					int argb = source[row + Math.min(sourceWidth - 1, Math.max(0, start + i))];
+					a += (argb >>> 24) * weight;
+					r += ((argb >> 16) & 0xFF) * weight;
+					g += ((argb >> 8) & 0xFF) * weight;
+					b += (argb & 0xFF) * weight;
+				}
+
+				int index = (y * width + x) * 4;
+				horizontal[index] = a;
+				horizontal[index + 1] = r;
+				horizontal[index + 2] = g;
+				horizontal[index + 3] = b;
+			}
+		}
+
+		// Vertical pass
+		int[] result = new int[width * height];
+		Kernel rows = new Kernel(sourceHeight, height);
+		for (int y = 0; y < height; y++) {
+			int start = rows.start[y];
+			int offset = y * rows.size;
+			for (int x = 0; x < width; x++) {
+				float a = 0, r = 0, g = 0, b = 0;
+				for (int i = 0; i < rows.size; i++) {
+					float weight = rows.weights[offset + i];
+					if (weight == 0) continue;
+
+					int index = (Math.min(sourceHeight - 1, Math.max(0, start + i)) * width + x) * 4;
+					a += horizontal[index] * weight;
+					r += horizontal[index + 1] * weight;
+					g += horizontal[index + 2] * weight;
+					b += horizontal[index + 3] * weight;
+				}
+
+				int alpha = clamp(a);
+				result[y * width + x] = alpha << 24 |
+					Math.min(alpha, clamp(r)) << 16 |
+					Math.min(alpha, clamp(g)) << 8 |
+					Math.min(alpha, clamp(b));
+			}
+		}
+
+		BufferedImage output = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+		// Raster data is premultiplied, so it is written without color conversion
+		output.getRaster().setDataElements(0, 0, width, height, result);
+		return output;
+	}
+
+	/**
+	 * Convert image to {@link BufferedImage#TYPE_INT_ARGB_PRE} if needed
+	 *
+	 * @param image Source image
+	 * @return {@link BufferedImage} image with premultiplied alpha
+	 */
+	private static BufferedImage toArgbPre(@NotNull BufferedImage image) {
+		if (image.getType() == BufferedImage.TYPE_INT_ARGB_PRE) return image;
+
+		return draw(image, image.getWidth(), image.getHeight(), RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+	}
+
+	/**
+	 * Clamp channel value
+	 *
+	 * @param value Channel value
+	 * @return Value between {@code 0} and {@code 255}
+	 */
+	private static int clamp(float value) {
+		return Math.min(0xFF, Math.max(0, Math.round(value)));
+	}
+
+	/**
+	 * Lanczos function
+	 *
+	 * @param x Distance to sample center
+	 * @return Filter weight
+	 */
+	private static double lanczosWeight(double x) {
+		if (x == 0) return 1;
+		if (Math.abs(x) >= LANCZOS_LOBES) return 0;
+
+		double px = Math.PI * x;
+		return LANCZOS_LOBES * Math.sin(px) * Math.sin(px / LANCZOS_LOBES) / (px * px);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Scaling quality presets
+	 */
+	public enum Quality {
+		/**
+		 * Single bilinear step. Fastest option, aliasing on big reductions.
+		 */
+		SPEED,
+		/**
+		 * Bilinear steps halving the size
+		 */
+		BALANCED,
+		/**
+		 * Bicubic steps halving the size
+		 */
+		QUALITY,
+		/**
+		 * Lanczos filter. Sharpest result and slowest option.
+		 */
+		LANCZOS
+	}
+
+	/**
+	 * Precomputed one-dimensional Lanczos weights
+	 */
+	private static final class Kernel {
+
+		/**
+		 * Number of samples per target pixel
+		 */
+		final int size;
+
+		/**
+		 * First source sample of each target pixel
+		 */
+		final int[] start;
+
+		/**
+		 * Normalized weights. {@code size} values per target pixel.
+		 */
+		final float[] weights;
+
+		/**
+		 * Create kernel
+		 *
+		 * @param sourceSize Source size
+		 * @param targetSize Target size
+		 */
+		Kernel(int sourceSize, int targetSize) {
+			double scale = targetSize / (double) sourceSize;
+			// Widen the filter when downscaling, so every source pixel contributes
+			double support = scale < 1 ? LANCZOS_LOBES / scale : LANCZOS_LOBES;
+			double filterScale = scale < 1 ? scale : 1;
+
+			size = (int) Math.ceil(support * 2) + 1;
+			start = new int[targetSize];
+			weights = new float[targetSize * size];
+
+			for (int i = 0; i < targetSize; i++) {
+				double center = (i + 0.5) / scale - 0.5;
+				int first = (int) Math.floor(center - support);
+				double total = 0;
+
+				start[i] = first;
+				for (int j = 0; j < size; j++) {
+					double weight = lanczosWeight((first + j - center) * filterScale);
+					weights[i * size + j] = (float) weight;
+					total += weight;
+				}
+
+				if (total == 0) continue;
+				for (int j = 0; j < size; j++) {
+					weights[i * size + j] /= (float) total;
+				}
+			}
+		}
+
+	}
+
+}
@@ -3,8 +3,14 @@ package com.github.ushiosan23.javafx.utils;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.WeakReference;
 
 /**
  * Image utilities.
@@ -50,6 +56,90 @@ public final class ImageUtils {
 		return getSnapShot(target.getRoot());
 	}
 
+	/**
+	 * Downsample image to a fixed height preserving aspect ratio.
+	 * Each target pixel is the average of the source pixels it covers, so small icons keep
+	 * their details. Images smaller than the target height, images still loading and
+	 * images without pixel access are returned without changes.
+	 *
+	 * @param source Source image
+	 * @param height Target height in pixels
+	 * @return {@link Image} downsampled image or source image if it cannot be downsampled
+	 */
+	public static Image fitHeight(@NotNull Image source, double height) {
+		PixelReader reader = source.getPixelReader();
+		int sourceWidth = (int) source.getWidth();
+		int sourceHeight = (int) source.getHeight();
+		if (reader == null || source.isError() || source.getProgress() < 1 || sourceHeight <= Math.ceil(height))
+			return source;
+
+		int targetHeight = Math.max(1, (int) Math.round(height));
+		int targetWidth = Math.max(1, (int) Math.round(sourceWidth * targetHeight / (double) sourceHeight));
+
+		int[] pixels = new int[sourceWidth * sourceHeight];
+		reader.getPixels(0, 0, sourceWidth, sourceHeight, PixelFormat.getIntArgbPreInstance(), pixels, 0, sourceWidth);
+
+		int[] result = new int[targetWidth * targetHeight];
+		for (int y = 0; y < targetHeight; y++) {
+			int startY = y * sourceHeight / targetHeight;
+			int endY = Math.max(startY + 1, (y + 1) * sourceHeight / targetHeight);
+
+			for (int x = 0; x < targetWidth; x++) {
+				int startX = x * sourceWidth / targetWidth;
+				int endX = Math.max(startX + 1, (x + 1) * sourceWidth / targetWidth);
+				long a = 0, r = 0, g = 0, b = 0;
+
+				for (int sy = startY; sy < endY; sy++) {
+					int row = sy * sourceWidth;
+					for (int sx = startX; sx < endX; sx++) {
+						int argb = pixels[row + sx];
+						a += argb >>> 24;
+						r += (argb >> 16) & 0xFF;
+						g += (argb >> 8) & 0xFF;
+						b += argb & 0xFF;
+					}
+				}
+
+				int count = (endY - startY) * (endX - startX);
+				result[y * targetWidth + x] = (int) (a / count) << 24 |
+					(int) (r / count) << 16 |
+					(int) (g / count) << 8 |
+					(int) (b / count);
+			}
+		}
+
+		WritableImage image = new WritableImage(targetWidth, targetHeight);
+		image.getPixelWriter()
+			.setPixels(0, 0, targetWidth, targetHeight, PixelFormat.getIntArgbPreInstance(), result, 0, targetWidth);
+
+		return image;
+	}
+
+	/**
+	 * Downsample image to a fixed height using the shared {@link ImageCache}.
+	 * Images loaded from a location are cached by location, other images by instance. Instances
+	 * are only weakly referenced by the cache, so the full size source can still be collected.
+	 *
+	 * @param source Source image
+	 * @param height Target height in pixels
+	 * @return {@link Image} cached downsampled image or source image if it cannot be downsampled
+	 * @see #fitHeight(Image, double)
+	 */
+	public static Image getCachedFitHeight(@NotNull Image source, double height) {
+		Object location = source.getUrl();
+		ImageCache.Key key = new ImageCache.Key(location == null ? new ImageSource(source) : location, 0, Math.ceil(height));
+		ImageCache cache = ImageCache.getShared();
+
+		Image cached = cache.get(key);
+		if (cached != null) return cached;
+
+		Image result = fitHeight(source, height);
+		// Do not cache images still loading or too small
+		if (result == source) return source;
+
+		return cache.putIfAbsent(key, result);
+	}
+
 	/**
 	 * Create snapshot parameters.
 	 *
@@ -62,4 +152,52 @@ public final class ImageUtils {
 		return parameters;
 	}
 
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Cache source of images without location. Images are compared by identity and
+	 * weakly referenced; a collected image does not match any other source.
+	 */
+	private static final class ImageSource {
+
+		/**
+		 * Source image
+		 */
+		private final WeakReference<Image> image;
+
+		/**
+		 * Identity hash of source image
+		 */
+		private final int hash;
+
+		/**
+		 * Create source
+		 *
+		 * @param image Source image
+		 */
+		ImageSource(@NotNull Image image) {
+			this.image = new WeakReference<>(image);
+			hash = System.identityHashCode(image);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof ImageSource)) return false;
+
+			Image current = image.get();
+			return current != null && current == ((ImageSource) obj).image.get();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+	}
+
 }
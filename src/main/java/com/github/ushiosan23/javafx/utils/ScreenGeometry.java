@@ -0,0 +1,270 @@
+package com.github.ushiosan23.javafx.utils;
+
+import javafx.beans.InvalidationListener;
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Screen;
+import javafx.stage.Window;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.GraphicsEnvironment;
+import java.awt.Insets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cached screen geometry.
+ * Screens, primary screen and native screen insets are read once and cached until
+ * {@link Screen#getScreens()} changes (a monitor is added, removed or resized).
+ */
+public final class ScreenGeometry {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Shared instance
+	 */
+	private static volatile ScreenGeometry shared;
+
+	/**
+	 * Current screen snapshot or {@code null} if screens changed
+	 */
+	private volatile Snapshot snapshot;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create screen geometry and listen screen changes
+	 */
+	private ScreenGeometry() {
+		Screen.getScreens().addListener((InvalidationListener) observable -> invalidate());
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Get shared instance. JavaFX platform must be started.
+	 *
+	 * @return {@link ScreenGeometry} shared instance
+	 */
+	public static ScreenGeometry getShared() {
+		ScreenGeometry geometry = shared;
+		if (geometry == null) {
+			synchronized (ScreenGeometry.class) {
+				if (shared == null) shared = new ScreenGeometry();
+				geometry = shared;
+			}
+		}
+
+		return geometry;
+	}
+
+	/**
+	 * Get all screens
+	 *
+	 * @return {@link List} unmodifiable screen list
+	 */
+	public List<Screen> getScreens() {
+		return getSnapshot().screens;
+	}
+
+	/**
+	 * Get primary screen
+	 *
+	 * @return {@link Screen} primary screen
+	 */
+	public Screen getPrimary() {
+		return getSnapshot().primary;
+	}
+
+	/**
+	 * Get screen that contains the window center
+	 *
+	 * @param window Target window or {@code null} to use primary screen
+	 * @return {@link Screen} window screen or primary screen if window has no position
+	 */
+	public Screen getScreen(@Nullable Window window) {
+		Snapshot current = getSnapshot();
+		if (window == null || Double.isNaN(window.getX()) || Double.isNaN(window.getY()))
+			return current.primary;
+
+		double centerX = window.getX() + window.getWidth() / 2;
+		double centerY = window.getY() + window.getHeight() / 2;
+		for (Screen screen : current.screens) {
+			if (screen.getBounds().contains(centerX, centerY)) return screen;
+		}
+
+		return current.primary;
+	}
+
+	/**
+	 * Get work area of the window screen
+	 *
+	 * @param window Target window or {@code null} to use primary screen
+	 * @return {@link Rectangle2D} screen visual bounds
+	 */
+	public Rectangle2D getVisualBounds(@Nullable Window window) {
+		return getScreen(window).getVisualBounds();
+	}
+
+	/**
+	 * Get native insets of the default screen device
+	 *
+	 * @return {@link Insets} screen insets. Empty insets in headless environments.
+	 */
+	public Insets getInsets() {
+		Snapshot current = getSnapshot();
+		Insets insets = current.insets;
+		if (insets == null) {
+			insets = GraphicsEnvironment.isHeadless() ? new Insets(0, 0, 0, 0) : ScreenUtils.getInsets();
+			current.insets = insets;
+		}
+
+		return (Insets) insets.clone();
+	}
+
+	/**
+	 * Get position of a rectangle placed in a corner of the window screen
+	 *
+	 * @param window Target window or {@code null} to use primary screen
+	 * @param corner Target screen corner
+	 * @param width  Rectangle width
+	 * @param height Rectangle height
+	 * @param margin Space between rectangle and screen border
+	 * @return {@link Point2D} top-left rectangle position
+	 */
+	public Point2D getCornerPosition(
+		@Nullable Window window,
+		@NotNull Corner corner,
+		double width,
+		double height,
+		double margin) {
+		Rectangle2D bounds = getVisualBounds(window);
+		double x = corner.isLeft() ? bounds.getMinX() + margin : bounds.getMaxX() - width - margin;
+		double y = corner.isTop() ? bounds.getMinY() + margin : bounds.getMaxY() - height - margin;
+
+		return new Point2D(x, y);
+	}
+
+	/**
+	 * Discard cached geometry. Called automatically when screens change.
+	 */
+	public void invalidate() {
+		snapshot = null;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Get current snapshot
+	 *
+	 * @return {@link Snapshot} current snapshot
+	 */
+	private Snapshot getSnapshot() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			current = new Snapshot(Screen.getScreens(), Screen.getPrimary());
+			snapshot = current;
+		}
+
+		return current;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Screen corner
+	 */
+	public enum Corner {
+		/**
+		 * Top-left corner
+		 */
+		TOP_LEFT,
+		/**
+		 * Top-right corner
+		 */
+		TOP_RIGHT,
+		/**
+		 * Bottom-left corner
+		 */
+		BOTTOM_LEFT,
+		/**
+		 * Bottom-right corner
+		 */
+		BOTTOM_RIGHT;
+
+		/**
+		 * Check if corner is at the top of the screen
+		 *
+		 * @return {@code true} if corner is at the top or {@code false} otherwise
+		 */
+		public boolean isTop() {
+			return this == TOP_LEFT || this == TOP_RIGHT;
+		}
+
+		/**
+		 * Check if corner is at the left of the screen
+		 *
+		 * @return {@code true} if corner is at the left or {@code false} otherwise
+		 */
+		public boolean isLeft() {
+			return this == TOP_LEFT || this == BOTTOM_LEFT;
+		}
+	}
+
+	/**
+	 * Screen state at a moment
+	 */
+	private static final class Snapshot {
+
+		/**
+		 * All screens
+		 */
+		final List<Screen> screens;
+
+		/**
+		 * Primary screen
+		 */
+		final Screen primary;
+
+		/**
+		 * Native screen insets or {@code null} if not read yet
+		 */
+		volatile Insets insets;
+
+		/**
+		 * Create snapshot
+		 *
+		 * @param screens All screens
+		 * @param primary Primary screen
+		 */
+		Snapshot(@NotNull List<Screen> screens, @NotNull Screen primary) {
+			this.screens = Collections.unmodifiableList(new ArrayList<>(screens));
+			this.primary = primary;
+		}
+
+	}
+
+}
@@ -6,7 +6,9 @@ import javafx.stage.Screen;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.awt.*;
+import java.awt.GraphicsEnvironment;
+import java.awt.Insets;
+import java.awt.Toolkit;
 
 public final class ScreenUtils {
 
@@ -22,7 +24,8 @@ public final class ScreenUtils {
 	private static final Toolkit toolkit = Toolkit.getDefaultToolkit();
 
 	/**
-	 * Get screen insets
+	 * Get screen insets. Only uses AWT, so it can be called before the JavaFX platform is started.
+	 * JavaFX code can use the cached value of {@link ScreenGeometry#getInsets()}.
 	 *
 	 * @return {@link Insets} Get screen insets
 	 */
@@ -40,7 +43,7 @@ public final class ScreenUtils {
 	 */
 	@NotNull
 	public static Rectangle2D getScreenSize(@Nullable Screen screen) {
-		if (screen == null) return getScreenSize(Screen.getPrimary());
+		if (screen == null) return getScreenSize(ScreenGeometry.getShared().getPrimary());
 
 		return screen.getVisualBounds();
 	}
@@ -0,0 +1,106 @@
+package com.github.ushiosan23.javafx.xml;
+
+import javafx.scene.control.MenuItem;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Menu created from a {@link MenuTemplate} with its load information.
+ *
+ * @param <T> Menu type
+ */
+public final class LoadedMenu<T> {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Created menu
+	 */
+	private final T menu;
+
+	/**
+	 * Icons load state
+	 */
+	private final CompletableFuture<Void> iconsLoaded;
+
+	/**
+	 * Created items by id
+	 */
+	private final Map<String, MenuItem> items;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create loaded menu
+	 *
+	 * @param menu        Created menu
+	 * @param iconsLoaded Icons load state
+	 * @param items       Created items by id
+	 */
+	LoadedMenu(@NotNull T menu, @NotNull CompletableFuture<Void> iconsLoaded, @NotNull Map<String, MenuItem> items) {
+		this.menu = menu;
+		this.iconsLoaded = iconsLoaded;
+		this.items = Collections.unmodifiableMap(items);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Get created menu
+	 *
+	 * @return Menu result
+	 */
+	public T getMenu() {
+		return menu;
+	}
+
+	/**
+	 * Get icons load state. The future is completed when all menu icons are applied.
+	 * Icons loaded in background are applied in the JavaFX Application Thread and
+	 * icons that cannot be loaded keep the placeholder image.
+	 *
+	 * @return {@link CompletableFuture} icons load state
+	 */
+	public CompletableFuture<Void> getIconsLoaded() {
+		return iconsLoaded;
+	}
+
+	/**
+	 * Get created item by id
+	 *
+	 * @param id Item id
+	 * @return {@link MenuItem} item or {@code null} if not exists
+	 */
+	@Nullable
+	public MenuItem getItem(@NotNull String id) {
+		return items.get(id);
+	}
+
+	/**
+	 * Get all created items with id. Items of lazy submenus are added when the submenu is shown
+	 * and removed when they are released on hide.
+	 * If many items have the same id, the last created item is used.
+	 *
+	 * @return {@link Map} unmodifiable items by id
+	 */
+	public Map<String, MenuItem> getItems() {
+		return items;
+	}
+
+}
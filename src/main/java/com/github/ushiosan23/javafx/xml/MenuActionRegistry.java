@@ -0,0 +1,99 @@
+package com.github.ushiosan23.javafx.xml;
+
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Action handlers used when menus are created.
+ * Each item receives the handler registered with its {@code action} attribute or, if the item
+ * has not {@code action} attribute, with its {@code id}. Handlers are resolved with a single
+ * hash lookup while items are created, so handlers must be registered before creating menus.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * MenuActionRegistry actions = new MenuActionRegistry();
+ * actions.register("file-open", event -> openFile());
+ *
+ * MenuParameters parameters = new MenuParameters();
+ * parameters.setActionRegistry(actions);
+ * LoadedMenu<MenuBar> menuBar = template.createMenuBar(parameters);
+ * }</pre>
+ */
+public final class MenuActionRegistry {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Handlers by action name
+	 */
+	private final Map<String, EventHandler<ActionEvent>> handlers = new ConcurrentHashMap<>();
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create empty registry
+	 */
+	public MenuActionRegistry() {
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Register action handler. Replaces the previous handler with the same name.
+	 *
+	 * @param name    Action name or item id
+	 * @param handler Action handler
+	 * @return {@link MenuActionRegistry} same registry
+	 */
+	public MenuActionRegistry register(@NotNull String name, @NotNull EventHandler<ActionEvent> handler) {
+		handlers.put(name, handler);
+		return this;
+	}
+
+	/**
+	 * Remove action handler
+	 *
+	 * @param name Action name or item id
+	 */
+	public void unregister(@NotNull String name) {
+		handlers.remove(name);
+	}
+
+	/**
+	 * Get action handler
+	 *
+	 * @param name Action name or item id
+	 * @return {@link EventHandler} handler or {@code null} if not exists
+	 */
+	@Nullable
+	public EventHandler<ActionEvent> getHandler(@NotNull String name) {
+		return handlers.get(name);
+	}
+
+	/**
+	 * Get number of registered handlers
+	 *
+	 * @return Number of handlers
+	 */
+	public int size() {
+		return handlers.size();
+	}
+
+}
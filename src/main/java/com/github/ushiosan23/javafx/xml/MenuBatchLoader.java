@@ -0,0 +1,242 @@
+package com.github.ushiosan23.javafx.xml;
+
+import javafx.application.Platform;
+import javafx.scene.control.Menu;
+import javafx.scene.control.MenuBar;
+import javafx.scene.image.Image;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Load many menu files in parallel.
+ * All sources are compiled to {@link MenuTemplate} in a fork-join pool and merged
+ * in a single {@link MenuBar} in the JavaFX Application Thread. Without an icon loader
+ * in the creation parameters, icons are also decoded in the fork-join pool.
+ */
+public final class MenuBatchLoader {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Parse pool
+	 */
+	private final ForkJoinPool pool;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create loader with custom pool
+	 *
+	 * @param pool Parse pool
+	 */
+	public MenuBatchLoader(@NotNull ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Create loader with common pool
+	 */
+	public MenuBatchLoader() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Compile all sources in parallel. This method blocks until all sources are compiled.
+	 * Errors are reported per source and never stop other sources.
+	 *
+	 * @param sources Target menu sources
+	 * @return {@link MenuBatchResult} result without menu bar
+	 */
+	public MenuBatchResult compileAll(@NotNull Collection<URL> sources) {
+		long startTime = System.nanoTime();
+		List<MenuBatchResult.SourceResult> results = pool.invoke(new CompileAllTask(sources, false));
+
+		return new MenuBatchResult(results, Duration.ofNanos(System.nanoTime() - startTime), null);
+	}
+
+	/**
+	 * Compile all sources in parallel and merge them in a single menu bar.
+	 * Files with {@code menu-bar} root contribute all their menus and files with {@code menu-root}
+	 * contribute a single menu. Menus are added in source order.
+	 * Icons are decoded with each source unless parameters have an icon loader, so the
+	 * JavaFX Application Thread only creates the menu items.
+	 *
+	 * @param sources    Target menu sources
+	 * @param parameters Menu creation parameters
+	 * @return {@link CompletableFuture} result completed in the JavaFX Application Thread
+	 */
+	public CompletableFuture<MenuBatchResult> loadMenuBar(
+		@NotNull Collection<URL> sources,
+		@NotNull MenuParameters parameters) {
+		long startTime = System.nanoTime();
+
+		return CompletableFuture
+			.supplyAsync(() -> new CompileAllTask(sources, parameters.getIconLoader() == null).invoke(), pool)
+			.thenApplyAsync(results -> merge(results, parameters, startTime), Platform::runLater);
+	}
+
+	/**
+	 * Compile all sources in parallel and merge them in a single menu bar
+	 *
+	 * @param sources Target menu sources
+	 * @return {@link CompletableFuture} result completed in the JavaFX Application Thread
+	 * @see #loadMenuBar(Collection, MenuParameters)
+	 */
+	public CompletableFuture<MenuBatchResult> loadMenuBar(@NotNull Collection<URL> sources) {
+		return loadMenuBar(sources, new MenuParameters());
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Merge all templates in a menu bar. Called in JavaFX thread.
+	 *
+	 * @param results    Compile results
+	 * @param parameters Menu creation parameters
+	 * @param startTime  Batch start time
+	 * @return {@link MenuBatchResult} batch result
+	 */
+	private static MenuBatchResult merge(
+		@NotNull List<MenuBatchResult.SourceResult> results,
+		@NotNull MenuParameters parameters,
+		long startTime) {
+		MenuBar menuBar = new MenuBar();
+		List<Menu> menus = new ArrayList<>();
+
+		for (int i = 0; i < results.size(); i++) {
+			MenuBatchResult.SourceResult result = results.get(i);
+			MenuTemplate template = result.getTemplate();
+			results.set(i, result.withoutIcons());
+			if (template == null) continue;
+
+			switch (template.getType()) {
+				case MENU_BAR:
+				case MENU:
+					menus.addAll(template.createMenus(parameters, result.getIcons()).getMenu());
+					break;
+				default:
+					results.set(i, result.withoutIcons().withError(new IllegalArgumentException(
+						"Menu root \"" + template.getType() + "\" cannot be merged in a menu bar."
+					)));
+					break;
+			}
+		}
+
+		menuBar.getMenus().setAll(menus);
+		return new MenuBatchResult(results, Duration.ofNanos(System.nanoTime() - startTime), menuBar);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Compile all sources task
+	 */
+	private static final class CompileAllTask extends RecursiveTask<List<MenuBatchResult.SourceResult>> {
+
+		/**
+		 * Serialization version
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Target sources
+		 */
+		private final List<URL> sources;
+
+		/**
+		 * Decode source icons after compilation
+		 */
+		private final boolean decodeIcons;
+
+		/**
+		 * Results in source order
+		 */
+		private final MenuBatchResult.SourceResult[] results;
+
+		/**
+		 * Create task
+		 *
+		 * @param sources     Target sources
+		 * @param decodeIcons Decode source icons after compilation
+		 */
+		CompileAllTask(@NotNull Collection<URL> sources, boolean decodeIcons) {
+			this.sources = new ArrayList<>(sources);
+			this.decodeIcons = decodeIcons;
+			this.results = new MenuBatchResult.SourceResult[this.sources.size()];
+		}
+
+		@Override
+		protected List<MenuBatchResult.SourceResult> compute() {
+			List<ForkJoinTask<?>> tasks = new ArrayList<>(sources.size());
+			for (int i = 0; i < sources.size(); i++) {
+				int index = i;
+				tasks.add(ForkJoinTask.adapt(() -> results[index] = compileSource(sources.get(index), decodeIcons)));
+			}
+			ForkJoinTask.invokeAll(tasks);
+
+			List<MenuBatchResult.SourceResult> list = new ArrayList<>(results.length);
+			Collections.addAll(list, results);
+
+			return list;
+		}
+
+		/**
+		 * Compile single source
+		 *
+		 * @param source      Target source
+		 * @param decodeIcons Decode source icons after compilation
+		 * @return {@link MenuBatchResult.SourceResult} source result
+		 */
+		private static MenuBatchResult.SourceResult compileSource(@NotNull URL source, boolean decodeIcons) {
+			long startTime = System.nanoTime();
+			try {
+				MenuTemplate template = MenuTemplate.compile(source);
+				if (!decodeIcons)
+					return new MenuBatchResult.SourceResult(source, template, null, Duration.ofNanos(System.nanoTime() - startTime));
+
+				List<Exception> iconErrors = new ArrayList<>();
+				Map<MenuTemplate.Entry, Image> icons = template.decodeIcons(iconErrors::add);
+				return new MenuBatchResult.SourceResult(
+					source, template, null, iconErrors, icons, Duration.ofNanos(System.nanoTime() - startTime)
+				);
+			} catch (Exception err) {
+				return new MenuBatchResult.SourceResult(source, null, err, Duration.ofNanos(System.nanoTime() - startTime));
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,296 @@
+package com.github.ushiosan23.javafx.xml;
+
+import javafx.scene.control.MenuBar;
+import javafx.scene.image.Image;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a {@link MenuBatchLoader} operation.
+ * Sources are always reported in the same order they were requested.
+ */
+public final class MenuBatchResult {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Source results in request order
+	 */
+	private final List<SourceResult> sources;
+
+	/**
+	 * Total wall-clock time
+	 */
+	private final Duration elapsedTime;
+
+	/**
+	 * Merged menu bar or {@code null} if sources were only compiled
+	 */
+	private final MenuBar menuBar;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create batch result
+	 *
+	 * @param sources     Source results in request order
+	 * @param elapsedTime Total wall-clock time
+	 * @param menuBar     Merged menu bar
+	 */
+	MenuBatchResult(@NotNull List<SourceResult> sources, @NotNull Duration elapsedTime, @Nullable MenuBar menuBar) {
+		this.sources = Collections.unmodifiableList(sources);
+		this.elapsedTime = elapsedTime;
+		this.menuBar = menuBar;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Get all source results
+	 *
+	 * @return {@link List} source results in request order
+	 */
+	public List<SourceResult> getSources() {
+		return sources;
+	}
+
+	/**
+	 * Get source results with errors
+	 *
+	 * @return {@link List} failed source results in request order
+	 */
+	public List<SourceResult> getFailures() {
+		List<SourceResult> failures = new ArrayList<>();
+		for (SourceResult source : sources) {
+			if (!source.isSuccess()) failures.add(source);
+		}
+
+		return failures;
+	}
+
+	/**
+	 * Check if all sources were loaded
+	 *
+	 * @return {@code true} if no source has errors or {@code false} otherwise
+	 */
+	public boolean isSuccess() {
+		for (SourceResult source : sources) {
+			if (!source.isSuccess()) return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Get total wall-clock time. Includes parallel parsing and menu merge.
+	 *
+	 * @return {@link Duration} elapsed time
+	 */
+	public Duration getElapsedTime() {
+		return elapsedTime;
+	}
+
+	/**
+	 * Get merged menu bar
+	 *
+	 * @return {@link MenuBar} merged menu bar or {@code null} if sources were only compiled
+	 */
+	@Nullable
+	public MenuBar getMenuBar() {
+		return menuBar;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Single source result
+	 */
+	public static final class SourceResult {
+
+		/**
+		 * Source location
+		 */
+		private final URL source;
+
+		/**
+		 * Compiled template or {@code null} if source has errors
+		 */
+		private final MenuTemplate template;
+
+		/**
+		 * Source error or {@code null} if source was loaded
+		 */
+		private final Exception error;
+
+		/**
+		 * Icon errors
+		 */
+		private final List<Exception> iconErrors;
+
+		/**
+		 * Icons decoded with the source or {@code null} if icons were not decoded
+		 */
+		private final Map<MenuTemplate.Entry, Image> icons;
+
+		/**
+		 * Parse time
+		 */
+		private final Duration parseTime;
+
+		/**
+		 * Create source result
+		 *
+		 * @param source     Source location
+		 * @param template   Compiled template
+		 * @param error      Source error
+		 * @param iconErrors Icon errors
+		 * @param icons      Decoded icons by entry
+		 * @param parseTime  Parse time
+		 */
+		SourceResult(
+			@NotNull URL source,
+			@Nullable MenuTemplate template,
+			@Nullable Exception error,
+			@NotNull List<Exception> iconErrors,
+			@Nullable Map<MenuTemplate.Entry, Image> icons,
+			@NotNull Duration parseTime) {
+			this.source = source;
+			this.template = template;
+			this.error = error;
+			this.iconErrors = Collections.unmodifiableList(iconErrors);
+			this.icons = icons;
+			this.parseTime = parseTime;
+		}
+
+		/**
+		 * Create source result without icons
+		 *
+		 * @param source    Source location
+		 * @param template  Compiled template
+		 * @param error     Source error
+		 * @param parseTime Parse time
+		 */
+		SourceResult(@NotNull URL source, @Nullable MenuTemplate template, @Nullable Exception error, @NotNull Duration parseTime) {
+			this(source, template, error, Collections.emptyList(), null, parseTime);
+		}
+
+		/**
+		 * Get source location
+		 *
+		 * @return {@link URL} source location
+		 */
+		public URL getSource() {
+			return source;
+		}
+
+		/**
+		 * Get compiled template
+		 *
+		 * @return {@link MenuTemplate} template or {@code null} if source has errors
+		 */
+		@Nullable
+		public MenuTemplate getTemplate() {
+			return template;
+		}
+
+		/**
+		 * Get source error
+		 *
+		 * @return {@link Exception} error or {@code null} if source was loaded
+		 */
+		@Nullable
+		public Exception getError() {
+			return error;
+		}
+
+		/**
+		 * Get icon errors. Icons that cannot be loaded do not stop the source; the item is created without icon.
+		 *
+		 * @return {@link List} unmodifiable icon errors
+		 */
+		public List<Exception> getIconErrors() {
+			return iconErrors;
+		}
+
+		/**
+		 * Get icons decoded with the source
+		 *
+		 * @return {@link Map} decoded icons by entry or {@code null} if icons were not decoded
+		 */
+		@Nullable
+		Map<MenuTemplate.Entry, Image> getIcons() {
+			return icons;
+		}
+
+		/**
+		 * Check if source was loaded
+		 *
+		 * @return {@code true} if source has no errors or {@code false} otherwise
+		 */
+		public boolean isSuccess() {
+			return error == null;
+		}
+
+		/**
+		 * Get source parse time. Includes icon decoding when menus are merged.
+		 *
+		 * @return {@link Duration} parse time
+		 */
+		public Duration getParseTime() {
+			return parseTime;
+		}
+
+		/**
+		 * Create copy of this result with an error
+		 *
+		 * @param error Target error
+		 * @return {@link SourceResult} result with error
+		 */
+		SourceResult withError(@NotNull Exception error) {
+			return new SourceResult(source, template, error, iconErrors, icons, parseTime);
+		}
+
+		/**
+		 * Create copy of this result without decoded icons. Icons are only kept until menus are created.
+		 *
+		 * @return {@link SourceResult} result without icons
+		 */
+		SourceResult withoutIcons() {
+			return icons == null ? this : new SourceResult(source, template, error, iconErrors, null, parseTime);
+		}
+
+		@Override
+		public String toString() {
+			String result = error == null ?
+				source + " (" + parseTime.toMillis() + " ms)" :
+				source + " (" + parseTime.toMillis() + " ms): " + error;
+
+			return iconErrors.isEmpty() ? result : result + " [" + iconErrors.size() + " icon errors]";
+		}
+
+	}
+
+}
@@ -0,0 +1,378 @@
+package com.github.ushiosan23.javafx.xml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary menu format.
+ * <p>
+ * Layout: magic number, version, flags, root type, string table, entries in pre-order and
+ * (optionally) pre-rasterized icons. Strings are stored once and referenced by index, so
+ * repeated icon locations and texts cost a single varint.
+ */
+final class MenuBinaryFormat {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * File magic number ("JFXM")
+	 */
+	static final int MAGIC = 0x4A46584D;
+
+	/**
+	 * Current format version
+	 */
+	static final int VERSION = 2;
+
+	/**
+	 * Oldest readable format version. Version 1 has not entry actions.
+	 */
+	private static final int MIN_VERSION = 1;
+
+	/**
+	 * Header flag. File contains pre-rasterized icons.
+	 */
+	private static final int FLAG_RASTERS = 1;
+
+	/**
+	 * Entry flag. Entry is disabled.
+	 */
+	private static final int ENTRY_DISABLED = 1;
+
+	/**
+	 * Entry flag. Entry icon is resized.
+	 */
+	private static final int ENTRY_RESIZE_ICON = 1 << 1;
+
+	/**
+	 * Entry flag. Entry has id.
+	 */
+	private static final int ENTRY_ID = 1 << 2;
+
+	/**
+	 * Entry flag. Entry has icon.
+	 */
+	private static final int ENTRY_ICON = 1 << 3;
+
+	/**
+	 * Entry flag. Entry has action name.
+	 */
+	private static final int ENTRY_ACTION = 1 << 4;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * This class cannot be instantiated
+	 */
+	private MenuBinaryFormat() {
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Write template
+	 *
+	 * @param output   Target output
+	 * @param type     Template type
+	 * @param root     Template root entry
+	 * @param rasters  Pre-rasterized icons by icon location
+	 * @throws IOException Error if output cannot be written
+	 */
+	static void write(
+		@NotNull DataOutputStream output,
+		@NotNull MenuTemplate.Type type,
+		@NotNull MenuTemplate.Entry root,
+		@NotNull Map<String, Raster> rasters) throws IOException {
+		Map<String, Integer> stringIndex = new HashMap<>();
+		List<String> strings = new ArrayList<>();
+		collectStrings(root, stringIndex, strings);
+		for (String location : rasters.keySet()) addString(location, stringIndex, strings);
+
+		output.writeInt(MAGIC);
+		output.writeByte(VERSION);
+		output.writeByte(rasters.isEmpty() ? 0 : FLAG_RASTERS);
+		output.writeByte(type.ordinal());
+
+		writeVarInt(output, strings.size());
+		for (String value : strings) output.writeUTF(value);
+
+		writeEntry(output, root, stringIndex);
+
+		if (rasters.isEmpty()) return;
+		writeVarInt(output, rasters.size());
+		for (Map.Entry<String, Raster> raster : rasters.entrySet()) {
+			writeVarInt(output, stringIndex.get(raster.getKey()));
+			output.writeShort(raster.getValue().width);
+			output.writeShort(raster.getValue().height);
+			for (int pixel : raster.getValue().pixels) output.writeInt(pixel);
+		}
+	}
+
+	/**
+	 * Read template
+	 *
+	 * @param input   Target input
+	 * @param rasters Map to fill with pre-rasterized icons
+	 * @return {@link MenuTemplate} template result
+	 * @throws IOException Error if input is not a valid binary menu
+	 */
+	static MenuTemplate read(@NotNull DataInputStream input, @NotNull Map<String, Raster> rasters) throws IOException {
+		if (input.readInt() != MAGIC)
+			throw new IOException("Invalid binary menu file.");
+		int version = input.readUnsignedByte();
+		if (version < MIN_VERSION || version > VERSION)
+			throw new IOException("Unsupported binary menu version " + version + ".");
+
+		int flags = input.readUnsignedByte();
+		int typeIndex = input.readUnsignedByte();
+		MenuTemplate.Type[] types = MenuTemplate.Type.values();
+		if (typeIndex >= types.length)
+			throw new IOException("Invalid binary menu type.");
+
+		String[] strings = new String[readVarInt(input)];
+		for (int i = 0; i < strings.length; i++) strings[i] = input.readUTF();
+
+		MenuTemplate.Entry root = readEntry(input, strings);
+
+		if ((flags & FLAG_RASTERS) != 0) {
+			int count = readVarInt(input);
+			for (int i = 0; i < count; i++) {
+				String location = readString(input, strings);
+				int width = input.readUnsignedShort();
+				int height = input.readUnsignedShort();
+				int[] pixels = new int[width * height];
+				for (int p = 0; p < pixels.length; p++) pixels[p] = input.readInt();
+
+				rasters.put(location, new Raster(width, height, pixels));
+			}
+		}
+
+		return new MenuTemplate(types[typeIndex], root);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Collect all entry strings
+	 *
+	 * @param entry       Target entry
+	 * @param stringIndex String index by value
+	 * @param strings     String table
+	 */
+	private static void collectStrings(
+		@NotNull MenuTemplate.Entry entry,
+		@NotNull Map<String, Integer> stringIndex,
+		@NotNull List<String> strings) {
+		addString(entry.text, stringIndex, strings);
+		if (entry.id != null) addString(entry.id, stringIndex, strings);
+		if (entry.action != null) addString(entry.action, stringIndex, strings);
+		if (entry.icon != null) addString(entry.icon, stringIndex, strings);
+
+		for (MenuTemplate.Entry child : entry.children) collectStrings(child, stringIndex, strings);
+	}
+
+	/**
+	 * Add string to table if not exists
+	 *
+	 * @param value       Target string
+	 * @param stringIndex String index by value
+	 * @param strings     String table
+	 */
+	private static void addString(
+		@NotNull String value,
+		@NotNull Map<String, Integer> stringIndex,
+		@NotNull List<String> strings) {
+		if (stringIndex.containsKey(value)) return;
+
+		stringIndex.put(value, strings.size());
+		strings.add(value);
+	}
+
+	/**
+	 * Write entry and its children
+	 *
+	 * @param output      Target output
+	 * @param entry       Target entry
+	 * @param stringIndex String index by value
+	 * @throws IOException Error if output cannot be written
+	 */
+	private static void writeEntry(
+		@NotNull DataOutputStream output,
+		@NotNull MenuTemplate.Entry entry,
+		@NotNull Map<String, Integer> stringIndex) throws IOException {
+		int flags = 0;
+		if (entry.disabled) flags |= ENTRY_DISABLED;
+		if (entry.resizeIcon) flags |= ENTRY_RESIZE_ICON;
+		if (entry.id != null) flags |= ENTRY_ID;
+		if (entry.icon != null) flags |= ENTRY_ICON;
+		if (entry.action != null) flags |= ENTRY_ACTION;
+
+		output.writeByte(entry.kind);
+		if (entry.kind == MenuTemplate.Entry.SEPARATOR) return;
+
+		output.writeByte(flags);
+		writeVarInt(output, stringIndex.get(entry.text));
+		if (entry.id != null) writeVarInt(output, stringIndex.get(entry.id));
+		if (entry.icon != null) writeVarInt(output, stringIndex.get(entry.icon));
+		if (entry.action != null) writeVarInt(output, stringIndex.get(entry.action));
+
+		if (entry.kind != MenuTemplate.Entry.MENU) return;
+		writeVarInt(output, entry.children.length);
+		for (MenuTemplate.Entry child : entry.children) writeEntry(output, child, stringIndex);
+	}
+
+	/**
+	 * Read entry and its children
+	 *
+	 * @param input   Target input
+	 * @param strings String table
+	 * @return {@link MenuTemplate.Entry} entry result
+	 * @throws IOException Error if input is not valid
+	 */
+	private static MenuTemplate.Entry readEntry(@NotNull DataInputStream input, @NotNull String[] strings) throws IOException {
+		byte kind = input.readByte();
+		if (kind == MenuTemplate.Entry.SEPARATOR) return MenuTemplate.Entry.SEPARATOR_ENTRY;
+		if (kind != MenuTemplate.Entry.ITEM && kind != MenuTemplate.Entry.MENU)
+			throw new IOException("Invalid binary menu entry.");
+
+		int flags = input.readUnsignedByte();
+		String text = readString(input, strings);
+		String id = (flags & ENTRY_ID) != 0 ? readString(input, strings) : null;
+		String icon = (flags & ENTRY_ICON) != 0 ? readString(input, strings) : null;
+		String action = (flags & ENTRY_ACTION) != 0 ? readString(input, strings) : null;
+
+		MenuTemplate.Entry[] children = MenuTemplate.EMPTY_ENTRIES;
+		if (kind == MenuTemplate.Entry.MENU) {
+			int count = readVarInt(input);
+			if (count > 0) {
+				children = new MenuTemplate.Entry[count];
+				for (int i = 0; i < count; i++) children[i] = readEntry(input, strings);
+			}
+		}
+
+		return new MenuTemplate.Entry(
+			kind,
+			text,
+			id,
+			action,
+			(flags & ENTRY_DISABLED) != 0,
+			icon,
+			(flags & ENTRY_RESIZE_ICON) != 0,
+			children
+		);
+	}
+
+	/**
+	 * Read string table reference
+	 *
+	 * @param input   Target input
+	 * @param strings String table
+	 * @return String value
+	 * @throws IOException Error if reference is not valid
+	 */
+	private static String readString(@NotNull DataInputStream input, @NotNull String[] strings) throws IOException {
+		int index = readVarInt(input);
+		if (index >= strings.length)
+			throw new IOException("Invalid binary menu string reference.");
+
+		return strings[index];
+	}
+
+	/**
+	 * Write unsigned variable length integer
+	 *
+	 * @param output Target output
+	 * @param value  Value to write
+	 * @throws IOException Error if output cannot be written
+	 */
+	private static void writeVarInt(@NotNull DataOutputStream output, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			output.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.writeByte(value);
+	}
+
+	/**
+	 * Read unsigned variable length integer
+	 *
+	 * @param input Target input
+	 * @return Value result
+	 * @throws IOException Error if value is not valid
+	 */
+	private static int readVarInt(@NotNull DataInputStream input) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int current = input.readUnsignedByte();
+			value |= (current & 0x7F) << shift;
+			if ((current & 0x80) == 0) return value;
+		}
+
+		throw new IOException("Invalid binary menu integer.");
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Pre-rasterized icon. Pixels are stored as non premultiplied ARGB.
+	 */
+	static final class Raster {
+
+		/**
+		 * Raster width
+		 */
+		final int width;
+
+		/**
+		 * Raster height
+		 */
+		final int height;
+
+		/**
+		 * Raster pixels
+		 */
+		final int[] pixels;
+
+		/**
+		 * Create raster
+		 *
+		 * @param width  Raster width
+		 * @param height Raster height
+		 * @param pixels Raster pixels
+		 */
+		Raster(int width, int height, @NotNull int[] pixels) {
+			this.width = width;
+			this.height = height;
+			this.pixels = pixels;
+		}
+
+	}
+
+}
@@ -0,0 +1,377 @@
+package com.github.ushiosan23.javafx.xml;
+
+import com.github.ushiosan23.javafx.utils.ImageCache;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Background menu icon loader.
+ * Icons are decoded in a bounded executor and applied in the JavaFX Application Thread in batches.
+ * Requests with the same location and size share a single decode task.
+ */
+public final class MenuIconLoader {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Default number of decode threads
+	 */
+	public static final int DEFAULT_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * Decode executor
+	 */
+	private final Executor executor;
+
+	/**
+	 * Executor was created by this loader
+	 */
+	private final boolean ownsExecutor;
+
+	/**
+	 * Decoded images cache
+	 */
+	private final ImageCache cache;
+
+	/**
+	 * Decode tasks in progress
+	 */
+	private final Map<ImageCache.Key, CompletableFuture<Image>> inProgress = new ConcurrentHashMap<>();
+
+	/**
+	 * Icons waiting to be applied in JavaFX thread
+	 */
+	private final Queue<PendingIcon> pendingIcons = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Batch flush state
+	 */
+	private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+	/**
+	 * Placeholder image
+	 */
+	private volatile Image placeholder;
+
+	/**
+	 * Icon error handler
+	 */
+	private volatile Consumer<Exception> errorHandler;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create loader with custom executor and cache
+	 *
+	 * @param executor Decode executor
+	 * @param cache    Decoded images cache
+	 */
+	public MenuIconLoader(@NotNull Executor executor, @NotNull ImageCache cache) {
+		this(executor, cache, false);
+	}
+
+	/**
+	 * Create loader with executor ownership
+	 *
+	 * @param executor     Decode executor
+	 * @param cache        Decoded images cache
+	 * @param ownsExecutor Executor was created by this loader
+	 */
+	private MenuIconLoader(@NotNull Executor executor, @NotNull ImageCache cache, boolean ownsExecutor) {
+		this.executor = executor;
+		this.cache = cache;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	/**
+	 * Create loader with a bounded number of daemon threads
+	 *
+	 * @param threads Number of decode threads
+	 */
+	public MenuIconLoader(int threads) {
+		this(createExecutor(threads), ImageCache.getShared(), true);
+	}
+
+	/**
+	 * Create loader with default number of threads
+	 */
+	public MenuIconLoader() {
+		this(DEFAULT_THREADS);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Set image displayed while icon is loading
+	 *
+	 * @param placeholder Placeholder image or {@code null} to display empty space
+	 */
+	public void setPlaceholder(@Nullable Image placeholder) {
+		this.placeholder = placeholder;
+	}
+
+	/**
+	 * Get image displayed while icon is loading
+	 *
+	 * @return {@link Image} placeholder image or {@code null} if not exists
+	 */
+	@Nullable
+	public Image getPlaceholder() {
+		return placeholder;
+	}
+
+	/**
+	 * Set icon error handler. Called when an icon cannot be loaded; the view keeps the placeholder.
+	 *
+	 * @param errorHandler Target handler or {@code null} to use the {@link MenuLoader} handler
+	 */
+	public void setOnError(@Nullable Consumer<Exception> errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Shutdown decode executor. Only applied if executor was created by this loader.
+	 */
+	public void shutdown() {
+		if (ownsExecutor)
+			((ExecutorService) executor).shutdown();
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create icon view and start loading its image
+	 *
+	 * @param location Icon location
+	 * @param resize   Resize icon
+	 * @param loaded   Callback with icon load result
+	 * @return {@link ImageView} view with placeholder or cached image
+	 */
+	ImageView load(@NotNull String location, boolean resize, @NotNull IconCallback loaded) {
+		ImageView imageView = new ImageView();
+		URL locationURL;
+		try {
+			locationURL = MenuLoader.resolveIconLocation(location);
+		} catch (Exception err) {
+			reportError(err);
+			loaded.done();
+			return imageView;
+		}
+
+		ImageCache.Key key = MenuLoader.iconKey(locationURL, resize);
+		Image cached = cache.get(key);
+		if (cached != null) {
+			imageView.setImage(cached);
+			loaded.done();
+			return imageView;
+		}
+
+		// Keep item size while icon is loading
+		imageView.setImage(placeholder);
+		if (resize) {
+			imageView.setFitWidth(MenuLoader.ICON_SIZE);
+			imageView.setFitHeight(MenuLoader.ICON_SIZE);
+			imageView.setPreserveRatio(true);
+		}
+
+		decode(key, locationURL, resize).whenComplete((image, err) -> {
+			if (err != null) {
+				reportError(err);
+				loaded.done();
+			} else {
+				scheduleApply(new PendingIcon(imageView, image, loaded));
+			}
+		});
+
+		return imageView;
+	}
+
+	/**
+	 * Decode image or join a decode task already in progress
+	 *
+	 * @param key      Icon cache key
+	 * @param location Resolved icon location
+	 * @param resize   Resize icon
+	 * @return {@link CompletableFuture} decode result
+	 */
+	private CompletableFuture<Image> decode(@NotNull ImageCache.Key key, @NotNull URL location, boolean resize) {
+		CompletableFuture<Image> task = new CompletableFuture<>();
+		CompletableFuture<Image> current = inProgress.putIfAbsent(key, task);
+		if (current != null) return current;
+
+		try {
+			executor.execute(() -> {
+				try {
+					task.complete(cache.get(key, () -> MenuLoader.decodeIcon(location, resize)));
+				} catch (Throwable err) {
+					task.completeExceptionally(err);
+				} finally {
+					inProgress.remove(key, task);
+				}
+			});
+		} catch (RejectedExecutionException err) {
+			// Executor was shutdown, so the task never runs
+			inProgress.remove(key, task);
+			task.completeExceptionally(err);
+		}
+
+		return task;
+	}
+
+	/**
+	 * Report icon error
+	 *
+	 * @param err Target error
+	 */
+	private void reportError(@NotNull Throwable err) {
+		Exception exception = err instanceof Exception ? (Exception) err : new ExecutionException(err);
+		Consumer<Exception> handler = errorHandler;
+		if (handler != null)
+			handler.accept(exception);
+		else
+			MenuLoader.reportError(exception);
+	}
+
+	/**
+	 * Add icon to next batch
+	 *
+	 * @param icon Target icon to apply
+	 */
+	private void scheduleApply(@NotNull PendingIcon icon) {
+		pendingIcons.add(icon);
+
+		if (flushScheduled.compareAndSet(false, true))
+			Platform.runLater(this::flush);
+	}
+
+	/**
+	 * Apply all pending icons. Called in JavaFX thread.
+	 */
+	private void flush() {
+		flushScheduled.set(false);
+
+		PendingIcon icon;
+		while ((icon = pendingIcons.poll()) != null) {
+			icon.imageView.setImage(icon.image);
+			icon.loaded.done();
+		}
+	}
+
+	/**
+	 * Create bounded executor with daemon threads
+	 *
+	 * @param threads Number of threads
+	 * @return {@link ExecutorService} executor result
+	 */
+	private static ExecutorService createExecutor(int threads) {
+		if (threads <= 0)
+			throw new IllegalArgumentException("Number of threads must be greater than zero.");
+
+		AtomicInteger counter = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(
+			threads,
+			threads,
+			30,
+			TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(),
+			runnable -> {
+				Thread thread = new Thread(runnable, "menu-icon-loader-" + counter.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		);
+		executor.allowCoreThreadTimeOut(true);
+
+		return executor;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Icon load callback
+	 */
+	interface IconCallback {
+
+		/**
+		 * Called when icon load finish (with or without error)
+		 */
+		void done();
+
+	}
+
+	/**
+	 * Decoded icon waiting to be applied
+	 */
+	private static final class PendingIcon {
+
+		/**
+		 * Target view
+		 */
+		final ImageView imageView;
+
+		/**
+		 * Decoded image
+		 */
+		final Image image;
+
+		/**
+		 * Load callback
+		 */
+		final IconCallback loaded;
+
+		/**
+		 * Create pending icon
+		 *
+		 * @param imageView Target view
+		 * @param image     Decoded image
+		 * @param loaded    Load callback
+		 */
+		PendingIcon(ImageView imageView, Image image, IconCallback loaded) {
+			this.imageView = imageView;
+			this.image = image;
+			this.loaded = loaded;
+		}
+
+	}
+
+}
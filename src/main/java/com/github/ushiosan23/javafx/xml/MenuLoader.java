@@ -1,5 +1,6 @@
 package com.github.ushiosan23.javafx.xml;
 
+import com.github.ushiosan23.javafx.utils.ImageCache;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -10,9 +11,20 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Class to create menu structure from xml files
@@ -28,17 +40,42 @@ public final class MenuLoader {
 	/**
 	 * XML item node name
 	 */
-	private static final String ITEM_NAME = "item";
+	static final String ITEM_NAME = "item";
 
 	/**
 	 * XML menu node name
 	 */
-	private static final String MENU_NAME = "menu";
+	static final String MENU_NAME = "menu";
 
 	/**
 	 * XML separator node name
 	 */
-	private static final String SEPARATOR_NAME = "separator";
+	static final String SEPARATOR_NAME = "separator";
+
+	/**
+	 * XML menu root node name
+	 */
+	static final String MENU_ROOT_NAME = "menu-root";
+
+	/**
+	 * XML context menu root node name
+	 */
+	static final String MENU_CONTEXT_NAME = "menu-context";
+
+	/**
+	 * XML menu bar root node name
+	 */
+	static final String MENU_BAR_NAME = "menu-bar";
+
+	/**
+	 * Resized icon size
+	 */
+	static final double ICON_SIZE = 15;
+
+	/**
+	 * Icon error handler
+	 */
+	private static volatile Consumer<Exception> errorHandler;
 
 	/* ---------------------------------------------------------
 	 *
@@ -67,7 +104,7 @@ public final class MenuLoader {
 	public static Menu load(@NotNull Document document) {
 		Element root = document.getDocumentElement();
 
-		if (!root.getNodeName().equals("menu-root"))
+		if (!root.getNodeName().equals(MENU_ROOT_NAME))
 			return new Menu();
 
 		return createMenu(root);
@@ -83,7 +120,7 @@ public final class MenuLoader {
 		Element root = document.getDocumentElement();
 		ContextMenu resultMenu = new ContextMenu();
 
-		if (!root.getNodeName().equals("menu-context"))
+		if (!root.getNodeName().equals(MENU_CONTEXT_NAME))
 			return resultMenu;
 
 		NodeList nodeList = root.getChildNodes();
@@ -108,7 +145,7 @@ public final class MenuLoader {
 		Element root = document.getDocumentElement();
 		MenuBar resultMenu = new MenuBar();
 
-		if (!root.getNodeName().equals("menu-bar"))
+		if (!root.getNodeName().equals(MENU_BAR_NAME))
 			return resultMenu;
 
 		NodeList nodeList = root.getChildNodes();
@@ -121,6 +158,162 @@ public final class MenuLoader {
 		return resultMenu;
 	}
 
+	/**
+	 * Set icon error handler. Called when a menu icon cannot be loaded; the item is created without icon.
+	 * By default, errors are written to the {@link System.Logger} of this class.
+	 *
+	 * @param errorHandler Target handler or {@code null} to use default handler
+	 */
+	public static void setOnError(@Nullable Consumer<Exception> errorHandler) {
+		MenuLoader.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Load menu from xml stream.
+	 * The menu is created in a single pass without building an intermediate document.
+	 *
+	 * @param stream Target xml stream
+	 * @return {@link Menu} Menu result
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public static Menu load(@NotNull InputStream stream) throws XMLStreamException {
+		XMLStreamReader reader = createReader(stream);
+		try {
+			if (!moveToRoot(reader, MENU_ROOT_NAME))
+				return new Menu();
+
+			return readMenu(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Load menu from xml file
+	 *
+	 * @param path Target file location
+	 * @return {@link Menu} Menu result
+	 * @throws IOException        Error if file cannot be read
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public static Menu load(@NotNull Path path) throws IOException, XMLStreamException {
+		try (InputStream stream = Files.newInputStream(path)) {
+			return load(stream);
+		}
+	}
+
+	/**
+	 * Load menu from xml url
+	 *
+	 * @param url Target resource location
+	 * @return {@link Menu} Menu result
+	 * @throws IOException        Error if resource cannot be read
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public static Menu load(@NotNull URL url) throws IOException, XMLStreamException {
+		try (InputStream stream = url.openStream()) {
+			return load(stream);
+		}
+	}
+
+	/**
+	 * Create context menu from xml stream.
+	 * The menu is created in a single pass without building an intermediate document.
+	 *
+	 * @param stream Target xml stream
+	 * @return {@link ContextMenu} Context menu result
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public static ContextMenu loadContextMenu(@NotNull InputStream stream) throws XMLStreamException {
+		XMLStreamReader reader = createReader(stream);
+		ContextMenu resultMenu = new ContextMenu();
+		try {
+			if (moveToRoot(reader, MENU_CONTEXT_NAME))
+				readItems(reader, resultMenu.getItems());
+		} finally {
+			reader.close();
+		}
+
+		return resultMenu;
+	}
+
+	/**
+	 * Create context menu from xml file
+	 *
+	 * @param path Target file location
+	 * @return {@link ContextMenu} Context menu result
+	 * @throws IOException        Error if file cannot be read
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public static ContextMenu loadContextMenu(@NotNull Path path) throws IOException, XMLStreamException {
+		try (InputStream stream = Files.newInputStream(path)) {
+			return loadContextMenu(stream);
+		}
+	}
+
+	/**
+	 * Create context menu from xml url
+	 *
+	 * @param url Target resource location
+	 * @return {@link ContextMenu} Context menu result
+	 * @throws IOException        Error if resource cannot be read
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public static ContextMenu loadContextMenu(@NotNull URL url) throws IOException, XMLStreamException {
+		try (InputStream stream = url.openStream()) {
+			return loadContextMenu(stream);
+		}
+	}
+
+	/**
+	 * Create menu bar from xml stream.
+	 * The menu is created in a single pass without building an intermediate document.
+	 *
+	 * @param stream Target xml stream
+	 * @return {@link MenuBar} Menu bar result
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public static MenuBar loadMenuBar(@NotNull InputStream stream) throws XMLStreamException {
+		XMLStreamReader reader = createReader(stream);
+		MenuBar resultMenu = new MenuBar();
+		try {
+			if (moveToRoot(reader, MENU_BAR_NAME))
+				readMenus(reader, resultMenu.getMenus());
+		} finally {
+			reader.close();
+		}
+
+		return resultMenu;
+	}
+
+	/**
+	 * Create menu bar from xml file
+	 *
+	 * @param path Target file location
+	 * @return {@link MenuBar} Menu bar result
+	 * @throws IOException        Error if file cannot be read
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public static MenuBar loadMenuBar(@NotNull Path path) throws IOException, XMLStreamException {
+		try (InputStream stream = Files.newInputStream(path)) {
+			return loadMenuBar(stream);
+		}
+	}
+
+	/**
+	 * Create menu bar from xml url
+	 *
+	 * @param url Target resource location
+	 * @return {@link MenuBar} Menu bar result
+	 * @throws IOException        Error if resource cannot be read
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public static MenuBar loadMenuBar(@NotNull URL url) throws IOException, XMLStreamException {
+		try (InputStream stream = url.openStream()) {
+			return loadMenuBar(stream);
+		}
+	}
+
 	/* ---------------------------------------------------------
 	 *
 	 * Internal methods
@@ -134,23 +327,7 @@ public final class MenuLoader {
 	 * @return {@link MenuItem} Menu item result
 	 */
 	private static MenuItem createItem(@NotNull Node node) {
-		Element nodeEl = (Element) node;
-		String nodeText = nodeEl.getAttribute("text");
-		MenuItem resultItem = new MenuItem(nodeText);
-		boolean resizeIcon = true;
-
-		if (nodeEl.hasAttribute("id"))
-			resultItem.setId(nodeEl.getAttribute("id"));
-		if (nodeEl.hasAttribute("disabled"))
-			resultItem.setDisable(parseText(nodeEl.getAttribute("disabled")));
-		if (nodeEl.hasAttribute("resize-icon"))
-			resizeIcon = parseText(nodeEl.getAttribute("resize-icon"));
-		if (nodeEl.hasAttribute("icon")) {
-			ImageView imageView = loadImageView(nodeEl.getAttribute("icon"), resizeIcon);
-			if (imageView != null) resultItem.setGraphic(imageView);
-		}
-
-		return resultItem;
+		return configureItem(new MenuItem(), attributesOf((Element) node));
 	}
 
 	/**
@@ -161,21 +338,7 @@ public final class MenuLoader {
 	 */
 	private static Menu createMenu(@NotNull Node node) {
 		Element nodeEl = (Element) node;
-		String mName = nodeEl.getAttribute("text");
-		Menu resultMenu = new Menu(mName);
-		boolean resizeIcon = true;
-
-		if (nodeEl.hasAttribute("id"))
-			resultMenu.setId(nodeEl.getAttribute("id"));
-		if (nodeEl.hasAttribute("disabled"))
-			resultMenu.setDisable(parseText(nodeEl.getAttribute("disabled")));
-		if (nodeEl.hasAttribute("resize-icon"))
-			resizeIcon = parseText(nodeEl.getAttribute("resize-icon"));
-		if (nodeEl.hasAttribute("icon")) {
-			ImageView imageView = loadImageView(nodeEl.getAttribute("icon"), resizeIcon);
-			if (imageView != null) resultMenu.setGraphic(imageView);
-		}
-
+		Menu resultMenu = configureItem(new Menu(), attributesOf(nodeEl));
 		NodeList children = nodeEl.getChildNodes();
 
 		for (int i = 0; i < children.getLength(); i++) {
@@ -189,53 +352,313 @@ public final class MenuLoader {
 		return resultMenu;
 	}
 
+	/**
+	 * Apply xml attributes to menu item
+	 *
+	 * @param item       Target item to configure
+	 * @param attributes Node attributes
+	 * @param <T>        Menu item type
+	 * @return Same item with attributes applied
+	 */
+	private static <T extends MenuItem> T configureItem(@NotNull T item, @NotNull AttributeSource attributes) {
+		String text = attributes.get("text");
+		String id = attributes.get("id");
+		String disabled = attributes.get("disabled");
+		String resizeIcon = attributes.get("resize-icon");
+		String icon = attributes.get("icon");
+
+		item.setText(text == null ? "" : text);
+		if (id != null)
+			item.setId(id);
+		if (disabled != null)
+			item.setDisable(parseText(disabled));
+		if (icon != null) {
+			ImageView imageView = loadImageView(icon, resizeIcon == null || parseText(resizeIcon));
+			if (imageView != null) item.setGraphic(imageView);
+		}
+
+		return item;
+	}
+
+	/**
+	 * Get attribute source from xml element
+	 *
+	 * @param element Target element
+	 * @return {@link AttributeSource} element attributes
+	 */
+	static AttributeSource attributesOf(@NotNull Element element) {
+		return name -> element.hasAttribute(name) ? element.getAttribute(name) : null;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Stream methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create xml stream reader
+	 *
+	 * @param stream Target xml stream
+	 * @return {@link XMLStreamReader} stream reader
+	 * @throws XMLStreamException Error if reader cannot be created
+	 */
+	static XMLStreamReader createReader(@NotNull InputStream stream) throws XMLStreamException {
+		return InputFactoryHolder.FACTORY.createXMLStreamReader(stream);
+	}
+
+	/**
+	 * Move reader to document root and check its name
+	 *
+	 * @param reader   Target stream reader
+	 * @param rootName Expected root name
+	 * @return {@code true} if root element has expected name or {@code false} otherwise
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	static boolean moveToRoot(@NotNull XMLStreamReader reader, @NotNull String rootName) throws XMLStreamException {
+		while (reader.hasNext()) {
+			if (reader.next() == XMLStreamConstants.START_ELEMENT)
+				return reader.getLocalName().equals(rootName);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Read menu from current element. The reader must be positioned at the menu start element
+	 * and ends at the menu end element.
+	 *
+	 * @param reader Target stream reader
+	 * @return {@link Menu} Menu result
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	private static Menu readMenu(@NotNull XMLStreamReader reader) throws XMLStreamException {
+		Menu resultMenu = configureItem(new Menu(), attributesOf(reader));
+		readItems(reader, resultMenu.getItems());
+
+		return resultMenu;
+	}
+
+	/**
+	 * Read all children items of current element
+	 *
+	 * @param reader Target stream reader
+	 * @param items  Target list to fill
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	private static void readItems(@NotNull XMLStreamReader reader, @NotNull List<MenuItem> items) throws XMLStreamException {
+		while (reader.hasNext()) {
+			int event = reader.next();
+
+			if (event == XMLStreamConstants.END_ELEMENT) return;
+			if (event != XMLStreamConstants.START_ELEMENT) continue;
+
+			String name = reader.getLocalName();
+			if (name.equals(MENU_NAME)) {
+				items.add(readMenu(reader));
+				continue;
+			}
+
+			if (name.equals(ITEM_NAME)) items.add(configureItem(new MenuItem(), attributesOf(reader)));
+			if (name.equals(SEPARATOR_NAME)) items.add(new SeparatorMenuItem());
+			skipElement(reader);
+		}
+	}
+
+	/**
+	 * Read all children menus of current element. Other elements are ignored.
+	 *
+	 * @param reader Target stream reader
+	 * @param menus  Target list to fill
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	private static void readMenus(@NotNull XMLStreamReader reader, @NotNull List<Menu> menus) throws XMLStreamException {
+		while (reader.hasNext()) {
+			int event = reader.next();
+
+			if (event == XMLStreamConstants.END_ELEMENT) return;
+			if (event != XMLStreamConstants.START_ELEMENT) continue;
+
+			if (reader.getLocalName().equals(MENU_NAME))
+				menus.add(readMenu(reader));
+			else
+				skipElement(reader);
+		}
+	}
+
+	/**
+	 * Skip current element and all its children
+	 *
+	 * @param reader Target stream reader
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	static void skipElement(@NotNull XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0 && reader.hasNext()) {
+			int event = reader.next();
+
+			if (event == XMLStreamConstants.START_ELEMENT) depth++;
+			if (event == XMLStreamConstants.END_ELEMENT) depth--;
+		}
+	}
+
+	/**
+	 * Get attribute source from current reader element.
+	 * Values are read immediately, so the source is only valid while the reader stays in the element.
+	 *
+	 * @param reader Target stream reader
+	 * @return {@link AttributeSource} element attributes
+	 */
+	static AttributeSource attributesOf(@NotNull XMLStreamReader reader) {
+		return name -> reader.getAttributeValue(null, name);
+	}
+
 	/**
 	 * Parse text to boolean
 	 *
 	 * @param text Text to parse
 	 * @return Parsed result
 	 */
-	private static boolean parseText(@NotNull String text) {
+	static boolean parseText(@NotNull String text) {
 		return text.trim().equalsIgnoreCase("true");
 	}
 
 	/**
-	 * Load image from location
+	 * Load image from location.
+	 * Decoded images are shared through {@link ImageCache#getShared()}, so every view with the same
+	 * location and size uses the same {@link Image} instance.
 	 *
 	 * @param location Target image location
 	 * @param resize   Resize image
 	 * @return {@link ImageView} image view result or {@code null} if image not exists
 	 */
 	@Nullable
-	private static ImageView loadImageView(@NotNull String location, boolean resize) {
+	static ImageView loadImageView(@NotNull String location, boolean resize) {
 		try {
-			ClassLoader classLoader = ClassLoader.getSystemClassLoader();
-			ImageView imageView = new ImageView();
-			boolean isLocal;
-			if (location.startsWith("@")) {
-				isLocal = true;
-				location = location.substring(1);
-			} else {
-				isLocal = false;
-				location = location.replace(" ", "%20");
-			}
+			URL locationURL = resolveIconLocation(location);
+			ImageCache.Key key = iconKey(locationURL, resize);
+			Image image = ImageCache.getShared().get(key, () -> decodeIcon(locationURL, resize));
 
-			URI loadURI = URI.create(isLocal ?
-				Objects.requireNonNull(classLoader.getResource(location)).toExternalForm() :
-				location
-			);
-			URL locationURL = loadURI.toURL();
-			Image image = resize ?
-				new Image(locationURL.openStream(), 15, 15, true, true) :
-				new Image(locationURL.openStream());
-
-			imageView.setImage(image);
-			return imageView;
+			return new ImageView(image);
 		} catch (Exception err) {
-			err.printStackTrace();
+			reportError(err);
 		}
 
 		return null;
 	}
 
+	/**
+	 * Report icon error
+	 *
+	 * @param err Target error
+	 */
+	static void reportError(@NotNull Exception err) {
+		Consumer<Exception> handler = errorHandler;
+		if (handler != null)
+			handler.accept(err);
+		else
+			System.getLogger(MenuLoader.class.getName()).log(System.Logger.Level.WARNING, "Menu icon cannot be loaded.", err);
+	}
+
+	/**
+	 * Resolve icon location. Locations starting with {@code @} are resolved as class path resources.
+	 *
+	 * @param location Target icon location
+	 * @return {@link URL} resolved location
+	 * @throws MalformedURLException Error if location is not valid
+	 */
+	static URL resolveIconLocation(@NotNull String location) throws MalformedURLException {
+		ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+		boolean isLocal;
+		if (location.startsWith("@")) {
+			isLocal = true;
+			location = location.substring(1);
+		} else {
+			isLocal = false;
+			location = location.replace(" ", "%20");
+		}
+
+		URI loadURI = URI.create(isLocal ?
+			Objects.requireNonNull(classLoader.getResource(location), location).toExternalForm() :
+			location
+		);
+		return loadURI.toURL();
+	}
+
+	/**
+	 * Create icon cache key
+	 *
+	 * @param location Resolved icon location
+	 * @param resize   Resize image
+	 * @return {@link ImageCache.Key} cache key
+	 */
+	static ImageCache.Key iconKey(@NotNull URL location, boolean resize) {
+		return resize ?
+			new ImageCache.Key(location.toExternalForm(), ICON_SIZE, ICON_SIZE) :
+			new ImageCache.Key(location.toExternalForm());
+	}
+
+	/**
+	 * Decode icon from location
+	 *
+	 * @param location Resolved icon location
+	 * @param resize   Resize image
+	 * @return {@link Image} decoded image
+	 * @throws IOException Error if location cannot be read
+	 */
+	static Image decodeIcon(@NotNull URL location, boolean resize) throws IOException {
+		try (InputStream stream = location.openStream()) {
+			return resize ?
+				new Image(stream, ICON_SIZE, ICON_SIZE, true, true) :
+				new Image(stream);
+		}
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Node attribute accessor. Used to share item configuration between document and stream loading.
+	 */
+	interface AttributeSource {
+
+		/**
+		 * Get attribute value
+		 *
+		 * @param name Attribute name
+		 * @return Attribute value or {@code null} if attribute not exists
+		 */
+		@Nullable
+		String get(@NotNull String name);
+
+	}
+
+	/**
+	 * Lazy xml input factory holder. The factory is only created when a stream is loaded.
+	 */
+	private static final class InputFactoryHolder {
+
+		/**
+		 * Shared stream factory
+		 */
+		private static final XMLInputFactory FACTORY = createFactory();
+
+		/**
+		 * Create secure input factory
+		 *
+		 * @return {@link XMLInputFactory} factory result
+		 */
+		private static XMLInputFactory createFactory() {
+			XMLInputFactory factory = XMLInputFactory.newInstance();
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+			return factory;
+		}
+
+	}
+
 }
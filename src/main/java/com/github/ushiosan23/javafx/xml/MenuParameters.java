@@ -0,0 +1,136 @@
+package com.github.ushiosan23.javafx.xml;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Parameters used to create menus from a {@link MenuTemplate}.
+ * Default parameters create menus like {@link MenuLoader}.
+ */
+public final class MenuParameters {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Background icon loader
+	 */
+	private MenuIconLoader iconLoader;
+
+	/**
+	 * Create submenu items when submenu is shown
+	 */
+	private boolean lazySubmenus;
+
+	/**
+	 * Remove lazy submenu items when submenu is hidden
+	 */
+	private boolean releaseOnHide;
+
+	/**
+	 * Action handlers
+	 */
+	private MenuActionRegistry actionRegistry;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create default parameters
+	 */
+	public MenuParameters() {
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Set background icon loader.
+	 * If loader exists, menus are created immediately with placeholder icons and
+	 * images are loaded in background.
+	 *
+	 * @param iconLoader Target loader or {@code null} to load icons synchronously
+	 */
+	public void setIconLoader(@Nullable MenuIconLoader iconLoader) {
+		this.iconLoader = iconLoader;
+	}
+
+	/**
+	 * Get background icon loader
+	 *
+	 * @return {@link MenuIconLoader} loader or {@code null} if icons are loaded synchronously
+	 */
+	@Nullable
+	public MenuIconLoader getIconLoader() {
+		return iconLoader;
+	}
+
+	/**
+	 * Set lazy submenu state.
+	 * If enabled, the items of each menu are created the first time the menu is shown
+	 * instead of creating the whole tree at once.
+	 *
+	 * @param lazySubmenus Lazy submenu state
+	 */
+	public void setLazySubmenus(boolean lazySubmenus) {
+		this.lazySubmenus = lazySubmenus;
+	}
+
+	/**
+	 * Get lazy submenu state
+	 *
+	 * @return {@code true} if submenu items are created when shown or {@code false} otherwise
+	 */
+	public boolean isLazySubmenus() {
+		return lazySubmenus;
+	}
+
+	/**
+	 * Set release on hide state.
+	 * If enabled, the items of lazy submenus are removed when the menu is hidden and created
+	 * again the next time it is shown. Released items are also removed from the id index of
+	 * {@link LoadedMenu}, so it only contains items attached to the menu. Only used with lazy submenus.
+	 *
+	 * @param releaseOnHide Release on hide state
+	 */
+	public void setReleaseOnHide(boolean releaseOnHide) {
+		this.releaseOnHide = releaseOnHide;
+	}
+
+	/**
+	 * Get release on hide state
+	 *
+	 * @return {@code true} if lazy submenu items are removed when hidden or {@code false} otherwise
+	 */
+	public boolean isReleaseOnHide() {
+		return releaseOnHide;
+	}
+
+	/**
+	 * Set action handlers applied to created items
+	 *
+	 * @param actionRegistry Target registry or {@code null} to create items without handlers
+	 */
+	public void setActionRegistry(@Nullable MenuActionRegistry actionRegistry) {
+		this.actionRegistry = actionRegistry;
+	}
+
+	/**
+	 * Get action handlers applied to created items
+	 *
+	 * @return {@link MenuActionRegistry} registry or {@code null} if not exists
+	 */
+	@Nullable
+	public MenuActionRegistry getActionRegistry() {
+		return actionRegistry;
+	}
+
+}
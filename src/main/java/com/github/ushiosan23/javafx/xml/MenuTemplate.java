@@ -0,0 +1,1172 @@
+package com.github.ushiosan23.javafx.xml;
+
+import com.github.ushiosan23.javafx.utils.ImageCache;
+import javafx.event.ActionEvent;
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.control.*;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Compiled menu structure.
+ * The xml is parsed only once and the template can create new menu instances many times
+ * without touching the parser again.
+ */
+public final class MenuTemplate {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Empty entry array. Shared by all leaf entries.
+	 */
+	static final Entry[] EMPTY_ENTRIES = new Entry[0];
+
+	/**
+	 * Template root type
+	 */
+	private final Type type;
+
+	/**
+	 * Template root entry
+	 */
+	private final Entry root;
+
+	/**
+	 * Pre-rasterized icons not yet added to the icon cache
+	 */
+	private final Map<String, MenuBinaryFormat.Raster> pendingRasters = new ConcurrentHashMap<>();
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create template with root entry
+	 *
+	 * @param type Template root type
+	 * @param root Root entry
+	 */
+	MenuTemplate(@NotNull Type type, @NotNull Entry root) {
+		this.type = type;
+		this.root = root;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Get template root type
+	 *
+	 * @return {@link Type} root type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Get template root entry
+	 *
+	 * @return {@link Entry} root entry
+	 */
+	Entry getRoot() {
+		return root;
+	}
+
+	/**
+	 * Create new menu instance.
+	 *
+	 * @return {@link Menu} Menu result or empty menu if template root is not {@code menu-root}
+	 */
+	public Menu createMenu() {
+		return createMenu(new MenuParameters()).getMenu();
+	}
+
+	/**
+	 * Create new menu instance with custom parameters.
+	 *
+	 * @param parameters Creation parameters
+	 * @return {@link LoadedMenu} Menu result. The menu is empty if template root is not {@code menu-root}
+	 */
+	public LoadedMenu<Menu> createMenu(@NotNull MenuParameters parameters) {
+		return createMenu(new Instantiation(this, parameters));
+	}
+
+	/**
+	 * Create new menu instance with creation state
+	 *
+	 * @param instantiation Creation state
+	 * @return {@link LoadedMenu} Menu result
+	 * @see #createMenu(MenuParameters)
+	 */
+	LoadedMenu<Menu> createMenu(@NotNull Instantiation instantiation) {
+		Menu resultMenu = type == Type.MENU ?
+			instantiation.createMenu(root) :
+			new Menu();
+
+		return instantiation.finish(resultMenu);
+	}
+
+	/**
+	 * Create new context menu instance.
+	 *
+	 * @return {@link ContextMenu} Context menu result or empty menu if template root is not {@code menu-context}
+	 */
+	public ContextMenu createContextMenu() {
+		return createContextMenu(new MenuParameters()).getMenu();
+	}
+
+	/**
+	 * Create new context menu instance with custom parameters.
+	 *
+	 * @param parameters Creation parameters
+	 * @return {@link LoadedMenu} Context menu result. The menu is empty if template root is not {@code menu-context}
+	 */
+	public LoadedMenu<ContextMenu> createContextMenu(@NotNull MenuParameters parameters) {
+		return createContextMenu(new Instantiation(this, parameters));
+	}
+
+	/**
+	 * Create new context menu instance with creation state
+	 *
+	 * @param instantiation Creation state
+	 * @return {@link LoadedMenu} Context menu result
+	 * @see #createContextMenu(MenuParameters)
+	 */
+	LoadedMenu<ContextMenu> createContextMenu(@NotNull Instantiation instantiation) {
+		ContextMenu resultMenu = new ContextMenu();
+
+		if (type == Type.CONTEXT_MENU)
+			instantiation.createChildren(root, resultMenu.getItems());
+
+		return instantiation.finish(resultMenu);
+	}
+
+	/**
+	 * Create new menu bar instance.
+	 *
+	 * @return {@link MenuBar} Menu bar result or empty menu bar if template root is not {@code menu-bar}
+	 */
+	public MenuBar createMenuBar() {
+		return createMenuBar(new MenuParameters()).getMenu();
+	}
+
+	/**
+	 * Create new menu bar instance with custom parameters.
+	 *
+	 * @param parameters Creation parameters
+	 * @return {@link LoadedMenu} Menu bar result. The menu bar is empty if template root is not {@code menu-bar}
+	 */
+	public LoadedMenu<MenuBar> createMenuBar(@NotNull MenuParameters parameters) {
+		return createMenuBar(new Instantiation(this, parameters));
+	}
+
+	/**
+	 * Create new menu bar instance with creation state
+	 *
+	 * @param instantiation Creation state
+	 * @return {@link LoadedMenu} Menu bar result
+	 * @see #createMenuBar(MenuParameters)
+	 */
+	LoadedMenu<MenuBar> createMenuBar(@NotNull Instantiation instantiation) {
+		MenuBar resultMenu = new MenuBar();
+
+		if (type != Type.MENU_BAR)
+			return new LoadedMenu<>(resultMenu, CompletableFuture.completedFuture(null), Collections.emptyMap());
+
+		LoadedMenu<List<Menu>> menus = createMenus(instantiation);
+		resultMenu.getMenus().setAll(menus.getMenu());
+
+		return new LoadedMenu<>(resultMenu, menus.getIconsLoaded(), menus.getItems());
+	}
+
+	/**
+	 * Create new top level menus. Templates with {@code menu-bar} root create all its menus
+	 * and templates with {@code menu-root} root create a single menu.
+	 * Menus are not attached to any parent, so they can be merged in other menu bars.
+	 *
+	 * @param parameters Creation parameters
+	 * @return {@link LoadedMenu} Menus result. The list is empty for other root types
+	 */
+	public LoadedMenu<List<Menu>> createMenus(@NotNull MenuParameters parameters) {
+		return createMenus(parameters, null);
+	}
+
+	/**
+	 * Write template in compact binary format.
+	 * Binary templates can be read with {@link #readBinary(InputStream)} without any xml parser.
+	 *
+	 * @param stream Target output stream
+	 * @throws IOException Error if stream cannot be written
+	 */
+	public void writeBinary(@NotNull OutputStream stream) throws IOException {
+		writeBinary(stream, Collections.emptyMap());
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Static methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Compile template from xml document
+	 *
+	 * @param document Target xml document
+	 * @return {@link MenuTemplate} Template result
+	 */
+	public static MenuTemplate compile(@NotNull Document document) {
+		Element rootEl = document.getDocumentElement();
+		Type type = Type.fromName(rootEl.getNodeName());
+
+		if (type == Type.UNKNOWN)
+			return new MenuTemplate(type, new Entry(Entry.MENU, null, null, null, false, null, true, EMPTY_ENTRIES));
+
+		return new MenuTemplate(type, compileEntry(Entry.MENU, rootEl));
+	}
+
+	/**
+	 * Compile template from xml stream
+	 *
+	 * @param stream Target xml stream
+	 * @return {@link MenuTemplate} Template result
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public static MenuTemplate compile(@NotNull InputStream stream) throws XMLStreamException {
+		XMLStreamReader reader = MenuLoader.createReader(stream);
+		try {
+			while (reader.hasNext()) {
+				if (reader.next() != XMLStreamConstants.START_ELEMENT) continue;
+
+				Type type = Type.fromName(reader.getLocalName());
+				if (type == Type.UNKNOWN) break;
+
+				return new MenuTemplate(type, readEntry(Entry.MENU, reader));
+			}
+		} finally {
+			reader.close();
+		}
+
+		return new MenuTemplate(Type.UNKNOWN, new Entry(Entry.MENU, null, null, null, false, null, true, EMPTY_ENTRIES));
+	}
+
+	/**
+	 * Compile template from xml file
+	 *
+	 * @param path Target file location
+	 * @return {@link MenuTemplate} Template result
+	 * @throws IOException        Error if file cannot be read
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public static MenuTemplate compile(@NotNull Path path) throws IOException, XMLStreamException {
+		try (InputStream stream = Files.newInputStream(path)) {
+			return compile(stream);
+		}
+	}
+
+	/**
+	 * Compile template from xml url
+	 *
+	 * @param url Target resource location
+	 * @return {@link MenuTemplate} Template result
+	 * @throws IOException        Error if resource cannot be read
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public static MenuTemplate compile(@NotNull URL url) throws IOException, XMLStreamException {
+		try (InputStream stream = url.openStream()) {
+			return compile(stream);
+		}
+	}
+
+	/**
+	 * Read template from compact binary format.
+	 * Binary files are created with {@link #writeBinary(OutputStream)} or the {@code compileMenus} build task.
+	 *
+	 * @param stream Target binary stream
+	 * @return {@link MenuTemplate} Template result
+	 * @throws IOException Error if stream cannot be read or is not a binary menu
+	 */
+	public static MenuTemplate readBinary(@NotNull InputStream stream) throws IOException {
+		DataInputStream input = new DataInputStream(stream instanceof BufferedInputStream ?
+			stream :
+			new BufferedInputStream(stream));
+		Map<String, MenuBinaryFormat.Raster> rasters = new HashMap<>();
+		MenuTemplate template = MenuBinaryFormat.read(input, rasters);
+		template.pendingRasters.putAll(rasters);
+
+		return template;
+	}
+
+	/**
+	 * Read template from compact binary file
+	 *
+	 * @param path Target file location
+	 * @return {@link MenuTemplate} Template result
+	 * @throws IOException Error if file cannot be read or is not a binary menu
+	 */
+	public static MenuTemplate readBinary(@NotNull Path path) throws IOException {
+		try (InputStream stream = Files.newInputStream(path)) {
+			return readBinary(stream);
+		}
+	}
+
+	/**
+	 * Read template from compact binary url
+	 *
+	 * @param url Target resource location
+	 * @return {@link MenuTemplate} Template result
+	 * @throws IOException Error if resource cannot be read or is not a binary menu
+	 */
+	public static MenuTemplate readBinary(@NotNull URL url) throws IOException {
+		try (InputStream stream = url.openStream()) {
+			return readBinary(stream);
+		}
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create new top level menus with icons decoded by {@link #decodeIcons(Consumer)}.
+	 *
+	 * @param parameters   Creation parameters
+	 * @param decodedIcons Decoded icons by entry or {@code null} to load icons with parameters
+	 * @return {@link LoadedMenu} Menus result
+	 * @see #createMenus(MenuParameters)
+	 */
+	LoadedMenu<List<Menu>> createMenus(@NotNull MenuParameters parameters, @Nullable Map<Entry, Image> decodedIcons) {
+		return createMenus(new Instantiation(this, parameters, decodedIcons));
+	}
+
+	/**
+	 * Create new top level menus with creation state
+	 *
+	 * @param instantiation Creation state
+	 * @return {@link LoadedMenu} Menus result
+	 * @see #createMenus(MenuParameters)
+	 */
+	LoadedMenu<List<Menu>> createMenus(@NotNull Instantiation instantiation) {
+		List<Menu> menus = new ArrayList<>();
+
+		if (type == Type.MENU) {
+			menus.add(instantiation.createMenu(root));
+		} else if (type == Type.MENU_BAR) {
+			for (Entry child : root.children) {
+				if (child.kind == Entry.MENU) menus.add(instantiation.createMenu(child));
+			}
+		}
+
+		return instantiation.finish(menus);
+	}
+
+	/**
+	 * Decode all template icons in the current thread. Images are shared through
+	 * {@link ImageCache#getShared()}.
+	 *
+	 * @param errors Called with each icon that cannot be loaded
+	 * @return {@link Map} decoded icons by entry. Icons with errors are not included
+	 */
+	Map<Entry, Image> decodeIcons(@NotNull Consumer<Exception> errors) {
+		Map<Entry, Image> icons = new IdentityHashMap<>();
+		decodeIcons(root, icons, errors);
+
+		return icons;
+	}
+
+	/**
+	 * Write template in binary format with pre-rasterized icons
+	 *
+	 * @param stream  Target output stream
+	 * @param rasters Pre-rasterized icons by icon location
+	 * @throws IOException Error if stream cannot be written
+	 */
+	void writeBinary(@NotNull OutputStream stream, @NotNull Map<String, MenuBinaryFormat.Raster> rasters) throws IOException {
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+		MenuBinaryFormat.write(output, type, root, rasters);
+		output.flush();
+	}
+
+	/**
+	 * Get all icon locations used by resized icons
+	 *
+	 * @return {@link Set} icon locations
+	 */
+	Set<String> getResizedIcons() {
+		Set<String> icons = new LinkedHashSet<>();
+		collectResizedIcons(root, icons);
+
+		return icons;
+	}
+
+	/**
+	 * Add pre-rasterized icon to the shared icon cache.
+	 * Each raster is only added once; later requests use the cache like any other icon.
+	 *
+	 * @param location Icon location
+	 */
+	private void primeRaster(@NotNull String location) {
+		MenuBinaryFormat.Raster raster = pendingRasters.remove(location);
+		if (raster == null) return;
+
+		try {
+			URL locationURL = MenuLoader.resolveIconLocation(location);
+			WritableImage image = new WritableImage(raster.width, raster.height);
+			image.getPixelWriter().setPixels(
+				0, 0, raster.width, raster.height,
+				PixelFormat.getIntArgbInstance(),
+				raster.pixels, 0, raster.width
+			);
+
+			ImageCache.getShared().putIfAbsent(MenuLoader.iconKey(locationURL, true), image);
+		} catch (Exception ignored) {
+			// Icon is decoded from its location
+		}
+	}
+
+	/**
+	 * Decode entry icons recursively
+	 *
+	 * @param entry  Target entry
+	 * @param icons  Target map to fill
+	 * @param errors Icon error handler
+	 */
+	private void decodeIcons(@NotNull Entry entry, @NotNull Map<Entry, Image> icons, @NotNull Consumer<Exception> errors) {
+		if (entry.icon != null) {
+			if (entry.resizeIcon && !pendingRasters.isEmpty())
+				primeRaster(entry.icon);
+			try {
+				URL locationURL = MenuLoader.resolveIconLocation(entry.icon);
+				icons.put(entry, ImageCache.getShared().get(
+					MenuLoader.iconKey(locationURL, entry.resizeIcon),
+					() -> MenuLoader.decodeIcon(locationURL, entry.resizeIcon)
+				));
+			} catch (Exception err) {
+				errors.accept(err);
+			}
+		}
+
+		for (Entry child : entry.children) decodeIcons(child, icons, errors);
+	}
+
+	/**
+	 * Collect icon locations used by resized icons
+	 *
+	 * @param entry Target entry
+	 * @param icons Target set to fill
+	 */
+	private static void collectResizedIcons(@NotNull Entry entry, @NotNull Set<String> icons) {
+		if (entry.icon != null && entry.resizeIcon) icons.add(entry.icon);
+		for (Entry child : entry.children) collectResizedIcons(child, icons);
+	}
+
+	/**
+	 * Compile entry from xml element
+	 *
+	 * @param kind    Entry kind
+	 * @param element Target xml element
+	 * @return {@link Entry} Entry result
+	 */
+	private static Entry compileEntry(byte kind, @NotNull Element element) {
+		List<Entry> children = new ArrayList<>();
+		NodeList nodeList = element.getChildNodes();
+
+		if (kind == Entry.MENU) {
+			for (int i = 0; i < nodeList.getLength(); i++) {
+				Node current = nodeList.item(i);
+				String name = current.getNodeName();
+
+				if (name.equals(MenuLoader.MENU_NAME)) children.add(compileEntry(Entry.MENU, (Element) current));
+				if (name.equals(MenuLoader.ITEM_NAME)) children.add(compileEntry(Entry.ITEM, (Element) current));
+				if (name.equals(MenuLoader.SEPARATOR_NAME)) children.add(Entry.SEPARATOR_ENTRY);
+			}
+		}
+
+		return Entry.of(kind, MenuLoader.attributesOf(element), children);
+	}
+
+	/**
+	 * Read entry from current reader element. The reader ends at the element end.
+	 *
+	 * @param kind   Entry kind
+	 * @param reader Target stream reader
+	 * @return {@link Entry} Entry result
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	private static Entry readEntry(byte kind, @NotNull XMLStreamReader reader) throws XMLStreamException {
+		Entry attributes = Entry.of(kind, MenuLoader.attributesOf(reader), null);
+		List<Entry> children = new ArrayList<>();
+
+		if (kind != Entry.MENU) {
+			MenuLoader.skipElement(reader);
+			return attributes;
+		}
+
+		while (reader.hasNext()) {
+			int event = reader.next();
+
+			if (event == XMLStreamConstants.END_ELEMENT) break;
+			if (event != XMLStreamConstants.START_ELEMENT) continue;
+
+			String name = reader.getLocalName();
+			if (name.equals(MenuLoader.MENU_NAME)) {
+				children.add(readEntry(Entry.MENU, reader));
+			} else if (name.equals(MenuLoader.ITEM_NAME)) {
+				children.add(readEntry(Entry.ITEM, reader));
+			} else {
+				if (name.equals(MenuLoader.SEPARATOR_NAME)) children.add(Entry.SEPARATOR_ENTRY);
+				MenuLoader.skipElement(reader);
+			}
+		}
+
+		return attributes.withChildren(children);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Template root type
+	 */
+	public enum Type {
+
+		/**
+		 * Template created from {@code menu-root} element
+		 */
+		MENU("menu-root"),
+
+		/**
+		 * Template created from {@code menu-context} element
+		 */
+		CONTEXT_MENU("menu-context"),
+
+		/**
+		 * Template created from {@code menu-bar} element
+		 */
+		MENU_BAR("menu-bar"),
+
+		/**
+		 * Unknown root element. This template creates empty menus.
+		 */
+		UNKNOWN("");
+
+		/**
+		 * Xml root element name
+		 */
+		private final String rootName;
+
+		/**
+		 * Create type with root name
+		 *
+		 * @param rootName Xml root element name
+		 */
+		Type(String rootName) {
+			this.rootName = rootName;
+		}
+
+		/**
+		 * Get type from root element name
+		 *
+		 * @param name Root element name
+		 * @return {@link Type} type result or {@link #UNKNOWN} if name is not valid
+		 */
+		static Type fromName(@NotNull String name) {
+			for (Type type : values()) {
+				if (type != UNKNOWN && type.rootName.equals(name)) return type;
+			}
+
+			return UNKNOWN;
+		}
+
+	}
+
+	/**
+	 * Menu creation state
+	 */
+	static final class Instantiation {
+
+		/**
+		 * Source template
+		 */
+		private final MenuTemplate template;
+
+		/**
+		 * Background icon loader or {@code null} to load icons synchronously
+		 */
+		private final MenuIconLoader iconLoader;
+
+		/**
+		 * Create submenu items when submenu is shown
+		 */
+		private final boolean lazySubmenus;
+
+		/**
+		 * Remove lazy submenu items when submenu is hidden
+		 */
+		private final boolean releaseOnHide;
+
+		/**
+		 * Action handlers or {@code null} if not exists
+		 */
+		private final MenuActionRegistry actionRegistry;
+
+		/**
+		 * Decoded icons by entry or {@code null} to load icons on demand
+		 */
+		private final Map<Entry, Image> decodedIcons;
+
+		/**
+		 * Created items by id
+		 */
+		private final Map<String, MenuItem> items = new HashMap<>();
+
+		/**
+		 * Number of icons in progress. Starts with one until creation finish.
+		 */
+		private final AtomicInteger pendingIcons = new AtomicInteger(1);
+
+		/**
+		 * Icons load state
+		 */
+		private final CompletableFuture<Void> iconsLoaded = new CompletableFuture<>();
+
+		/**
+		 * Lazy children listener or {@code null} if not exists
+		 */
+		private ChildrenListener childrenListener;
+
+		/**
+		 * Create instantiation state
+		 *
+		 * @param template   Source template
+		 * @param parameters Creation parameters
+		 */
+		Instantiation(@NotNull MenuTemplate template, @NotNull MenuParameters parameters) {
+			this(template, parameters, null);
+		}
+
+		/**
+		 * Create instantiation state with decoded icons
+		 *
+		 * @param template     Source template
+		 * @param parameters   Creation parameters
+		 * @param decodedIcons Decoded icons by entry or {@code null} to load icons on demand
+		 */
+		Instantiation(@NotNull MenuTemplate template, @NotNull MenuParameters parameters, @Nullable Map<Entry, Image> decodedIcons) {
+			this.template = template;
+			this.decodedIcons = decodedIcons;
+			iconLoader = parameters.getIconLoader();
+			lazySubmenus = parameters.isLazySubmenus();
+			releaseOnHide = parameters.isReleaseOnHide();
+			actionRegistry = parameters.getActionRegistry();
+		}
+
+		/**
+		 * Create menu from entry
+		 *
+		 * @param entry Target menu entry
+		 * @return {@link Menu} Menu result
+		 */
+		Menu createMenu(@NotNull Entry entry) {
+			Menu resultMenu = configureItem(new Menu(), entry);
+			if (lazySubmenus && entry.children.length > 0)
+				new LazyChildren(this, resultMenu, entry, releaseOnHide);
+			else
+				createChildren(entry, resultMenu.getItems());
+
+			return resultMenu;
+		}
+
+		/**
+		 * Create all entry children
+		 *
+		 * @param entry Target parent entry
+		 * @param items Target list to fill
+		 */
+		void createChildren(@NotNull Entry entry, @NotNull List<MenuItem> items) {
+			for (Entry child : entry.children) items.add(createItem(child));
+		}
+
+		/**
+		 * Create item of any entry kind
+		 *
+		 * @param entry Target entry
+		 * @return {@link MenuItem} item result
+		 */
+		MenuItem createItem(@NotNull Entry entry) {
+			switch (entry.kind) {
+				case Entry.MENU:
+					return createMenu(entry);
+				case Entry.ITEM:
+					return configureItem(new MenuItem(), entry);
+				default:
+					return new SeparatorMenuItem();
+			}
+		}
+
+		/**
+		 * Set listener of lazy children created later by this state
+		 *
+		 * @param childrenListener Target listener or {@code null} to remove it
+		 */
+		void setChildrenListener(@Nullable ChildrenListener childrenListener) {
+			this.childrenListener = childrenListener;
+		}
+
+		/**
+		 * Called when lazy menu items are created
+		 *
+		 * @param entry Menu entry
+		 * @param items Created items
+		 */
+		void childrenCreated(@NotNull Entry entry, @NotNull List<MenuItem> items) {
+			if (childrenListener != null) childrenListener.created(entry, items);
+		}
+
+		/**
+		 * Called when lazy menu items are removed. Released items and their children are
+		 * removed from the id index, so it never points to detached items.
+		 *
+		 * @param released Removed items
+		 */
+		void childrenReleased(@NotNull List<MenuItem> released) {
+			forget(released);
+			if (childrenListener != null) childrenListener.released(released);
+		}
+
+		/**
+		 * Remove items and their children from the id index
+		 *
+		 * @param released Removed items
+		 */
+		private void forget(@NotNull List<MenuItem> released) {
+			for (MenuItem item : released) {
+				if (item.getId() != null) items.remove(item.getId(), item);
+				if (item instanceof Menu) forget(((Menu) item).getItems());
+			}
+		}
+
+		/**
+		 * Finish creation
+		 *
+		 * @param menu Created menu
+		 * @param <T>  Menu type
+		 * @return {@link LoadedMenu} menu result
+		 */
+		<T> LoadedMenu<T> finish(@NotNull T menu) {
+			iconDone();
+			return new LoadedMenu<>(menu, iconsLoaded, items);
+		}
+
+		/**
+		 * Apply entry information to menu item
+		 *
+		 * @param item  Target item to configure
+		 * @param entry Entry information
+		 * @param <T>   Menu item type
+		 * @return Same item with information applied
+		 */
+		private <T extends MenuItem> T configureItem(@NotNull T item, @NotNull Entry entry) {
+			item.setText(entry.text);
+			if (entry.id != null) {
+				item.setId(entry.id);
+				items.put(entry.id, item);
+			}
+			applyAction(item, entry);
+			if (entry.disabled)
+				item.setDisable(true);
+			if (entry.icon != null) {
+				ImageView imageView = createIcon(entry);
+				if (imageView != null) item.setGraphic(imageView);
+			}
+
+			return item;
+		}
+
+		/**
+		 * Apply registered action handler to menu item
+		 *
+		 * @param item  Target item
+		 * @param entry Entry information
+		 */
+		void applyAction(@NotNull MenuItem item, @NotNull Entry entry) {
+			EventHandler<ActionEvent> handler = findAction(entry);
+			if (handler != null) item.setOnAction(handler);
+		}
+
+		/**
+		 * Find registered action handler of entry
+		 *
+		 * @param entry Entry information
+		 * @return {@link EventHandler} registered handler or {@code null} if not exists
+		 */
+		@Nullable
+		EventHandler<ActionEvent> findAction(@NotNull Entry entry) {
+			if (actionRegistry == null) return null;
+
+			String action = entry.action != null ? entry.action : entry.id;
+			return action == null ? null : actionRegistry.getHandler(action);
+		}
+
+		/**
+		 * Create entry icon
+		 *
+		 * @param entry Entry with icon
+		 * @return {@link ImageView} icon view or {@code null} if icon cannot be loaded
+		 */
+		@Nullable
+		ImageView createIcon(@NotNull Entry entry) {
+			if (decodedIcons != null) {
+				// Icon errors were already reported while decoding
+				Image image = decodedIcons.get(entry);
+				return image == null ? null : new ImageView(image);
+			}
+			if (entry.resizeIcon && !template.pendingRasters.isEmpty())
+				template.primeRaster(entry.icon);
+			if (iconLoader == null)
+				return MenuLoader.loadImageView(entry.icon, entry.resizeIcon);
+
+			pendingIcons.incrementAndGet();
+			return iconLoader.load(entry.icon, entry.resizeIcon, this::iconDone);
+		}
+
+		/**
+		 * Called when an icon is applied
+		 */
+		private void iconDone() {
+			if (pendingIcons.decrementAndGet() == 0)
+				iconsLoaded.complete(null);
+		}
+
+	}
+
+	/**
+	 * Lazy children listener
+	 */
+	interface ChildrenListener {
+
+		/**
+		 * Called in JavaFX thread when lazy menu items are created
+		 *
+		 * @param entry Menu entry
+		 * @param items Created items in entry children order
+		 */
+		void created(@NotNull Entry entry, @NotNull List<MenuItem> items);
+
+		/**
+		 * Called in JavaFX thread when lazy menu items are removed
+		 *
+		 * @param items Removed items
+		 */
+		void released(@NotNull List<MenuItem> items);
+
+	}
+
+	/**
+	 * Lazy menu children.
+	 * The menu contains a single placeholder item until it is shown, so JavaFX still
+	 * displays it as a submenu.
+	 */
+	static final class LazyChildren implements EventHandler<Event> {
+
+		/**
+		 * Menu property key
+		 */
+		private static final String PROPERTY_KEY = LazyChildren.class.getName();
+
+		/**
+		 * Creation state
+		 */
+		private final Instantiation instantiation;
+
+		/**
+		 * Target menu
+		 */
+		private final Menu menu;
+
+		/**
+		 * Placeholder item
+		 */
+		private final MenuItem placeholder = new MenuItem("...");
+
+		/**
+		 * Menu entry
+		 */
+		private Entry entry;
+
+		/**
+		 * Create lazy children and attach them to the menu
+		 *
+		 * @param instantiation Creation state
+		 * @param menu          Target menu
+		 * @param entry         Menu entry
+		 * @param releaseOnHide Remove items when menu is hidden
+		 */
+		LazyChildren(@NotNull Instantiation instantiation, @NotNull Menu menu, @NotNull Entry entry, boolean releaseOnHide) {
+			this.instantiation = instantiation;
+			this.menu = menu;
+			this.entry = entry;
+
+			placeholder.setDisable(true);
+			menu.getItems().setAll(placeholder);
+			menu.getProperties().put(PROPERTY_KEY, this);
+			menu.addEventHandler(Menu.ON_SHOWING, this);
+			if (releaseOnHide)
+				menu.addEventHandler(Menu.ON_HIDDEN, event -> release());
+		}
+
+		/**
+		 * Get lazy children of menu
+		 *
+		 * @param menu Target menu
+		 * @return {@link LazyChildren} lazy children or {@code null} if menu is not lazy
+		 */
+		@Nullable
+		static LazyChildren of(@NotNull Menu menu) {
+			Object lazy = menu.getProperties().get(PROPERTY_KEY);
+			return lazy instanceof LazyChildren ? (LazyChildren) lazy : null;
+		}
+
+		/**
+		 * Check if menu items were not created yet
+		 *
+		 * @return {@code true} if menu only contains the placeholder or {@code false} otherwise
+		 */
+		boolean isPending() {
+			List<MenuItem> items = menu.getItems();
+			return items.size() == 1 && items.get(0) == placeholder;
+		}
+
+		/**
+		 * Change menu entry. Used by the next materialization.
+		 *
+		 * @param entry New menu entry
+		 */
+		void setEntry(@NotNull Entry entry) {
+			this.entry = entry;
+		}
+
+		/**
+		 * Create menu items if not exists
+		 */
+		void materialize() {
+			if (!isPending()) return;
+
+			List<MenuItem> items = new ArrayList<>(entry.children.length);
+			instantiation.createChildren(entry, items);
+			menu.getItems().setAll(items);
+			instantiation.childrenCreated(entry, items);
+		}
+
+		/**
+		 * Remove menu items and restore the placeholder
+		 */
+		void release() {
+			if (isPending()) return;
+
+			List<MenuItem> released = new ArrayList<>(menu.getItems());
+			menu.getItems().setAll(placeholder);
+			instantiation.childrenReleased(released);
+		}
+
+		@Override
+		public void handle(Event event) {
+			materialize();
+		}
+
+	}
+
+	/**
+	 * Immutable menu node description
+	 */
+	static final class Entry {
+
+		/**
+		 * Menu item kind
+		 */
+		static final byte ITEM = 0;
+
+		/**
+		 * Menu kind
+		 */
+		static final byte MENU = 1;
+
+		/**
+		 * Separator kind
+		 */
+		static final byte SEPARATOR = 2;
+
+		/**
+		 * Shared separator entry
+		 */
+		static final Entry SEPARATOR_ENTRY = new Entry(SEPARATOR, null, null, null, false, null, true, EMPTY_ENTRIES);
+
+		/**
+		 * Entry kind
+		 */
+		final byte kind;
+
+		/**
+		 * Item text
+		 */
+		final String text;
+
+		/**
+		 * Item id or {@code null} if not exists
+		 */
+		final String id;
+
+		/**
+		 * Item action name or {@code null} if not exists
+		 */
+		final String action;
+
+		/**
+		 * Item disabled state
+		 */
+		final boolean disabled;
+
+		/**
+		 * Item icon location or {@code null} if not exists
+		 */
+		final String icon;
+
+		/**
+		 * Resize icon
+		 */
+		final boolean resizeIcon;
+
+		/**
+		 * Children entries
+		 */
+		final Entry[] children;
+
+		/**
+		 * Create entry with all information
+		 *
+		 * @param kind       Entry kind
+		 * @param text       Item text
+		 * @param id         Item id
+		 * @param action     Item action name
+		 * @param disabled   Item disabled state
+		 * @param icon       Item icon location
+		 * @param resizeIcon Resize icon
+		 * @param children   Children entries
+		 */
+		Entry(
+			byte kind,
+			@Nullable String text,
+			@Nullable String id,
+			@Nullable String action,
+			boolean disabled,
+			@Nullable String icon,
+			boolean resizeIcon,
+			@NotNull Entry[] children) {
+			this.kind = kind;
+			this.text = text == null ? "" : text;
+			this.id = id;
+			this.action = action;
+			this.disabled = disabled;
+			this.icon = icon;
+			this.resizeIcon = resizeIcon;
+			this.children = children;
+		}
+
+		/**
+		 * Create entry from node attributes
+		 *
+		 * @param kind       Entry kind
+		 * @param attributes Node attributes
+		 * @param children   Children entries or {@code null} if entry has not children
+		 * @return {@link Entry} Entry result
+		 */
+		static Entry of(byte kind, @NotNull MenuLoader.AttributeSource attributes, @Nullable List<Entry> children) {
+			String disabled = attributes.get("disabled");
+			String resizeIcon = attributes.get("resize-icon");
+
+			return new Entry(
+				kind,
+				attributes.get("text"),
+				attributes.get("id"),
+				attributes.get("action"),
+				disabled != null && MenuLoader.parseText(disabled),
+				attributes.get("icon"),
+				resizeIcon == null || MenuLoader.parseText(resizeIcon),
+				toArray(children)
+			);
+		}
+
+		/**
+		 * Create copy of this entry with other children
+		 *
+		 * @param children Children entries
+		 * @return {@link Entry} Entry result
+		 */
+		Entry withChildren(@Nullable List<Entry> children) {
+			return new Entry(kind, text, id, action, disabled, icon, resizeIcon, toArray(children));
+		}
+
+		/**
+		 * Convert entry list to array
+		 *
+		 * @param children Target list
+		 * @return Entry array
+		 */
+		private static Entry[] toArray(@Nullable List<Entry> children) {
+			if (children == null || children.isEmpty())
+				return EMPTY_ENTRIES;
+
+			return children.toArray(EMPTY_ENTRIES);
+		}
+
+	}
+
+}
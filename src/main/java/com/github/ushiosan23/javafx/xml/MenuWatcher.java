@@ -0,0 +1,770 @@
+package com.github.ushiosan23.javafx.xml;
+
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Menu;
+import javafx.scene.control.MenuBar;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.SeparatorMenuItem;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watch menu xml files and apply their changes to live menus.
+ * Only the changed file is parsed again. The new structure is compared with the live menu by item
+ * {@code id} and only the differences are applied, so existing items keep their listeners and icons.
+ * <p>
+ * The xml file is the source of truth: items added to a watched menu by other code are removed
+ * in the next reload unless they have an {@code id} declared in the file.
+ */
+public final class MenuWatcher implements Closeable {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Time to wait for more file events before reloading (editors usually write files in many steps)
+	 */
+	private static final long DEBOUNCE_MILLIS = 100;
+
+	/**
+	 * File system watch service
+	 */
+	private final WatchService watchService;
+
+	/**
+	 * Registered directories
+	 */
+	private final Set<Path> directories = new HashSet<>();
+
+	/**
+	 * Live menus by absolute file location
+	 */
+	private final Map<Path, Binding> bindings = new ConcurrentHashMap<>();
+
+	/**
+	 * Parameters used to create new items
+	 */
+	private final MenuParameters parameters;
+
+	/**
+	 * Watch thread
+	 */
+	private final Thread watchThread;
+
+	/**
+	 * Reload error handler
+	 */
+	private volatile Consumer<Exception> errorHandler;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create watcher with custom creation parameters
+	 *
+	 * @param parameters Parameters used to create new items
+	 * @throws IOException Error if watch service cannot be created
+	 */
+	public MenuWatcher(@NotNull MenuParameters parameters) throws IOException {
+		this.parameters = parameters;
+		watchService = FileSystems.getDefault().newWatchService();
+		watchThread = new Thread(this::watchLoop, "menu-watcher");
+		watchThread.setDaemon(true);
+		watchThread.start();
+	}
+
+	/**
+	 * Create watcher with default parameters
+	 *
+	 * @throws IOException Error if watch service cannot be created
+	 */
+	public MenuWatcher() throws IOException {
+		this(new MenuParameters());
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Load menu from file and keep it updated
+	 *
+	 * @param file Target xml file with {@code menu-root} root
+	 * @return {@link Menu} live menu
+	 * @throws IOException        Error if file cannot be read or watched
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public Menu watchMenu(@NotNull Path file) throws IOException, XMLStreamException {
+		MenuTemplate template = MenuTemplate.compile(file);
+		MenuTemplate.Instantiation instantiation = new MenuTemplate.Instantiation(template, parameters);
+		Menu menu = template.createMenu(instantiation).getMenu();
+		register(file, new MenuBinding(template, menu), instantiation);
+
+		return menu;
+	}
+
+	/**
+	 * Load context menu from file and keep it updated
+	 *
+	 * @param file Target xml file with {@code menu-context} root
+	 * @return {@link ContextMenu} live context menu
+	 * @throws IOException        Error if file cannot be read or watched
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public ContextMenu watchContextMenu(@NotNull Path file) throws IOException, XMLStreamException {
+		MenuTemplate template = MenuTemplate.compile(file);
+		MenuTemplate.Instantiation instantiation = new MenuTemplate.Instantiation(template, parameters);
+		ContextMenu contextMenu = template.createContextMenu(instantiation).getMenu();
+		register(file, new ContextMenuBinding(template, contextMenu), instantiation);
+
+		return contextMenu;
+	}
+
+	/**
+	 * Load menu bar from file and keep it updated
+	 *
+	 * @param file Target xml file with {@code menu-bar} root
+	 * @return {@link MenuBar} live menu bar
+	 * @throws IOException        Error if file cannot be read or watched
+	 * @throws XMLStreamException Error if xml content is not valid
+	 */
+	public MenuBar watchMenuBar(@NotNull Path file) throws IOException, XMLStreamException {
+		MenuTemplate template = MenuTemplate.compile(file);
+		MenuTemplate.Instantiation instantiation = new MenuTemplate.Instantiation(template, parameters);
+		MenuBar menuBar = template.createMenuBar(instantiation).getMenu();
+		register(file, new MenuBarBinding(template, menuBar), instantiation);
+
+		return menuBar;
+	}
+
+	/**
+	 * Stop updating the menu of a file. The menu keeps its current state.
+	 *
+	 * @param file Target xml file
+	 */
+	public void unwatch(@NotNull Path file) {
+		bindings.remove(file.toAbsolutePath().normalize());
+	}
+
+	/**
+	 * Set reload error handler. By default, errors are written to the {@link System.Logger} of this
+	 * class.
+	 *
+	 * @param errorHandler Target handler or {@code null} to use default handler
+	 */
+	public void setOnError(@Nullable Consumer<Exception> errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Stop watching all files
+	 *
+	 * @throws IOException Error if watch service cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		bindings.clear();
+		watchService.close();
+		watchThread.interrupt();
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Register file binding
+	 *
+	 * @param file          Target xml file
+	 * @param binding       Live menu binding
+	 * @param instantiation Creation state of the live menu
+	 * @throws IOException Error if file directory cannot be watched
+	 */
+	private void register(
+		@NotNull Path file,
+		@NotNull Binding binding,
+		@NotNull MenuTemplate.Instantiation instantiation) throws IOException {
+		// Lazy items created later are recorded like the initial items
+		instantiation.setChildrenListener(binding);
+
+		Path absoluteFile = file.toAbsolutePath().normalize();
+		Path directory = Objects.requireNonNull(absoluteFile.getParent(), "File has no parent directory.");
+
+		synchronized (directories) {
+			if (!directories.contains(directory)) {
+				directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+				directories.add(directory);
+			}
+		}
+
+		bindings.put(absoluteFile, binding);
+	}
+
+	/**
+	 * Watch thread loop
+	 */
+	private void watchLoop() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				Set<Path> changed = new LinkedHashSet<>();
+				collectChanges(watchService.take(), changed);
+
+				// Wait until file writing finish
+				WatchKey next;
+				while ((next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null)
+					collectChanges(next, changed);
+
+				for (Path file : changed) reload(file);
+			}
+		} catch (InterruptedException | ClosedWatchServiceException ignored) {
+			// Watcher closed
+		}
+	}
+
+	/**
+	 * Collect changed files of watch key
+	 *
+	 * @param key     Target watch key
+	 * @param changed Set to fill with changed watched files
+	 */
+	private void collectChanges(@NotNull WatchKey key, @NotNull Set<Path> changed) {
+		Path directory = (Path) key.watchable();
+
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				for (Path file : bindings.keySet()) {
+					if (directory.equals(file.getParent())) changed.add(file);
+				}
+				continue;
+			}
+
+			Path file = directory.resolve((Path) event.context()).normalize();
+			if (bindings.containsKey(file)) changed.add(file);
+		}
+
+		key.reset();
+	}
+
+	/**
+	 * Parse file again and apply changes in JavaFX thread
+	 *
+	 * @param file Changed file
+	 */
+	private void reload(@NotNull Path file) {
+		Binding binding = bindings.get(file);
+		if (binding == null) return;
+
+		MenuTemplate template;
+		try {
+			template = MenuTemplate.compile(file);
+		} catch (Exception err) {
+			reportError(err);
+			return;
+		}
+
+		Platform.runLater(() -> {
+			try {
+				MenuTemplate.Instantiation instantiation = new MenuTemplate.Instantiation(template, parameters);
+				instantiation.setChildrenListener(binding);
+				binding.apply(template, instantiation);
+			} catch (Exception err) {
+				reportError(err);
+			}
+		});
+	}
+
+	/**
+	 * Report reload error
+	 *
+	 * @param err Target error
+	 */
+	private void reportError(@NotNull Exception err) {
+		Consumer<Exception> handler = errorHandler;
+		if (handler != null)
+			handler.accept(err);
+		else
+			System.getLogger(MenuWatcher.class.getName()).log(System.Logger.Level.WARNING, "Menu cannot be reloaded.", err);
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal classes
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Live menu binding. All methods are called in JavaFX thread after creation.
+	 */
+	private static abstract class Binding implements MenuTemplate.ChildrenListener {
+
+		/**
+		 * Entry used to create or update each live item
+		 */
+		private Map<MenuItem, MenuTemplate.Entry> itemEntries = new IdentityHashMap<>();
+
+		/**
+		 * Root type of the live menu
+		 */
+		private final MenuTemplate.Type type;
+
+		/**
+		 * Create binding
+		 *
+		 * @param template Template used to create the live menu
+		 */
+		Binding(@NotNull MenuTemplate template) {
+			type = template.getType();
+		}
+
+		/**
+		 * Apply new template to live menu
+		 *
+		 * @param template      New template
+		 * @param instantiation Creation state for new items
+		 */
+		final void apply(@NotNull MenuTemplate template, @NotNull MenuTemplate.Instantiation instantiation) {
+			if (template.getType() != type)
+				throw new IllegalStateException("Menu root changed from " + type + " to " + template.getType() + ".");
+
+			Map<MenuItem, MenuTemplate.Entry> lastEntries = itemEntries;
+			itemEntries = new IdentityHashMap<>();
+			applyRoot(template.getRoot(), new Diff(lastEntries, itemEntries, instantiation));
+		}
+
+		/**
+		 * Record the entries of a new live list
+		 *
+		 * @param items   Live items
+		 * @param entries Entries used to create the items
+		 */
+		final void recordAll(@NotNull List<? extends MenuItem> items, @NotNull List<MenuTemplate.Entry> entries) {
+			Diff.recordAll(itemEntries, items, entries);
+		}
+
+		/**
+		 * Record the entry of a new live item and its children
+		 *
+		 * @param item  Live item
+		 * @param entry Entry used to create the item
+		 */
+		final void record(@NotNull MenuItem item, @NotNull MenuTemplate.Entry entry) {
+			Diff.record(itemEntries, item, entry);
+		}
+
+		@Override
+		public final void created(@NotNull MenuTemplate.Entry entry, @NotNull List<MenuItem> items) {
+			recordAll(items, Diff.children(entry, false));
+		}
+
+		@Override
+		public final void released(@NotNull List<MenuItem> items) {
+			for (MenuItem item : items) {
+				itemEntries.remove(item);
+				if (item instanceof Menu) released(((Menu) item).getItems());
+			}
+		}
+
+		/**
+		 * Apply new root entry
+		 *
+		 * @param root New root entry
+		 * @param diff Diff state
+		 */
+		abstract void applyRoot(@NotNull MenuTemplate.Entry root, @NotNull Diff diff);
+
+	}
+
+	/**
+	 * Binding for {@code menu-root} files
+	 */
+	private static final class MenuBinding extends Binding {
+
+		/**
+		 * Live menu
+		 */
+		private final Menu menu;
+
+		/**
+		 * Root entry of last applied template
+		 */
+		private MenuTemplate.Entry rootEntry;
+
+		/**
+		 * Create binding
+		 *
+		 * @param template Template used to create the live menu
+		 * @param menu     Live menu
+		 */
+		MenuBinding(@NotNull MenuTemplate template, @NotNull Menu menu) {
+			super(template);
+			this.menu = menu;
+			rootEntry = template.getRoot();
+			// Items of a lazy root are recorded when they are created
+			record(menu, rootEntry);
+		}
+
+		@Override
+		void applyRoot(@NotNull MenuTemplate.Entry root, @NotNull Diff diff) {
+			diff.updateItem(menu, rootEntry, root);
+			rootEntry = root;
+		}
+
+	}
+
+	/**
+	 * Binding for {@code menu-context} files
+	 */
+	private static final class ContextMenuBinding extends Binding {
+
+		/**
+		 * Live context menu
+		 */
+		private final ContextMenu contextMenu;
+
+		/**
+		 * Create binding
+		 *
+		 * @param template    Template used to create the live menu
+		 * @param contextMenu Live context menu
+		 */
+		ContextMenuBinding(@NotNull MenuTemplate template, @NotNull ContextMenu contextMenu) {
+			super(template);
+			this.contextMenu = contextMenu;
+			recordAll(contextMenu.getItems(), Diff.children(template.getRoot(), false));
+		}
+
+		@Override
+		void applyRoot(@NotNull MenuTemplate.Entry root, @NotNull Diff diff) {
+			diff.updateList(contextMenu.getItems(), Diff.children(root, false), MenuItem.class);
+		}
+
+	}
+
+	/**
+	 * Binding for {@code menu-bar} files
+	 */
+	private static final class MenuBarBinding extends Binding {
+
+		/**
+		 * Live menu bar
+		 */
+		private final MenuBar menuBar;
+
+		/**
+		 * Create binding
+		 *
+		 * @param template Template used to create the live menu
+		 * @param menuBar  Live menu bar
+		 */
+		MenuBarBinding(@NotNull MenuTemplate template, @NotNull MenuBar menuBar) {
+			super(template);
+			this.menuBar = menuBar;
+			recordAll(menuBar.getMenus(), Diff.children(template.getRoot(), true));
+		}
+
+		@Override
+		void applyRoot(@NotNull MenuTemplate.Entry root, @NotNull Diff diff) {
+			diff.updateList(menuBar.getMenus(), Diff.children(root, true), Menu.class);
+		}
+
+	}
+
+	/**
+	 * Structural diff between live items and template entries
+	 */
+	private static final class Diff {
+
+		/**
+		 * Entries of the last applied template by item
+		 */
+		private final Map<MenuItem, MenuTemplate.Entry> lastEntries;
+
+		/**
+		 * Entries of the new template by item
+		 */
+		private final Map<MenuItem, MenuTemplate.Entry> newEntries;
+
+		/**
+		 * Creation state for new items
+		 */
+		private final MenuTemplate.Instantiation instantiation;
+
+		/**
+		 * Create diff state
+		 *
+		 * @param lastEntries   Entries of the last applied template by item
+		 * @param newEntries    Map to fill with entries of the new template
+		 * @param instantiation Creation state for new items
+		 */
+		Diff(
+			@NotNull Map<MenuItem, MenuTemplate.Entry> lastEntries,
+			@NotNull Map<MenuItem, MenuTemplate.Entry> newEntries,
+			@NotNull MenuTemplate.Instantiation instantiation) {
+			this.lastEntries = lastEntries;
+			this.newEntries = newEntries;
+			this.instantiation = instantiation;
+		}
+
+		/**
+		 * Update live list to match the entries. Reused items are matched by {@code id} and items
+		 * without {@code id} are matched by kind and text in order.
+		 *
+		 * @param live    Live item list
+		 * @param entries New entries
+		 * @param type    List item type
+		 * @param <T>     List item type
+		 */
+		<T extends MenuItem> void updateList(
+			@NotNull List<T> live,
+			@NotNull List<MenuTemplate.Entry> entries,
+			@NotNull Class<T> type) {
+			Map<String, T> liveById = new HashMap<>();
+			for (T item : live) {
+				if (item.getId() != null) liveById.putIfAbsent(item.getId(), item);
+			}
+
+			Set<MenuItem> used = Collections.newSetFromMap(new IdentityHashMap<>());
+			List<T> target = new ArrayList<>(entries.size());
+
+			for (MenuTemplate.Entry entry : entries) {
+				T item = entry.id != null ?
+					liveById.get(entry.id) :
+					findAnonymous(live, entry, used);
+
+				if (item != null && !used.contains(item) && isCompatible(item, entry)) {
+					updateItem(item, lastEntries.get(item), entry);
+				} else {
+					item = type.cast(instantiation.createItem(entry));
+					record(newEntries, item, entry);
+				}
+
+				used.add(item);
+				target.add(item);
+			}
+
+			applyOrder(live, target, used);
+		}
+
+		/**
+		 * Update live item with new entry information
+		 *
+		 * @param item      Live item
+		 * @param lastEntry Entry used in last update or {@code null} if not exists
+		 * @param entry     New entry
+		 */
+		void updateItem(@NotNull MenuItem item, @Nullable MenuTemplate.Entry lastEntry, @NotNull MenuTemplate.Entry entry) {
+			newEntries.put(item, entry);
+			if (entry.kind == MenuTemplate.Entry.SEPARATOR) return;
+
+			// Only apply attributes changed in the file, so runtime changes are preserved
+			if (lastEntry == null || !lastEntry.text.equals(entry.text))
+				item.setText(entry.text);
+			if (lastEntry == null || lastEntry.disabled != entry.disabled)
+				item.setDisable(entry.disabled);
+			if (lastEntry == null || !Objects.equals(lastEntry.icon, entry.icon) || lastEntry.resizeIcon != entry.resizeIcon)
+				item.setGraphic(entry.icon == null ? null : instantiation.createIcon(entry));
+			if (lastEntry == null || !Objects.equals(lastEntry.action, entry.action) || !Objects.equals(lastEntry.id, entry.id))
+				updateAction(item, lastEntry, entry);
+
+			if (!(item instanceof Menu)) return;
+
+			// Lazy menus without items only need the new entry
+			MenuTemplate.LazyChildren lazy = MenuTemplate.LazyChildren.of((Menu) item);
+			if (lazy != null) {
+				lazy.setEntry(entry);
+				if (lazy.isPending()) return;
+			}
+
+			updateList(((Menu) item).getItems(), children(entry, false), MenuItem.class);
+		}
+
+		/**
+		 * Apply registered action of new entry. The handler of the last entry is removed when the
+		 * new entry has no registered action, handlers set at runtime are preserved.
+		 *
+		 * @param item      Live item
+		 * @param lastEntry Entry used in last update or {@code null} if not exists
+		 * @param entry     New entry
+		 */
+		private void updateAction(@NotNull MenuItem item, @Nullable MenuTemplate.Entry lastEntry, @NotNull MenuTemplate.Entry entry) {
+			EventHandler<ActionEvent> handler = instantiation.findAction(entry);
+			if (handler != null) {
+				item.setOnAction(handler);
+			} else if (lastEntry != null && item.getOnAction() == instantiation.findAction(lastEntry)) {
+				item.setOnAction(null);
+			}
+		}
+
+		/**
+		 * Find first unused live item without id that matches the entry
+		 *
+		 * @param live  Live item list
+		 * @param entry Target entry without id
+		 * @param used  Items already matched
+		 * @param <T>   List item type
+		 * @return Matched item or {@code null} if not exists
+		 */
+		@Nullable
+		private <T extends MenuItem> T findAnonymous(
+			@NotNull List<T> live,
+			@NotNull MenuTemplate.Entry entry,
+			@NotNull Set<MenuItem> used) {
+			for (T item : live) {
+				if (item.getId() != null || used.contains(item) || !isCompatible(item, entry)) continue;
+				if (entry.kind == MenuTemplate.Entry.SEPARATOR || entry.text.equals(item.getText())) return item;
+			}
+
+			return null;
+		}
+
+		/**
+		 * Apply target order to live list with minimal changes
+		 *
+		 * @param live   Live item list
+		 * @param target Target item list
+		 * @param keep   Items in target list
+		 * @param <T>    List item type
+		 */
+		private static <T extends MenuItem> void applyOrder(
+			@NotNull List<T> live,
+			@NotNull List<T> target,
+			@NotNull Set<MenuItem> keep) {
+			// Remove items not declared anymore
+			for (int i = live.size() - 1; i >= 0; i--) {
+				if (!keep.contains(live.get(i))) live.remove(i);
+			}
+
+			// Insert new items and move reordered items
+			for (int i = 0; i < target.size(); i++) {
+				T item = target.get(i);
+				if (i < live.size() && live.get(i) == item) continue;
+
+				int current = indexOf(live, item, i + 1);
+				if (current >= 0) live.remove(current);
+				live.add(i, item);
+			}
+		}
+
+		/**
+		 * Find item by identity
+		 *
+		 * @param list  Target list
+		 * @param item  Target item
+		 * @param start Start index
+		 * @return Item index or {@code -1} if not exists
+		 */
+		private static int indexOf(@NotNull List<? extends MenuItem> list, @NotNull MenuItem item, int start) {
+			for (int i = start; i < list.size(); i++) {
+				if (list.get(i) == item) return i;
+			}
+
+			return -1;
+		}
+
+		/**
+		 * Check if live item can be reused for entry
+		 *
+		 * @param item  Live item
+		 * @param entry Target entry
+		 * @return {@code true} if item has the same kind or {@code false} otherwise
+		 */
+		private static boolean isCompatible(@NotNull MenuItem item, @NotNull MenuTemplate.Entry entry) {
+			switch (entry.kind) {
+				case MenuTemplate.Entry.MENU:
+					return item instanceof Menu;
+				case MenuTemplate.Entry.SEPARATOR:
+					return item instanceof SeparatorMenuItem;
+				default:
+					return !(item instanceof Menu) && !(item instanceof SeparatorMenuItem);
+			}
+		}
+
+		/**
+		 * Get entry children
+		 *
+		 * @param entry     Parent entry
+		 * @param menusOnly Only include menu entries
+		 * @return {@link List} children entries
+		 */
+		static List<MenuTemplate.Entry> children(@NotNull MenuTemplate.Entry entry, boolean menusOnly) {
+			List<MenuTemplate.Entry> children = new ArrayList<>(entry.children.length);
+			for (MenuTemplate.Entry child : entry.children) {
+				if (!menusOnly || child.kind == MenuTemplate.Entry.MENU) children.add(child);
+			}
+
+			return children;
+		}
+
+		/**
+		 * Record entries of new items
+		 *
+		 * @param entries Target map
+		 * @param items   New items
+		 * @param source  Entries used to create the items
+		 */
+		static void recordAll(
+			@NotNull Map<MenuItem, MenuTemplate.Entry> entries,
+			@NotNull List<? extends MenuItem> items,
+			@NotNull List<MenuTemplate.Entry> source) {
+			for (int i = 0; i < items.size() && i < source.size(); i++) record(entries, items.get(i), source.get(i));
+		}
+
+		/**
+		 * Record entry of new item and its children
+		 *
+		 * @param entries Target map
+		 * @param item    New item
+		 * @param entry   Entry used to create the item
+		 */
+		static void record(
+			@NotNull Map<MenuItem, MenuTemplate.Entry> entries,
+			@NotNull MenuItem item,
+			@NotNull MenuTemplate.Entry entry) {
+			entries.put(item, entry);
+			if (!(item instanceof Menu)) return;
+
+			MenuTemplate.LazyChildren lazy = MenuTemplate.LazyChildren.of((Menu) item);
+			if (lazy == null || !lazy.isPending())
+				recordAll(entries, ((Menu) item).getItems(), children(entry, false));
+		}
+
+	}
+
+}
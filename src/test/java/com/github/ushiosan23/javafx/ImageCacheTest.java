@@ -0,0 +1,98 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.utils.ImageCache;
+import com.github.ushiosan23.javafx.utils.ImageUtils;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.*;
+
+public class ImageCacheTest {
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	@Test
+	public void sharedImageTest() throws Exception {
+		ImageCache cache = new ImageCache(10, 1024 * 1024);
+		ImageCache.Key key = new ImageCache.Key("icon.png", 15, 15);
+
+		Image first = cache.get(key, () -> new WritableImage(15, 15));
+		Image second = cache.get(key, () -> new WritableImage(15, 15));
+
+		assertSame(first, second);
+		assertEquals(1, cache.getStatistics().getHitCount());
+		assertEquals(1, cache.getStatistics().getMissCount());
+		// Different size is a different entry
+		assertNotSame(first, cache.get(new ImageCache.Key("icon.png"), () -> new WritableImage(30, 30)));
+	}
+
+	@Test
+	public void evictionTest() {
+		// Only two images of 10x10 fit in cache
+		ImageCache cache = new ImageCache(10, 10 * 10 * 4 * 2);
+		ImageCache.Key first = new ImageCache.Key("first");
+		ImageCache.Key second = new ImageCache.Key("second");
+		ImageCache.Key third = new ImageCache.Key("third");
+		Image firstImage = new WritableImage(10, 10);
+
+		cache.put(first, firstImage);
+		cache.put(second, new WritableImage(10, 10));
+		// Access first entry, so the second entry is the eldest
+		assertSame(firstImage, cache.get(first));
+		cache.put(third, new WritableImage(10, 10));
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getStatistics().getEvictionCount());
+		assertSame(firstImage, cache.get(first));
+		// Evicted image is still reachable by soft reference
+		assertNotNull(cache.get(second));
+		assertEquals(1, cache.getStatistics().getSoftHitCount());
+	}
+
+	@Test
+	public void fitHeightTest() {
+		WritableImage source = new WritableImage(512, 256);
+		for (int y = 0; y < 256; y++) {
+			for (int x = 0; x < 512; x++) {
+				source.getPixelWriter().setColor(x, y, x < 256 ? Color.RED : Color.BLUE);
+			}
+		}
+
+		Image icon = ImageUtils.getCachedFitHeight(source, 80);
+		assertEquals(80, icon.getHeight(), 0);
+		assertEquals(160, icon.getWidth(), 0);
+		assertEquals(Color.RED, icon.getPixelReader().getColor(0, 0));
+		assertEquals(Color.BLUE, icon.getPixelReader().getColor(159, 79));
+		// Same source and size reuse the same icon
+		assertSame(icon, ImageUtils.getCachedFitHeight(source, 80));
+		// Small images are not resized
+		Image small = new WritableImage(16, 16);
+		assertSame(small, ImageUtils.getCachedFitHeight(small, 80));
+	}
+
+	@Test
+	public void fitHeightSourceReleaseTest() throws Exception {
+		Image source = new WritableImage(512, 512);
+		Image icon = ImageUtils.getCachedFitHeight(source, 64);
+		WeakReference<Image> reference = new WeakReference<>(source);
+		assertNotSame(source, icon);
+
+		// Cached icons do not keep sources without location reachable
+		source = null;
+		for (int i = 0; i < 20 && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		assertNull(reference.get());
+		assertEquals(64, icon.getHeight(), 0);
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.utils.ImageConverter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+public class ImageConverterTest {
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	@Test
+	public void roundTripTest() {
+		WritableImage source = new WritableImage(8, 4);
+		source.getPixelWriter().setColor(1, 1, Color.RED);
+		source.getPixelWriter().setColor(6, 2, Color.TRANSPARENT);
+
+		BufferedImage awt = ImageConverter.toBufferedImage(source);
+		assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, awt.getType());
+		assertEquals(0xFFFF0000, awt.getRGB(1, 1));
+		// Destination is reused
+		assertSame(awt, ImageConverter.toBufferedImage(source, awt));
+
+		BufferedImage plain = new BufferedImage(8, 4, BufferedImage.TYPE_INT_ARGB);
+		plain.setRGB(3, 3, 0x800000FF);
+		WritableImage destination = new WritableImage(8, 4);
+		WritableImage result = ImageConverter.toFXImage(plain, destination);
+		assertSame(destination, result);
+		assertEquals(0x800000FF, result.getPixelReader().getArgb(3, 3));
+		assertEquals(0, result.getPixelReader().getArgb(0, 0));
+	}
+
+}
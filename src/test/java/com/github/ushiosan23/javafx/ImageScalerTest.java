@@ -0,0 +1,34 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.utils.ImageScaler;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+public class ImageScalerTest {
+
+	@Test
+	public void scaleTest() {
+		BufferedImage source = new BufferedImage(512, 512, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2 = source.createGraphics();
+		g2.setColor(Color.RED);
+		g2.fillRect(0, 0, 256, 512);
+		g2.setColor(new Color(0, 0, 255, 128));
+		g2.fillRect(256, 0, 256, 512);
+		g2.dispose();
+
+		for (ImageScaler.Quality quality : ImageScaler.Quality.values()) {
+			BufferedImage result = ImageScaler.scale(source, 32, 16, quality);
+
+			assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, result.getType());
+			assertEquals(32, result.getWidth());
+			assertEquals(16, result.getHeight());
+			assertEquals(quality.name(), 0xFFFF0000, result.getRGB(4, 8));
+			assertEquals(quality.name(), 128, result.getRGB(28, 8) >>> 24, 1);
+		}
+	}
+
+}
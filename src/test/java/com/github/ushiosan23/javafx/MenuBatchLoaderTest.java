@@ -0,0 +1,103 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.xml.MenuBatchLoader;
+import com.github.ushiosan23.javafx.xml.MenuBatchResult;
+import javafx.scene.control.MenuBar;
+import javafx.scene.image.ImageView;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MenuBatchLoaderTest {
+
+	private static final ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	private URL resource(String location) {
+		URL resource = classLoader.getResource(location);
+		assertNotNull(resource);
+
+		return resource;
+	}
+
+	@Test
+	public void compileAllTest() throws Exception {
+		URL missing = Path.of("missing-menu.xml").toAbsolutePath().toUri().toURL();
+		List<URL> sources = List.of(
+			resource("menus/ExampleMenuBar.xml"),
+			missing,
+			resource("menus/ExampleMenu.xml")
+		);
+
+		MenuBatchResult result = new MenuBatchLoader().compileAll(sources);
+
+		assertNull(result.getMenuBar());
+		assertFalse(result.isSuccess());
+		assertEquals(3, result.getSources().size());
+		// Sources keep request order
+		for (int i = 0; i < sources.size(); i++)
+			assertEquals(sources.get(i), result.getSources().get(i).getSource());
+
+		assertEquals(1, result.getFailures().size());
+		assertSame(missing, result.getFailures().get(0).getSource());
+		assertNull(result.getFailures().get(0).getTemplate());
+		assertNotNull(result.getSources().get(0).getTemplate());
+	}
+
+	@Test
+	public void loadMenuBarTest() throws Exception {
+		Path brokenIcon = Files.createTempFile("menu", ".xml");
+		Files.write(brokenIcon, (
+			"<menu-root text=\"Broken\">" +
+				"<item text=\"Item\" icon=\"file:/missing/icon.png\"/>" +
+				"</menu-root>"
+		).getBytes(StandardCharsets.UTF_8));
+
+		try {
+			List<URL> sources = List.of(
+				resource("menus/ExampleMenuBar.xml"),
+				resource("menus/ExampleMenu.xml"),
+				resource("menus/ExamplePopupMenu.xml"),
+				brokenIcon.toUri().toURL()
+			);
+
+			MenuBatchResult result = new MenuBatchLoader().loadMenuBar(sources).get(10, TimeUnit.SECONDS);
+			MenuBar menuBar = result.getMenuBar();
+
+			assertNotNull(menuBar);
+			assertEquals(5, menuBar.getMenus().size());
+			assertEquals("File", menuBar.getMenus().get(0).getText());
+			assertEquals("Example menu", menuBar.getMenus().get(3).getText());
+			assertEquals("Broken", menuBar.getMenus().get(4).getText());
+			// Icons are decoded before the menus are created
+			ImageView icon = (ImageView) menuBar.getMenus().get(0).getGraphic();
+			assertNotNull(icon.getImage());
+
+			// Context menus cannot be merged
+			assertEquals(1, result.getFailures().size());
+			assertEquals(sources.get(2), result.getFailures().get(0).getSource());
+
+			// Icon errors are reported per source and do not stop the source
+			MenuBatchResult.SourceResult broken = result.getSources().get(3);
+			assertTrue(broken.isSuccess());
+			assertEquals(1, broken.getIconErrors().size());
+			assertNull(menuBar.getMenus().get(4).getItems().get(0).getGraphic());
+			assertTrue(result.getSources().get(0).getIconErrors().isEmpty());
+		} finally {
+			Files.deleteIfExists(brokenIcon);
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.xml.MenuCompiler;
+import com.github.ushiosan23.javafx.xml.MenuTemplate;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuBar;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class MenuCompilerTest {
+
+	private static final ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	private static Path resourceDir() throws Exception {
+		URL resource = classLoader.getResource("menus/ExampleMenu.xml");
+		assertNotNull(resource);
+
+		return Path.of(resource.toURI()).getParent().getParent();
+	}
+
+	private static void deleteAll(Path directory) throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+	}
+
+	@Test
+	public void compileTest() throws Exception {
+		Path resources = resourceDir();
+		Path rasterized = Files.createTempDirectory("menus");
+		Path plain = Files.createTempDirectory("menus");
+
+		try {
+			MenuCompiler compiler = new MenuCompiler(resources.resolve("menus"), rasterized);
+			compiler.setRasterize(true);
+			compiler.addResourceDir(resources);
+			assertEquals(4, compiler.compile());
+			assertEquals(4, new MenuCompiler(resources.resolve("menus"), plain).compile());
+
+			Path popup = rasterized.resolve("ExamplePopupMenu" + MenuCompiler.BINARY_EXTENSION);
+			MenuTemplate xml = MenuTemplate.compile(resources.resolve("menus/ExamplePopupMenu.xml"));
+			MenuTemplate binary = MenuTemplate.readBinary(popup);
+			ContextMenu expected = xml.createContextMenu();
+			ContextMenu result = binary.createContextMenu();
+
+			assertEquals(MenuTemplate.Type.CONTEXT_MENU, binary.getType());
+			assertEquals(expected.getItems().size(), result.getItems().size());
+			for (int i = 0; i < expected.getItems().size(); i++) {
+				assertEquals(expected.getItems().get(i).getText(), result.getItems().get(i).getText());
+				assertEquals(expected.getItems().get(i).getId(), result.getItems().get(i).getId());
+			}
+			assertNotNull(result.getItems().get(0).getGraphic());
+
+			// Resized icons are stored in rasterized files
+			assertTrue(Files.size(popup) > Files.size(plain.resolve("ExamplePopupMenu" + MenuCompiler.BINARY_EXTENSION)));
+
+			MenuBar menuBar = MenuTemplate.readBinary(rasterized.resolve("ExampleMenuBar" + MenuCompiler.BINARY_EXTENSION))
+				.createMenuBar();
+			assertEquals(3, menuBar.getMenus().size());
+		} finally {
+			deleteAll(rasterized);
+			deleteAll(plain);
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.xml.MenuLoader;
+import javafx.scene.control.Menu;
+import javafx.scene.control.MenuItem;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MenuLoaderTest {
+
+	private static final ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	private Document loadDocument(String location) throws Exception {
+		try (InputStream stream = classLoader.getResourceAsStream(location)) {
+			return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(stream);
+		}
+	}
+
+	private URL resource(String location) {
+		URL resource = classLoader.getResource(location);
+		assertNotNull(resource);
+
+		return resource;
+	}
+
+	private static String describe(List<? extends MenuItem> items) {
+		StringBuilder builder = new StringBuilder();
+		for (MenuItem item : items) describe(item, builder);
+
+		return builder.toString();
+	}
+
+	private static void describe(MenuItem item, StringBuilder builder) {
+		builder.append(item.getClass().getSimpleName())
+			.append('[').append(item.getText())
+			.append(',').append(item.getId())
+			.append(',').append(item.isDisable())
+			.append(',').append(item.getGraphic() != null);
+
+		if (item instanceof Menu) {
+			builder.append(",{");
+			for (MenuItem child : ((Menu) item).getItems()) describe(child, builder);
+			builder.append('}');
+		}
+		builder.append(']');
+	}
+
+	@Test
+	public void loadMenuTest() throws Exception {
+		String location = "menus/ExampleMenu.xml";
+		String expected = describe(List.of(MenuLoader.load(loadDocument(location))));
+
+		try (InputStream stream = classLoader.getResourceAsStream(location)) {
+			assertNotNull(stream);
+			assertEquals(expected, describe(List.of(MenuLoader.load(stream))));
+		}
+		assertEquals(expected, describe(List.of(MenuLoader.load(Path.of(resource(location).toURI())))));
+		assertEquals(expected, describe(List.of(MenuLoader.load(resource(location)))));
+	}
+
+	@Test
+	public void loadContextMenuTest() throws Exception {
+		String location = "menus/ExamplePopupMenu.xml";
+		String expected = describe(MenuLoader.loadContextMenu(loadDocument(location)).getItems());
+
+		try (InputStream stream = classLoader.getResourceAsStream(location)) {
+			assertNotNull(stream);
+			assertEquals(expected, describe(MenuLoader.loadContextMenu(stream).getItems()));
+		}
+		assertEquals(expected, describe(MenuLoader.loadContextMenu(Path.of(resource(location).toURI())).getItems()));
+		assertEquals(expected, describe(MenuLoader.loadContextMenu(resource(location)).getItems()));
+		// Icon is loaded in both paths
+		assertTrue(expected.startsWith("MenuItem[Item 1,Itm1,false,true]"));
+	}
+
+	@Test
+	public void loadMenuBarTest() throws Exception {
+		String location = "menus/ExampleMenuBar.xml";
+		String expected = describe(MenuLoader.loadMenuBar(loadDocument(location)).getMenus());
+
+		try (InputStream stream = classLoader.getResourceAsStream(location)) {
+			assertNotNull(stream);
+			assertEquals(expected, describe(MenuLoader.loadMenuBar(stream).getMenus()));
+		}
+		assertEquals(expected, describe(MenuLoader.loadMenuBar(Path.of(resource(location).toURI())).getMenus()));
+		assertEquals(expected, describe(MenuLoader.loadMenuBar(resource(location)).getMenus()));
+		assertEquals(3, MenuLoader.loadMenuBar(resource(location)).getMenus().size());
+	}
+
+	@Test
+	public void iconErrorTest() throws Exception {
+		String xml = "<menu-root text=\"Root\"><item text=\"Broken\" icon=\"file:/missing/icon.png\"/></menu-root>";
+		Exception[] reported = new Exception[1];
+		MenuLoader.setOnError(err -> reported[0] = err);
+
+		try {
+			Menu menu = MenuLoader.load(new ByteArrayInputStream(xml.getBytes()));
+
+			assertNull(menu.getItems().get(0).getGraphic());
+			assertNotNull(reported[0]);
+		} finally {
+			MenuLoader.setOnError(null);
+		}
+	}
+
+}
@@ -0,0 +1,211 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.utils.ImageCache;
+import com.github.ushiosan23.javafx.xml.LoadedMenu;
+import com.github.ushiosan23.javafx.xml.MenuActionRegistry;
+import com.github.ushiosan23.javafx.xml.MenuIconLoader;
+import com.github.ushiosan23.javafx.xml.MenuParameters;
+import com.github.ushiosan23.javafx.xml.MenuTemplate;
+import javafx.event.ActionEvent;
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Menu;
+import javafx.scene.control.MenuBar;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.SeparatorMenuItem;
+import javafx.scene.image.ImageView;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MenuTemplateTest {
+
+	private static final ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	private MenuTemplate compile(String location) throws Exception {
+		URL resource = classLoader.getResource(location);
+		assertNotNull(resource);
+
+		return MenuTemplate.compile(resource);
+	}
+
+	@Test
+	public void createMenuTest() throws Exception {
+		MenuTemplate template = compile("menus/ExampleMenu.xml");
+		Menu first = template.createMenu();
+		Menu second = template.createMenu();
+
+		assertEquals(MenuTemplate.Type.MENU, template.getType());
+		assertNotSame(first, second);
+		assertEquals("Example menu", first.getText());
+		assertEquals(6, first.getItems().size());
+		assertTrue(first.getItems().get(2) instanceof SeparatorMenuItem);
+		assertEquals("Mn2", first.getItems().get(3).getId());
+		assertEquals(2, ((Menu) first.getItems().get(3)).getItems().size());
+		assertEquals(first.getItems().size(), second.getItems().size());
+	}
+
+	@Test
+	public void createContextMenuTest() throws Exception {
+		MenuTemplate template = compile("menus/ExamplePopupMenu.xml");
+		ContextMenu contextMenu = template.createContextMenu();
+
+		assertEquals(6, contextMenu.getItems().size());
+		assertEquals("Itm1", contextMenu.getItems().get(0).getId());
+		// Other root types create empty menus
+		assertTrue(template.createMenuBar().getMenus().isEmpty());
+	}
+
+	@Test
+	public void createMenuBarTest() throws Exception {
+		MenuTemplate template = compile("menus/ExampleMenuBar.xml");
+		MenuBar menuBar = template.createMenuBar();
+
+		assertEquals(3, menuBar.getMenus().size());
+		assertEquals("File", menuBar.getMenus().get(0).getText());
+		assertEquals(2, menuBar.getMenus().get(0).getItems().size());
+	}
+
+	@Test
+	public void actionRegistryTest() throws Exception {
+		MenuTemplate template = compile("menus/ActionMenu.xml");
+		EventHandler<ActionEvent> byId = event -> {
+		};
+		EventHandler<ActionEvent> byAction = event -> {
+		};
+		MenuParameters parameters = new MenuParameters();
+		parameters.setActionRegistry(new MenuActionRegistry()
+			.register("Itm1", byId)
+			.register("open", byAction));
+
+		LoadedMenu<Menu> loaded = template.createMenu(parameters);
+
+		assertSame(byId, loaded.getItem("Itm1").getOnAction());
+		assertSame(byAction, loaded.getItem("Itm2").getOnAction());
+		assertNull(loaded.getItem("SItm3").getOnAction());
+		assertSame(loaded.getMenu().getItems().get(3), loaded.getItem("Mn2"));
+		assertNotNull(loaded.getItem("SItm1"));
+		assertSame(byAction, loaded.getItem("SItm2").getOnAction());
+	}
+
+	@Test
+	public void lazySubmenusTest() throws Exception {
+		MenuTemplate template = compile("menus/ExampleMenu.xml");
+		MenuParameters parameters = new MenuParameters();
+		parameters.setLazySubmenus(true);
+		parameters.setReleaseOnHide(true);
+
+		Menu menu = template.createMenu(parameters).getMenu();
+		assertEquals(1, menu.getItems().size());
+
+		Event.fireEvent(menu, new Event(Menu.ON_SHOWING));
+		assertEquals(6, menu.getItems().size());
+		assertEquals("Mn2", menu.getItems().get(3).getId());
+
+		Event.fireEvent(menu, new Event(Menu.ON_HIDDEN));
+		assertEquals(1, menu.getItems().size());
+	}
+
+	@Test
+	public void releaseOnHideIndexTest() throws Exception {
+		MenuTemplate template = compile("menus/ExampleMenu.xml");
+		MenuParameters parameters = new MenuParameters();
+		parameters.setLazySubmenus(true);
+		parameters.setReleaseOnHide(true);
+
+		LoadedMenu<Menu> loaded = template.createMenu(parameters);
+		Menu menu = loaded.getMenu();
+		assertNull(loaded.getItem("Itm1"));
+
+		Event.fireEvent(menu, new Event(Menu.ON_SHOWING));
+		Menu submenu = (Menu) loaded.getItem("Mn2");
+		assertNotNull(submenu);
+		Event.fireEvent(submenu, new Event(Menu.ON_SHOWING));
+		MenuItem first = loaded.getItem("Itm1");
+		assertNotNull(loaded.getItem("SItm1"));
+
+		// Released items are removed from the index with their children
+		Event.fireEvent(menu, new Event(Menu.ON_HIDDEN));
+		assertNull(loaded.getItem("Itm1"));
+		assertNull(loaded.getItem("Mn2"));
+		assertNull(loaded.getItem("SItm1"));
+		assertTrue(loaded.getItems().isEmpty());
+
+		Event.fireEvent(menu, new Event(Menu.ON_SHOWING));
+		assertNotSame(first, loaded.getItem("Itm1"));
+		assertSame(menu.getItems().get(0), loaded.getItem("Itm1"));
+	}
+
+	@Test
+	public void asyncIconsTest() throws Exception {
+		MenuTemplate template = compile("menus/ExamplePopupMenu.xml");
+		MenuIconLoader iconLoader = new MenuIconLoader(1);
+		MenuParameters parameters = new MenuParameters();
+		parameters.setIconLoader(iconLoader);
+
+		LoadedMenu<ContextMenu> loaded = template.createContextMenu(parameters);
+		ImageView icon = (ImageView) loaded.getMenu().getItems().get(0).getGraphic();
+
+		assertNotNull(icon);
+		loaded.getIconsLoaded().get(10, TimeUnit.SECONDS);
+		assertNotNull(icon.getImage());
+		iconLoader.shutdown();
+	}
+
+	@Test
+	public void iconLoaderShutdownTest() throws Exception {
+		MenuTemplate template = compile("menus/ExamplePopupMenu.xml");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		MenuIconLoader iconLoader = new MenuIconLoader(executor, new ImageCache(8, 1 << 20));
+		List<Exception> errors = new ArrayList<>();
+		iconLoader.setOnError(errors::add);
+
+		// External executors are not owned by the loader
+		iconLoader.shutdown();
+		assertFalse(executor.isShutdown());
+
+		executor.shutdown();
+		MenuParameters parameters = new MenuParameters();
+		parameters.setIconLoader(iconLoader);
+
+		// Rejected decodes finish the load and do not block later requests
+		template.createContextMenu(parameters).getIconsLoaded().get(10, TimeUnit.SECONDS);
+		template.createContextMenu(parameters).getIconsLoaded().get(10, TimeUnit.SECONDS);
+		assertEquals(2, errors.size());
+		assertTrue(errors.get(1) instanceof RejectedExecutionException);
+	}
+
+	@Test
+	public void binaryFormatTest() throws Exception {
+		MenuTemplate template = compile("menus/ExampleMenu.xml");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		template.writeBinary(output);
+
+		MenuTemplate binary = MenuTemplate.readBinary(new ByteArrayInputStream(output.toByteArray()));
+		Menu menu = binary.createMenu();
+
+		assertEquals(MenuTemplate.Type.MENU, binary.getType());
+		assertEquals("Example menu", menu.getText());
+		assertEquals(6, menu.getItems().size());
+		assertTrue(menu.getItems().get(2) instanceof SeparatorMenuItem);
+		assertEquals("SItm2", ((Menu) menu.getItems().get(3)).getItems().get(1).getId());
+	}
+
+}
@@ -0,0 +1,187 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.xml.MenuActionRegistry;
+import com.github.ushiosan23.javafx.xml.MenuParameters;
+import com.github.ushiosan23.javafx.xml.MenuWatcher;
+import javafx.event.ActionEvent;
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.control.Menu;
+import javafx.scene.control.MenuItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.ushiosan23.javafx.TestPlatform.runAndWait;
+import static org.junit.Assert.*;
+
+public class MenuWatcherTest {
+
+	private static final String ICON = "@icons/picture.png";
+
+	private Path directory;
+
+	private Path file;
+
+	private MenuActionRegistry actions;
+
+	private MenuWatcher watcher;
+
+	private Exception error;
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	@Before
+	public void createWatcher() throws Exception {
+		directory = Files.createTempDirectory("menus");
+		file = directory.resolve("Menu.xml");
+
+		MenuParameters parameters = new MenuParameters();
+		parameters.setLazySubmenus(true);
+		actions = new MenuActionRegistry();
+		parameters.setActionRegistry(actions);
+		watcher = new MenuWatcher(parameters);
+		watcher.setOnError(err -> error = err);
+	}
+
+	@After
+	public void closeWatcher() throws Exception {
+		watcher.close();
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(directory);
+	}
+
+	private void write(String items) throws Exception {
+		Files.write(file, ("<menu-root text=\"Root\">" + items + "</menu-root>").getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void awaitReload(Callable<Boolean> applied) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!runAndWait(applied)) {
+			assertNull(error);
+			assertTrue("Reload timeout", System.nanoTime() < deadline);
+			Thread.sleep(50);
+		}
+	}
+
+	private Menu watchAndShow() throws Exception {
+		Menu menu = watcher.watchMenu(file);
+		// Lazy root items are created when shown
+		runAndWait(() -> {
+			Event.fireEvent(menu, new Event(Menu.ON_SHOWING));
+			return null;
+		});
+
+		return menu;
+	}
+
+	@Test
+	public void textChangeTest() throws Exception {
+		write("<item id=\"a\" text=\"A\" icon=\"" + ICON + "\"/><item id=\"b\" text=\"B\"/>");
+		Menu menu = watchAndShow();
+		List<MenuItem> items = List.copyOf(menu.getItems());
+		Node icon = items.get(0).getGraphic();
+		EventHandler<ActionEvent> handler = event -> {
+		};
+		items.get(0).setOnAction(handler);
+		assertNotNull(icon);
+
+		write("<item id=\"a\" text=\"A\" icon=\"" + ICON + "\"/><item id=\"b\" text=\"B2\"/>");
+		awaitReload(() -> menu.getItems().get(1).getText().equals("B2"));
+
+		// Unchanged items keep instance, listeners and icon
+		assertSame(items.get(0), menu.getItems().get(0));
+		assertSame(items.get(1), menu.getItems().get(1));
+		assertSame(icon, menu.getItems().get(0).getGraphic());
+		assertSame(handler, menu.getItems().get(0).getOnAction());
+	}
+
+	@Test
+	public void iconChangeTest() throws Exception {
+		write("<item id=\"a\" text=\"A\" icon=\"" + ICON + "\"/><item id=\"b\" text=\"B\"/>");
+		Menu menu = watchAndShow();
+		MenuItem first = menu.getItems().get(0);
+		Node icon = first.getGraphic();
+		assertNull(menu.getItems().get(1).getGraphic());
+
+		write("<item id=\"a\" text=\"A\" icon=\"" + ICON + "\"/><item id=\"b\" text=\"B\" icon=\"" + ICON + "\"/>");
+		awaitReload(() -> menu.getItems().get(1).getGraphic() != null);
+
+		assertSame(first, menu.getItems().get(0));
+		assertSame(icon, first.getGraphic());
+
+		write("<item id=\"a\" text=\"A\"/><item id=\"b\" text=\"B\" icon=\"" + ICON + "\"/>");
+		awaitReload(() -> first.getGraphic() == null);
+		assertSame(first, menu.getItems().get(0));
+	}
+
+	@Test
+	public void insertTest() throws Exception {
+		write("<item id=\"a\" text=\"A\"/><item id=\"b\" text=\"B\"/>");
+		Menu menu = watchAndShow();
+		MenuItem a = menu.getItems().get(0);
+		MenuItem b = menu.getItems().get(1);
+
+		write("<item id=\"a\" text=\"A\"/><separator/><item id=\"c\" text=\"C\"/><item id=\"b\" text=\"B\"/>");
+		awaitReload(() -> menu.getItems().size() == 4);
+
+		assertSame(a, menu.getItems().get(0));
+		assertEquals("c", menu.getItems().get(2).getId());
+		assertSame(b, menu.getItems().get(3));
+	}
+
+	@Test
+	public void removeTest() throws Exception {
+		write("<item id=\"a\" text=\"A\"/><menu id=\"sub\" text=\"Sub\"><item id=\"c\" text=\"C\"/></menu><item id=\"b\" text=\"B\"/>");
+		Menu menu = watchAndShow();
+		MenuItem a = menu.getItems().get(0);
+		Menu sub = (Menu) menu.getItems().get(1);
+		MenuItem b = menu.getItems().get(2);
+
+		write("<item id=\"a\" text=\"A\"/><item id=\"b\" text=\"B\"/>");
+		awaitReload(() -> menu.getItems().size() == 2);
+
+		assertSame(a, menu.getItems().get(0));
+		assertSame(b, menu.getItems().get(1));
+		assertFalse(menu.getItems().contains(sub));
+	}
+
+	@Test
+	public void actionRemoveTest() throws Exception {
+		EventHandler<ActionEvent> open = event -> {
+		};
+		EventHandler<ActionEvent> save = event -> {
+		};
+		actions.register("open", open).register("save", save);
+
+		write("<item id=\"a\" text=\"A\" action=\"open\"/><item id=\"b\" text=\"B\" action=\"save\"/>");
+		Menu menu = watchAndShow();
+		MenuItem a = menu.getItems().get(0);
+		MenuItem b = menu.getItems().get(1);
+		EventHandler<ActionEvent> handler = event -> {
+		};
+		b.setOnAction(handler);
+		assertSame(open, a.getOnAction());
+
+		write("<item id=\"a\" text=\"A2\"/><item id=\"b\" text=\"B2\"/>");
+		awaitReload(() -> a.getText().equals("A2") && b.getText().equals("B2"));
+
+		// Registry handler of removed action is cleared, runtime handlers are preserved
+		assertSame(a, menu.getItems().get(0));
+		assertNull(a.getOnAction());
+		assertSame(handler, b.getOnAction());
+	}
+
+}
@@ -0,0 +1,136 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.notifications.NotificationCoalescer;
+import com.github.ushiosan23.javafx.notifications.NotificationHistory;
+import com.github.ushiosan23.javafx.notifications.NotificationManager;
+import com.github.ushiosan23.javafx.notifications.NotificationPool;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static com.github.ushiosan23.javafx.TestPlatform.runAndWait;
+import static org.junit.Assert.*;
+
+public class NotificationCoalescerTest {
+
+	private Stage owner;
+
+	private NotificationManager manager;
+
+	private NotificationPool pool;
+
+	private NotificationCoalescer coalescer;
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	@Before
+	public void createManager() throws Exception {
+		runAndWait(() -> {
+			owner = new Stage();
+			owner.setScene(new Scene(new Pane(), 100, 100));
+			owner.show();
+
+			// Visible slot is taken, coalesced notifications wait in the queue
+			manager = new NotificationManager(owner, 4);
+			manager.setMaxVisible(1);
+			manager.post(new TestNotification());
+
+			pool = new NotificationPool();
+			coalescer = new NotificationCoalescer(manager, pool);
+			return null;
+		});
+	}
+
+	@After
+	public void closeOwner() throws Exception {
+		runAndWait(() -> {
+			owner.close();
+			return null;
+		});
+	}
+
+	@Test
+	public void coalesceTest() throws Exception {
+		coalescer.post("a", "Download", "10%");
+		coalescer.post("a", "Download", "20%");
+		coalescer.post("b", "Upload", "10%");
+
+		// Pending updates are delivered in a single batch
+		runAndWait(() -> {
+			assertEquals(3, coalescer.getPostedCount());
+			assertEquals(1, coalescer.getMergedCount());
+			assertEquals(1, coalescer.getBatchCount());
+			assertEquals(2, manager.getQueueDepth());
+			assertEquals(2, pool.getAcquiredCount());
+			return null;
+		});
+
+		// Waiting notifications are updated in place
+		coalescer.post("a", "Download", "30%");
+		runAndWait(() -> {
+			assertEquals(1, coalescer.getUpdatedCount());
+			assertEquals(2, manager.getQueueDepth());
+			assertEquals(2, pool.getAcquiredCount());
+			return null;
+		});
+	}
+
+	@Test
+	public void droppedTest() throws Exception {
+		coalescer.post("a", "Download", "10%");
+		coalescer.post("b", "Upload", "10%");
+		runAndWait(() -> {
+			assertEquals(2, pool.getAcquiredCount());
+
+			// Dropped notifications go back to the pool
+			manager.clearPending();
+			assertEquals(0, pool.getAcquiredCount());
+			assertEquals(2, pool.getAvailableCount());
+			return null;
+		});
+
+		// Next update for a dropped key creates a new notification from the pool
+		coalescer.post("a", "Download", "20%");
+		runAndWait(() -> {
+			assertEquals(0, coalescer.getUpdatedCount());
+			assertEquals(1, manager.getQueueDepth());
+			assertEquals(1, pool.getAcquiredCount());
+			assertEquals(2, pool.getCreatedCount());
+			return null;
+		});
+	}
+
+	@Test
+	public void mutableTextTest() throws Exception {
+		NotificationHistory history = runAndWait(() -> {
+			NotificationHistory result = new NotificationHistory();
+			manager.setHistory(result);
+			return result;
+		});
+		StringBuilder text = new StringBuilder("10%");
+
+		// Updates wait while the JavaFX Application Thread is busy
+		CountDownLatch release = TestPlatform.block();
+		coalescer.post("a", "Download", text);
+		text.setLength(0);
+		text.append("99%");
+		release.countDown();
+
+		// Text is copied when the update is posted
+		runAndWait(() -> {
+			assertEquals(1, history.size());
+			assertEquals("10%", history.get(0).getDescription());
+			return null;
+		});
+	}
+
+}
@@ -0,0 +1,174 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.notifications.NotificationDispatcher;
+import com.github.ushiosan23.javafx.notifications.NotificationHistory;
+import com.github.ushiosan23.javafx.notifications.NotificationManager;
+import com.github.ushiosan23.javafx.notifications.NotificationPool;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static com.github.ushiosan23.javafx.TestPlatform.runAndWait;
+import static org.junit.Assert.*;
+
+public class NotificationDispatcherTest {
+
+	private Stage owner;
+
+	private NotificationManager manager;
+
+	private NotificationHistory history;
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	@Before
+	public void createManager() throws Exception {
+		runAndWait(() -> {
+			owner = new Stage();
+			owner.setScene(new Scene(new Pane(), 100, 100));
+			owner.show();
+
+			// Visible slot is taken, dispatched notifications wait in the queue
+			manager = new NotificationManager(owner, 2);
+			manager.setMaxVisible(1);
+			manager.post(new TestNotification());
+
+			history = new NotificationHistory();
+			manager.setHistory(history);
+			return null;
+		});
+	}
+
+	@After
+	public void closeOwner() throws Exception {
+		runAndWait(() -> {
+			owner.close();
+			return null;
+		});
+	}
+
+	@Test
+	public void offerTest() throws Exception {
+		NotificationDispatcher dispatcher = new NotificationDispatcher(manager);
+		StringBuilder text = new StringBuilder("First");
+
+		Thread producer = new Thread(() -> {
+			assertTrue(dispatcher.offer(text, null));
+			// Text is copied when the request is offered
+			text.setLength(0);
+			text.append("Second");
+			assertTrue(dispatcher.offer(text, null));
+		});
+		producer.start();
+		producer.join();
+
+		runAndWait(() -> {
+			assertEquals(0, dispatcher.getPendingCount());
+			assertEquals(2, history.size());
+			// Newest record first
+			assertEquals("Second", history.get(0).getTitle());
+			assertEquals("First", history.get(1).getTitle());
+			assertEquals(2, manager.getQueueDepth());
+			return null;
+		});
+	}
+
+	@Test
+	public void capacityTest() throws Exception {
+		NotificationDispatcher dispatcher = new NotificationDispatcher(manager, null, 3);
+		dispatcher.setDrainLimit(2);
+
+		// Requests wait while the JavaFX Application Thread is busy
+		CountDownLatch release = TestPlatform.block();
+		for (int i = 0; i < 3; i++)
+			assertTrue(dispatcher.offer(NotificationManager.Priority.NORMAL, TestNotification::new));
+		assertFalse(dispatcher.offer(NotificationManager.Priority.NORMAL, TestNotification::new));
+		assertEquals(3, dispatcher.getPendingCount());
+		assertEquals(1, dispatcher.getRejectedCount());
+		release.countDown();
+
+		// Requests over the drain limit are posted in the next drain
+		runAndWait(() -> null);
+		runAndWait(() -> {
+			assertEquals(0, dispatcher.getPendingCount());
+			assertEquals(2, manager.getQueueDepth());
+			assertEquals(1, manager.getDroppedCount());
+			return null;
+		});
+	}
+
+	@Test
+	public void poolTest() throws Exception {
+		NotificationPool pool = runAndWait(NotificationPool::new);
+		NotificationDispatcher dispatcher = new NotificationDispatcher(manager, pool, NotificationDispatcher.DEFAULT_CAPACITY);
+
+		for (int i = 0; i < 4; i++)
+			assertTrue(dispatcher.offer("Title " + i, null));
+
+		// Dropped notifications go back to the pool
+		runAndWait(() -> {
+			assertEquals(2, manager.getQueueDepth());
+			assertEquals(2, manager.getDroppedCount());
+			assertEquals(2, pool.getAcquiredCount());
+
+			manager.clearPending();
+			assertEquals(0, pool.getAcquiredCount());
+			return null;
+		});
+	}
+
+	@Test
+	public void errorTest() throws Exception {
+		NotificationDispatcher dispatcher = new NotificationDispatcher(manager);
+		List<Exception> errors = new ArrayList<>();
+		dispatcher.setOnError(errors::add);
+
+		assertTrue(dispatcher.offer(NotificationManager.Priority.NORMAL, () -> {
+			throw new IllegalStateException("Factory error");
+		}));
+		assertTrue(dispatcher.offer(NotificationManager.Priority.NORMAL, () -> null));
+		assertTrue(dispatcher.offer(NotificationManager.Priority.NORMAL, TestNotification::new));
+
+		// Factory errors skip the request only
+		runAndWait(() -> {
+			assertEquals(2, errors.size());
+			assertEquals("Factory error", errors.get(0).getMessage());
+			assertTrue(errors.get(1) instanceof IllegalStateException);
+			assertEquals(1, manager.getQueueDepth());
+			return null;
+		});
+	}
+
+	@Test
+	public void errorHandlerTest() throws Exception {
+		NotificationDispatcher dispatcher = new NotificationDispatcher(manager);
+		dispatcher.setOnError(err -> {
+			throw new IllegalStateException("Handler error", err);
+		});
+
+		// Requests behind an escaped error are delivered in the next drain
+		CountDownLatch release = TestPlatform.block();
+		assertTrue(dispatcher.offer(NotificationManager.Priority.NORMAL, () -> null));
+		assertTrue(dispatcher.offer(NotificationManager.Priority.NORMAL, TestNotification::new));
+		release.countDown();
+
+		runAndWait(() -> null);
+		runAndWait(() -> {
+			assertEquals(0, dispatcher.getPendingCount());
+			assertEquals(1, manager.getQueueDepth());
+			return null;
+		});
+	}
+
+}
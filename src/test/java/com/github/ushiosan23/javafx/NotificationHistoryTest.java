@@ -0,0 +1,46 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.notifications.NotificationHistory;
+import com.github.ushiosan23.javafx.notifications.NotificationManager;
+import javafx.collections.ListChangeListener;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.ushiosan23.javafx.TestPlatform.runAndWait;
+import static org.junit.Assert.*;
+
+public class NotificationHistoryTest {
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	@Test
+	public void ringBufferTest() throws Exception {
+		runAndWait(() -> {
+			NotificationHistory history = new NotificationHistory(3);
+			AtomicInteger removed = new AtomicInteger();
+			history.addListener((ListChangeListener<Object>) change -> {
+				while (change.next()) removed.addAndGet(change.getRemovedSize());
+			});
+
+			for (int i = 0; i < 5; i++) {
+				history.record("Title " + i, null, NotificationManager.Priority.NORMAL);
+			}
+
+			assertEquals(3, history.size());
+			assertEquals("Title 4", history.get(0).getTitle());
+			assertEquals("Title 2", history.get(2).getTitle());
+			assertEquals(2, removed.get());
+
+			history.clear();
+			assertTrue(history.isEmpty());
+			assertEquals(5, removed.get());
+			return null;
+		});
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.notifications.Notification;
+import com.github.ushiosan23.javafx.notifications.NotificationManager;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.ushiosan23.javafx.TestPlatform.runAndWait;
+import static org.junit.Assert.*;
+
+public class NotificationManagerTest {
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	@Test
+	public void queueTest() throws Exception {
+		runAndWait(() -> {
+			Stage owner = new Stage();
+			owner.setScene(new Scene(new Pane(), 100, 100));
+			owner.show();
+
+			NotificationManager manager = new NotificationManager(owner, 3);
+			manager.setMaxVisible(2);
+
+			Notification first = new Notification("First", "Description");
+			Notification second = new Notification("Second", "Description");
+			assertTrue(manager.post(first));
+			assertTrue(manager.post(second));
+			assertTrue(first.isShowing());
+			assertTrue(second.getY() < first.getY());
+
+			// Queue is full, lower priority notifications are dropped
+			for (int i = 0; i < 3; i++) assertTrue(manager.post(new Notification("Queued " + i, null)));
+			assertFalse(manager.post(new Notification("Dropped", null), NotificationManager.Priority.LOW));
+			assertTrue(manager.post(new Notification("Urgent", null), NotificationManager.Priority.HIGH));
+			assertEquals(3, manager.getQueueDepth());
+			assertEquals(2, manager.getDroppedCount());
+
+			// Hidden notifications leave space for waiting ones
+			first.hide();
+			assertEquals(2, manager.getVisibleCount());
+			assertEquals(2, manager.getQueueDepth());
+			assertEquals(3, manager.getShownCount());
+
+			manager.clearPending();
+			assertEquals(0, manager.getQueueDepth());
+			owner.close();
+			return null;
+		});
+	}
+
+	@Test
+	public void dropCallbackTest() throws Exception {
+		runAndWait(() -> {
+			Stage owner = new Stage();
+			owner.setScene(new Scene(new Pane(), 100, 100));
+			owner.show();
+
+			NotificationManager manager = new NotificationManager(owner, 2);
+			manager.setMaxVisible(1);
+			List<Object> dropped = new ArrayList<>();
+
+			Notification visible = new Notification("Visible", null);
+			Notification low = new Notification("Low", null);
+			Notification normal = new Notification("Normal", null);
+			Notification rejected = new Notification("Rejected", null);
+			Notification high = new Notification("High", null);
+			manager.post(visible, NotificationManager.Priority.NORMAL, dropped::add);
+			manager.post(low, NotificationManager.Priority.LOW, dropped::add);
+			manager.post(normal, NotificationManager.Priority.NORMAL, dropped::add);
+			assertTrue(dropped.isEmpty());
+
+			// Rejected and replaced notifications are reported to their owner
+			assertFalse(manager.post(rejected, NotificationManager.Priority.LOW, dropped::add));
+			assertEquals(List.of(rejected), dropped);
+			assertTrue(manager.post(high, NotificationManager.Priority.HIGH, dropped::add));
+			assertEquals(List.of(rejected, low), dropped);
+
+			manager.clearPending();
+			assertEquals(List.of(rejected, low, high, normal), dropped);
+			assertTrue(visible.isShowing());
+
+			owner.close();
+			return null;
+		});
+	}
+
+}
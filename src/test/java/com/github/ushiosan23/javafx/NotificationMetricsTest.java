@@ -0,0 +1,116 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.notifications.JmxNotificationMetrics;
+import com.github.ushiosan23.javafx.notifications.NotificationManager;
+import com.github.ushiosan23.javafx.notifications.NotificationMetrics;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.ushiosan23.javafx.TestPlatform.runAndWait;
+import static org.junit.Assert.*;
+
+public class NotificationMetricsTest {
+
+	private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	@After
+	public void removeListener() {
+		NotificationMetrics.setListener(null);
+	}
+
+	@Test
+	public void histogramTest() {
+		JmxNotificationMetrics metrics = new JmxNotificationMetrics();
+		assertEquals(0, metrics.getWaitP95Millis(), 0);
+		assertEquals(0, metrics.getWaitMeanMillis(), 0);
+
+		for (int i = 0; i < 19; i++)
+			metrics.notificationShown(MILLIS, 2 * MILLIS, 1);
+		metrics.notificationShown(100 * MILLIS, 2 * MILLIS, 1);
+
+		assertEquals(20, metrics.getShownCount());
+		assertEquals(5.95, metrics.getWaitMeanMillis(), 1e-9);
+		assertEquals(100, metrics.getWaitMaxMillis(), 1e-9);
+		assertEquals(2, metrics.getShowMaxMillis(), 1e-9);
+		// Percentiles are at most two times the real value
+		double p95 = metrics.getWaitP95Millis();
+		assertTrue("p95 " + p95, p95 >= 1 && p95 <= 2);
+
+		// Single values are not rounded above the maximum
+		metrics.notificationHidden(3 * MILLIS, 0);
+		assertEquals(3, metrics.getVisibleP95Millis(), 1e-9);
+
+		metrics.reset();
+		assertEquals(0, metrics.getShownCount());
+		assertEquals(0, metrics.getWaitMaxMillis(), 0);
+		assertEquals(0, metrics.getVisibleP95Millis(), 0);
+	}
+
+	@Test
+	public void queueDepthTest() throws Exception {
+		JmxNotificationMetrics metrics = new JmxNotificationMetrics();
+		NotificationMetrics.setListener(metrics);
+
+		runAndWait(() -> {
+			Stage owner = new Stage();
+			owner.setScene(new Scene(new Pane(), 100, 100));
+			owner.show();
+
+			NotificationManager manager = new NotificationManager(owner);
+			manager.setMaxVisible(1);
+			TestNotification first = new TestNotification();
+			manager.post(first);
+			manager.post(new TestNotification());
+			manager.post(new TestNotification());
+			assertEquals(3, metrics.getPostedCount());
+			assertEquals(2, metrics.getQueueDepth());
+
+			// Queue depth follows shown and dropped notifications
+			first.hide();
+			assertEquals(1, metrics.getVisibleCount());
+			assertEquals(1, metrics.getQueueDepth());
+
+			manager.clearPending();
+			assertEquals(0, metrics.getQueueDepth());
+			assertEquals(1, metrics.getDroppedCount());
+
+			owner.close();
+			return null;
+		});
+	}
+
+	@Test
+	public void registerTest() throws Exception {
+		String name = "com.github.ushiosan23.javafx:type=NotificationMetrics,name=test";
+		JmxNotificationMetrics metrics = new JmxNotificationMetrics();
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		metrics.register(name);
+
+		try {
+			metrics.notificationPosted(NotificationManager.Priority.NORMAL, 4);
+			assertEquals(1L, server.getAttribute(new ObjectName(name), "PostedCount"));
+			assertEquals(4, server.getAttribute(new ObjectName(name), "QueueDepth"));
+
+			server.invoke(new ObjectName(name), "reset", null, null);
+			assertEquals(0, metrics.getPostedCount());
+		} finally {
+			metrics.unregister();
+		}
+		assertFalse(server.isRegistered(new ObjectName(name)));
+	}
+
+}
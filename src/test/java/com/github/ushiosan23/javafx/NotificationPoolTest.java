@@ -0,0 +1,41 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.notifications.Notification;
+import com.github.ushiosan23.javafx.notifications.NotificationPool;
+import javafx.scene.image.WritableImage;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static com.github.ushiosan23.javafx.TestPlatform.runAndWait;
+import static org.junit.Assert.*;
+
+public class NotificationPoolTest {
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	@Test
+	public void reuseTest() throws Exception {
+		runAndWait(() -> {
+			NotificationPool pool = new NotificationPool(2);
+			pool.warmUp(5);
+			assertEquals(2, pool.getAvailableCount());
+			assertEquals(2, pool.getCreatedCount());
+
+			Notification first = pool.acquire("Title", "Description", new WritableImage(10, 10));
+			assertNotNull(first.getIcon());
+			pool.release(first);
+
+			Notification second = pool.acquire("Other", null);
+			assertSame(first, second);
+			assertEquals("Other", second.getNotificationTitle());
+			assertNull(second.getIcon());
+			assertEquals(1, pool.getAcquiredCount());
+			assertEquals(2, pool.getCreatedCount());
+			return null;
+		});
+	}
+
+}
@@ -0,0 +1,144 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.notifications.INotification;
+import com.github.ushiosan23.javafx.notifications.NotificationScheduler;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.scene.Scene;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.ushiosan23.javafx.TestPlatform.runAndWait;
+import static org.junit.Assert.*;
+
+public class NotificationSchedulerTest {
+
+	private Stage owner;
+
+	private NotificationScheduler scheduler;
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	private static void awaitHidden(INotification notification) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (runAndWait(() -> notification.notificationShowingProperty().get())) {
+			assertTrue("Hide timeout", System.nanoTime() < deadline);
+			Thread.sleep(20);
+		}
+	}
+
+	private static void fireMouse(INotification notification, EventType<MouseEvent> type) throws Exception {
+		runAndWait(() -> {
+			Event.fireEvent(notification.getNotificationContent(), new MouseEvent(
+				type, 0, 0, 0, 0, MouseButton.NONE, 0,
+				false, false, false, false, false, false, false, false, false, false, null
+			));
+			return null;
+		});
+	}
+
+	@Before
+	public void createOwner() throws Exception {
+		scheduler = runAndWait(() -> {
+			owner = new Stage();
+			owner.setScene(new Scene(new Pane(), 100, 100));
+			owner.show();
+
+			return new NotificationScheduler();
+		});
+	}
+
+	@After
+	public void closeOwner() throws Exception {
+		runAndWait(() -> {
+			owner.close();
+			return null;
+		});
+	}
+
+	private TestNotification show() throws Exception {
+		return runAndWait(() -> {
+			TestNotification notification = new TestNotification();
+			notification.showNotify(owner);
+			return notification;
+		});
+	}
+
+	@Test
+	public void expireTest() throws Exception {
+		TestNotification first = show();
+		TestNotification second = show();
+		runAndWait(() -> {
+			scheduler.setFadeDuration(Duration.millis(100));
+			scheduler.schedule(first, Duration.millis(100));
+			scheduler.schedule(second, Duration.seconds(30));
+
+			// Fade timer does not run while notifications wait
+			assertFalse(scheduler.isFading());
+			assertEquals(2, scheduler.getScheduledCount());
+			return null;
+		});
+
+		awaitHidden(first);
+		runAndWait(() -> {
+			assertFalse(scheduler.isFading());
+			assertEquals(1, first.getOpacity(), 0);
+			assertTrue(second.isShowing());
+			assertTrue(scheduler.isScheduled(second));
+			assertFalse(scheduler.isScheduled(first));
+
+			// Notifications hidden by other source are unscheduled
+			second.hide();
+			assertEquals(0, scheduler.getScheduledCount());
+			return null;
+		});
+	}
+
+	@Test
+	public void hoverPauseTest() throws Exception {
+		TestNotification notification = show();
+		runAndWait(() -> {
+			scheduler.setFadeDuration(Duration.ZERO);
+			scheduler.schedule(notification, Duration.millis(100));
+			return null;
+		});
+
+		fireMouse(notification, MouseEvent.MOUSE_ENTERED);
+		Thread.sleep(300);
+		assertTrue(runAndWait(notification::isShowing));
+
+		// Countdown continues with the remaining time
+		long exited = System.nanoTime();
+		fireMouse(notification, MouseEvent.MOUSE_EXITED);
+		awaitHidden(notification);
+		assertTrue(System.nanoTime() - exited < TimeUnit.SECONDS.toNanos(5));
+		assertEquals(0, (int) runAndWait(scheduler::getScheduledCount));
+	}
+
+	@Test
+	public void hoverDisabledTest() throws Exception {
+		TestNotification notification = show();
+		runAndWait(() -> {
+			scheduler.setFadeDuration(Duration.ZERO);
+			scheduler.setPauseOnHover(false);
+			scheduler.schedule(notification, Duration.millis(100));
+			return null;
+		});
+
+		fireMouse(notification, MouseEvent.MOUSE_ENTERED);
+		awaitHidden(notification);
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.github.ushiosan23.javafx;
+
+import com.github.ushiosan23.javafx.notifications.INotification;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import javafx.stage.Popup;
+import javafx.stage.Stage;
+
+/**
+ * Minimal notification without text rendering
+ */
+public class TestNotification extends Popup implements INotification {
+
+	private final Pane content = new Pane();
+
+	private String title;
+
+	private String description;
+
+	public TestNotification() {
+		content.setPrefSize(200, 60);
+		getContent().add(content);
+	}
+
+	@Override
+	public void setNotificationTitle(CharSequence title) {
+		this.title = title == null ? null : title.toString();
+	}
+
+	@Override
+	public String getNotificationTitle() {
+		return title;
+	}
+
+	@Override
+	public void setDescription(CharSequence description) {
+		this.description = description == null ? null : description.toString();
+	}
+
+	@Override
+	public String getDescription() {
+		return description;
+	}
+
+	@Override
+	public void setIcon(Image icon) {
+	}
+
+	@Override
+	public void setIcon(Node icon) {
+	}
+
+	@Override
+	public Node getIcon() {
+		return null;
+	}
+
+	@Override
+	public Pane getNotificationContent() {
+		return content;
+	}
+
+	@Override
+	public void showNotify(Stage owner) {
+		show(owner, 0, 0);
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.github.ushiosan23.javafx;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Shared JavaFX platform fixture for tests
+ */
+public final class TestPlatform {
+
+	/**
+	 * Maximum wait time of platform actions
+	 */
+	public static final long TIMEOUT_SECONDS = 10;
+
+	private TestPlatform() {
+	}
+
+	/**
+	 * Start JavaFX platform once. The platform keeps running when test windows are closed.
+	 */
+	public static synchronized void start() {
+		try {
+			Platform.startup(() -> {
+			});
+		} catch (IllegalStateException ignored) {
+			// Platform already started
+		}
+		Platform.setImplicitExit(false);
+	}
+
+	/**
+	 * Run action in the JavaFX Application Thread and wait for the result
+	 *
+	 * @param action Target action
+	 * @param <T>    Result type
+	 * @return Action result
+	 * @throws Exception if action fails or does not finish in time
+	 */
+	public static <T> T runAndWait(Callable<T> action) throws Exception {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		Platform.runLater(() -> {
+			try {
+				result.complete(action.call());
+			} catch (Throwable err) {
+				result.completeExceptionally(err);
+			}
+		});
+
+		return result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Block the JavaFX Application Thread until the returned latch is released
+	 *
+	 * @return Latch that releases the JavaFX Application Thread
+	 * @throws Exception if the JavaFX Application Thread is not blocked in time
+	 */
+	public static CountDownLatch block() throws Exception {
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Platform.runLater(() -> {
+			blocked.countDown();
+			try {
+				release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			} catch (InterruptedException ignored) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertTrue(blocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+		return release;
+	}
+
+}
@@ -0,0 +1,195 @@
+package com.github.ushiosan23.javafx.system;
+
+import com.github.ushiosan23.javafx.TestPlatform;
+import javafx.scene.image.WritableImage;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Headless tests of tray image composition. Tray icons cannot be created without a system tray,
+ * so package-private helpers are tested directly.
+ */
+public class TrayIconFXTest {
+
+	private static final int RED = 0xFFFF0000;
+
+	private static final int BLUE = 0xFF0000FF;
+
+	private static final int GREEN = 0xFF00FF00;
+
+	private static final int WHITE = 0xFFFFFFFF;
+
+	@BeforeClass
+	public static void startPlatform() {
+		TestPlatform.start();
+	}
+
+	private static BufferedImage fill(int width, int height, int argb) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2 = image.createGraphics();
+		g2.setColor(new Color(argb, true));
+		g2.fillRect(0, 0, width, height);
+		g2.dispose();
+
+		return image;
+	}
+
+	private static void writeFrame(
+		ImageWriter writer,
+		BufferedImage frame,
+		int left,
+		int top,
+		String disposal,
+		int delay) throws Exception {
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(frame), param);
+		String format = metadata.getNativeMetadataFormatName();
+		IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+		IIOMetadataNode descriptor = (IIOMetadataNode) root.getElementsByTagName("ImageDescriptor").item(0);
+		descriptor.setAttribute("imageLeftPosition", String.valueOf(left));
+		descriptor.setAttribute("imageTopPosition", String.valueOf(top));
+
+		IIOMetadataNode control = (IIOMetadataNode) root.getElementsByTagName("GraphicControlExtension").item(0);
+		control.setAttribute("disposalMethod", disposal);
+		control.setAttribute("delayTime", String.valueOf(delay));
+
+		metadata.setFromTree(format, root);
+		writer.writeToSequence(new IIOImage(frame, null, metadata), param);
+	}
+
+	private static byte[] createGif() throws Exception {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+			writer.setOutput(stream);
+			writer.prepareWriteSequence(null);
+			// Full red background
+			writeFrame(writer, fill(8, 8, RED), 0, 0, "none", 5);
+			// Bottom-right blue square, cleared after display
+			writeFrame(writer, fill(4, 4, BLUE), 4, 4, "restoreToBackgroundColor", 0);
+			// Top-left green square, previous content restored after display
+			writeFrame(writer, fill(4, 4, GREEN), 0, 0, "restoreToPrevious", 5);
+			// Small white square in the top-right corner
+			writeFrame(writer, fill(2, 2, WHITE), 6, 0, "none", 5);
+			writer.endWriteSequence();
+		} finally {
+			writer.dispose();
+		}
+
+		return output.toByteArray();
+	}
+
+	private static int pixel(Image image, int x, int y) {
+		return ((BufferedImage) image).getRGB(x, y);
+	}
+
+	@Test
+	public void readGifTest() throws Exception {
+		TrayIconFX.Animation animation = TrayIconFX.readGif(new ByteArrayInputStream(createGif()), new Dimension(8, 8));
+
+		assertEquals(4, animation.frames.length);
+		assertArrayEquals(new int[]{TrayIconFX.MIN_FRAME_DELAY, 100, TrayIconFX.MIN_FRAME_DELAY, TrayIconFX.MIN_FRAME_DELAY}, animation.delays);
+
+		// Partial frames are drawn over previous frames
+		assertEquals(RED, pixel(animation.frames[0], 6, 6));
+		assertEquals(BLUE, pixel(animation.frames[1], 6, 6));
+		assertEquals(RED, pixel(animation.frames[1], 1, 1));
+		assertEquals(GREEN, pixel(animation.frames[2], 1, 1));
+		// Background disposal clears the frame area
+		assertEquals(0, pixel(animation.frames[2], 6, 6) >>> 24);
+		// Previous disposal restores the canvas before the frame
+		assertEquals(RED, pixel(animation.frames[3], 1, 1));
+		assertEquals(WHITE, pixel(animation.frames[3], 7, 0));
+		assertEquals(0, pixel(animation.frames[3], 6, 6) >>> 24);
+	}
+
+	@Test
+	public void readGifScaleTest() throws Exception {
+		TrayIconFX.Animation animation = TrayIconFX.readGif(new ByteArrayInputStream(createGif()), new Dimension(16, 16));
+
+		assertEquals(16, animation.frames[0].getWidth(null));
+		assertEquals(16, animation.frames[0].getHeight(null));
+	}
+
+	@Test
+	public void badgeTest() {
+		BufferedImage base = fill(32, 32, BLUE);
+
+		// Hidden badge keeps the image
+		assertSame(base, TrayIconFX.compose(base, 0));
+		assertSame(base, TrayIconFX.getComposed(base, 0));
+
+		Image badge = TrayIconFX.compose(base, 5);
+		assertNotSame(base, badge);
+		assertEquals(BLUE, pixel(badge, 0, 0));
+		// Badge is drawn in the bottom-right corner
+		int changed = 0;
+		for (int y = 16; y < 32; y++) {
+			for (int x = 16; x < 32; x++) {
+				if (pixel(badge, x, y) != BLUE) changed++;
+			}
+		}
+		assertTrue(changed > 0);
+		for (int y = 0; y < 8; y++) {
+			for (int x = 0; x < 32; x++) {
+				assertEquals(BLUE, pixel(badge, x, y));
+			}
+		}
+	}
+
+	@Test
+	public void composedCacheTest() {
+		TrayIconFX.clearImageCache();
+		BufferedImage base = fill(32, 32, BLUE);
+
+		// Same image and badge reuse the composed image
+		Image first = TrayIconFX.getComposed(base, 3);
+		assertSame(first, TrayIconFX.getComposed(base, 3));
+		assertNotSame(first, TrayIconFX.getComposed(base, 4));
+		assertNotSame(first, TrayIconFX.getComposed(fill(32, 32, BLUE), 3));
+		// Badges over 99 share the same text
+		assertSame(TrayIconFX.getComposed(base, 100), TrayIconFX.getComposed(base, 250));
+
+		TrayIconFX.clearImageCache();
+		assertNotSame(first, TrayIconFX.getComposed(base, 3));
+	}
+
+	@Test
+	public void trayImageReleaseTest() throws Exception {
+		TrayIconFX.clearImageCache();
+		Dimension size = new Dimension(16, 16);
+		javafx.scene.image.Image source = new WritableImage(256, 256);
+		WeakReference<javafx.scene.image.Image> reference = new WeakReference<>(source);
+
+		Image trayImage = TrayIconFX.getTrayImage(source, size);
+		assertSame(trayImage, TrayIconFX.getTrayImage(source, size));
+		assertEquals(16, trayImage.getWidth(null));
+
+		// Cached tray images do not keep their sources reachable
+		source = null;
+		for (int i = 0; i < 20 && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		assertNull(reference.get());
+	}
+
+}
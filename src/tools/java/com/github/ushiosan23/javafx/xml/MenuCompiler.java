@@ -0,0 +1,265 @@
+package com.github.ushiosan23.javafx.xml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build time menu compiler.
+ * Converts all xml menu files of a directory to the compact binary format read by
+ * {@link MenuTemplate#readBinary(Path)}. This class is used by the {@code compileMenus} gradle task
+ * and lives in the {@code tools} source set, so it is not part of the published library.
+ * <p>
+ * Usage: {@code MenuCompiler <source dir> <output dir> [--rasterize] [--resources <dir>]}
+ */
+public final class MenuCompiler {
+
+	/* ---------------------------------------------------------
+	 *
+	 * Properties
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Binary menu file extension
+	 */
+	public static final String BINARY_EXTENSION = ".menu";
+
+	/**
+	 * Source directory
+	 */
+	private final Path sourceDir;
+
+	/**
+	 * Output directory
+	 */
+	private final Path outputDir;
+
+	/**
+	 * Resource directories used to resolve {@code @} icons
+	 */
+	private final List<Path> resourceDirs = new ArrayList<>();
+
+	/**
+	 * Pre-rasterize resized icons
+	 */
+	private boolean rasterize;
+
+	/* ---------------------------------------------------------
+	 *
+	 * Constructors
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Create compiler
+	 *
+	 * @param sourceDir Directory with xml menu files
+	 * @param outputDir Directory where binary files are saved
+	 */
+	public MenuCompiler(@NotNull Path sourceDir, @NotNull Path outputDir) {
+		this.sourceDir = sourceDir;
+		this.outputDir = outputDir;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Pre-rasterize resized icons in binary files
+	 *
+	 * @param rasterize Rasterize state
+	 */
+	public void setRasterize(boolean rasterize) {
+		this.rasterize = rasterize;
+	}
+
+	/**
+	 * Add directory used to resolve {@code @} icon locations
+	 *
+	 * @param directory Target resource directory
+	 */
+	public void addResourceDir(@NotNull Path directory) {
+		resourceDirs.add(directory);
+	}
+
+	/**
+	 * Compile all xml menu files. Xml files without a menu root are ignored.
+	 *
+	 * @return Number of compiled files
+	 * @throws IOException Error if a file cannot be compiled
+	 */
+	public int compile() throws IOException {
+		List<Path> sources;
+		try (Stream<Path> files = Files.walk(sourceDir)) {
+			sources = files
+				.filter(Files::isRegularFile)
+				.filter(file -> file.getFileName().toString().endsWith(".xml"))
+				.sorted()
+				.collect(Collectors.toList());
+		}
+
+		int count = 0;
+		for (Path source : sources) {
+			if (compileFile(source)) count++;
+		}
+
+		return count;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Internal methods
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Compile single file
+	 *
+	 * @param source Target xml file
+	 * @return {@code true} if file was compiled or {@code false} if file is not a menu
+	 * @throws IOException Error if file cannot be compiled
+	 */
+	private boolean compileFile(@NotNull Path source) throws IOException {
+		MenuTemplate template;
+		try {
+			template = MenuTemplate.compile(source);
+		} catch (Exception err) {
+			throw new IOException("Invalid menu file " + source + ": " + err.getMessage(), err);
+		}
+		if (template.getType() == MenuTemplate.Type.UNKNOWN) return false;
+
+		Map<String, MenuBinaryFormat.Raster> rasters = new LinkedHashMap<>();
+		if (rasterize) {
+			for (String icon : template.getResizedIcons()) {
+				MenuBinaryFormat.Raster raster = rasterizeIcon(icon);
+				if (raster != null) rasters.put(icon, raster);
+			}
+		}
+
+		String fileName = sourceDir.relativize(source).toString();
+		Path target = outputDir.resolve(fileName.substring(0, fileName.length() - 4) + BINARY_EXTENSION);
+		Files.createDirectories(target.toAbsolutePath().getParent());
+
+		try (OutputStream stream = Files.newOutputStream(target)) {
+			template.writeBinary(stream, rasters);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Rasterize icon to menu icon size
+	 *
+	 * @param location Icon location
+	 * @return {@link MenuBinaryFormat.Raster} raster result or {@code null} if icon cannot be read
+	 */
+	@Nullable
+	private MenuBinaryFormat.Raster rasterizeIcon(@NotNull String location) {
+		try {
+			URL iconURL = resolveIcon(location);
+			BufferedImage source = iconURL == null ? null : ImageIO.read(iconURL);
+			if (source == null) {
+				System.err.println("MenuCompiler: icon \"" + location + "\" cannot be read, it will be decoded at runtime.");
+				return null;
+			}
+
+			// Fit in icon size and preserve ratio
+			double scale = Math.min(MenuLoader.ICON_SIZE / source.getWidth(), MenuLoader.ICON_SIZE / source.getHeight());
+			int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+			int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+			BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g2 = result.createGraphics();
+			g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+			g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g2.drawImage(source, 0, 0, width, height, null);
+			g2.dispose();
+
+			return new MenuBinaryFormat.Raster(width, height, result.getRGB(0, 0, width, height, null, 0, width));
+		} catch (IOException err) {
+			System.err.println("MenuCompiler: icon \"" + location + "\" cannot be read, it will be decoded at runtime.");
+			return null;
+		}
+	}
+
+	/**
+	 * Resolve icon location at build time
+	 *
+	 * @param location Icon location
+	 * @return {@link URL} resolved location or {@code null} if icon not exists
+	 * @throws IOException Error if location is not valid
+	 */
+	@Nullable
+	private URL resolveIcon(@NotNull String location) throws IOException {
+		if (!location.startsWith("@"))
+			return MenuLoader.resolveIconLocation(location);
+
+		for (Path directory : resourceDirs) {
+			Path file = directory.resolve(location.substring(1));
+			if (Files.isRegularFile(file)) return file.toUri().toURL();
+		}
+
+		return null;
+	}
+
+	/* ---------------------------------------------------------
+	 *
+	 * Main
+	 *
+	 * --------------------------------------------------------- */
+
+	/**
+	 * Compiler entry point
+	 *
+	 * @param args Command arguments
+	 * @throws IOException Error if a file cannot be compiled
+	 */
+	public static void main(String[] args) throws IOException {
+		List<String> positional = new ArrayList<>();
+		List<Path> resources = new ArrayList<>();
+		boolean rasterize = false;
+
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--rasterize")) {
+				rasterize = true;
+			} else if (args[i].equals("--resources") && i + 1 < args.length) {
+				resources.add(Paths.get(args[++i]));
+			} else {
+				positional.add(args[i]);
+			}
+		}
+
+		if (positional.size() != 2) {
+			System.err.println("Usage: MenuCompiler <source dir> <output dir> [--rasterize] [--resources <dir>]");
+			System.exit(1);
+			return;
+		}
+
+		MenuCompiler compiler = new MenuCompiler(Paths.get(positional.get(0)), Paths.get(positional.get(1)));
+		compiler.setRasterize(rasterize);
+		resources.forEach(compiler::addResourceDir);
+
+		int count = compiler.compile();
+		System.out.println("MenuCompiler: " + count + " menu file(s) compiled.");
+	}
+
+}